@@ -0,0 +1,155 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent;
+
+import org.bjloquent.mapping.ModelMapper;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * A column of a model, resolved once from its getter and setter.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public class ColumnMetadata {
+
+    private final String name;
+    private final Class<?> type;
+    private final Method getter;
+    private final Method setter;
+    private final boolean isPrimaryKey;
+    private final ColumnReader reader;
+    private final ColumnWriter writer;
+    private final ModelMapper<Model> mapper;
+    private final int index;
+
+    public ColumnMetadata(String name, Class<?> type, Method getter, Method setter, boolean isPrimaryKey) {
+        this.name = name;
+        this.type = type;
+        this.getter = getter;
+        this.setter = setter;
+        this.isPrimaryKey = isPrimaryKey;
+        this.reader = setter == null ? null : ColumnReader.of(setter);
+        this.writer = ColumnWriter.of(getter);
+        this.mapper = null;
+        this.index = -1;
+    }
+
+    /**
+     * Builds a column accessed through a generated mapper instead of its
+     * getter and setter.
+     *
+     * @param name         the column name
+     * @param type         the Java type of the column
+     * @param isPrimaryKey whether the column is part of the primary key
+     * @param mapper       the mapper of the model
+     * @param index        the index of the column in the mapper
+     */
+    public ColumnMetadata(String name, Class<?> type, boolean isPrimaryKey, ModelMapper<Model> mapper, int index) {
+        this.name = name;
+        this.type = type;
+        this.getter = null;
+        this.setter = null;
+        this.isPrimaryKey = isPrimaryKey;
+        this.reader = ColumnReader.of(mapper, index);
+        this.writer = ColumnWriter.of(mapper, index, type);
+        this.mapper = mapper;
+        this.index = index;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return the getter, or null if the column is accessed through a mapper
+     */
+    public Method getGetter() {
+        return getter;
+    }
+
+    /**
+     * @return the setter, or null if the model has no setter for this column
+     * or if the column is accessed through a mapper
+     */
+    public Method getSetter() {
+        return setter;
+    }
+
+    public boolean isPrimaryKey() {
+        return isPrimaryKey;
+    }
+
+    /**
+     * @return the reader setting this column from a result set, or null if the
+     * model has no setter for this column
+     */
+    public ColumnReader getReader() {
+        return reader;
+    }
+
+    /**
+     * @return the writer binding this column from a model to a statement
+     */
+    public ColumnWriter getWriter() {
+        return writer;
+    }
+
+    /**
+     * Reads the value of this column on a model.
+     *
+     * @param model the model
+     * @return the value
+     */
+    public Object get(Model model) {
+        return writer.get(model);
+    }
+
+    /**
+     * Sets the value of this column on a model.
+     *
+     * @param model the model
+     * @param value the value
+     */
+    public void set(Model model, Object value) {
+        if (mapper != null) {
+            mapper.set(model, index, value);
+            return;
+        }
+        if (setter == null) {
+            throw new IllegalStateException("Could not find method " + Utility.toSetterName(name) + " in class " + model.getClass().getName());
+        }
+        try {
+            setter.invoke(model, value);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Could not invoke " + setter.getName() + " on " + model.getClass().getName(), e);
+        }
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent;
+
+import org.bjloquent.mapping.ModelMapper;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+
+/**
+ * Reads a column from a result set and passes it to a model setter. The
+ * reader is chosen once from the setter parameter type, primitive columns
+ * are read with the matching primitive getter and handed to the setter
+ * without being boxed.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public abstract class ColumnReader {
+
+    protected final MethodHandle setter;
+
+    protected ColumnReader(MethodHandle setter) {
+        this.setter = setter;
+    }
+
+    /**
+     * Reads the column and sets it on the model.
+     *
+     * @param rs     the result set, positioned on a row
+     * @param index  the index of the column in the result set, from 1
+     * @param model  the model to set
+     * @throws SQLException if the column can not be read
+     */
+    public abstract void read(ResultSet rs, int index, Model model) throws SQLException;
+
+    /**
+     * Reads a column found by its label, which the driver looks up on every
+     * call. {@link HydrationPlan} resolves the indexes once instead.
+     *
+     * @param rs     the result set, positioned on a row
+     * @param column the column label
+     * @param model  the model to set
+     * @throws SQLException if the column can not be read
+     */
+    public void read(ResultSet rs, String column, Model model) throws SQLException {
+        read(rs, rs.findColumn(column), model);
+    }
+
+    /**
+     * Builds the reader matching a setter.
+     *
+     * @param setter a setter taking a single parameter
+     * @return the reader
+     */
+    public static ColumnReader of(Method setter) {
+        MethodHandle handle;
+        try {
+            setter.setAccessible(true);
+            handle = MethodHandles.lookup().unreflect(setter);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Could not access " + setter, e);
+        }
+
+        Class<?> type = setter.getParameterTypes()[0];
+        if (type == int.class) {
+            return new IntReader(handle);
+        } else if (type == long.class) {
+            return new LongReader(handle);
+        } else if (type == double.class) {
+            return new DoubleReader(handle);
+        } else if (type == float.class) {
+            return new FloatReader(handle);
+        } else if (type == boolean.class) {
+            return new BooleanReader(handle);
+        } else if (type == short.class) {
+            return new ShortReader(handle);
+        } else if (type == byte.class) {
+            return new ByteReader(handle);
+        } else if (type == String.class) {
+            return new ObjectReader(handle, ResultSet::getString);
+        } else if (type == Timestamp.class) {
+            return new ObjectReader(handle, ResultSet::getTimestamp);
+        } else if (type == Date.class) {
+            return new ObjectReader(handle, ResultSet::getDate);
+        } else if (type == Time.class) {
+            return new ObjectReader(handle, ResultSet::getTime);
+        } else if (type == BigDecimal.class) {
+            return new ObjectReader(handle, ResultSet::getBigDecimal);
+        } else if (type == byte[].class) {
+            return new ObjectReader(handle, ResultSet::getBytes);
+        } else if (type == Integer.class) {
+            return new ObjectReader(handle, (rs, index) -> {
+                int value = rs.getInt(index);
+                return rs.wasNull() ? null : value;
+            });
+        } else if (type == Long.class) {
+            return new ObjectReader(handle, (rs, index) -> {
+                long value = rs.getLong(index);
+                return rs.wasNull() ? null : value;
+            });
+        } else if (type == Double.class) {
+            return new ObjectReader(handle, (rs, index) -> {
+                double value = rs.getDouble(index);
+                return rs.wasNull() ? null : value;
+            });
+        } else if (type == Boolean.class) {
+            return new ObjectReader(handle, (rs, index) -> {
+                boolean value = rs.getBoolean(index);
+                return rs.wasNull() ? null : value;
+            });
+        }
+        return new ObjectReader(handle, ResultSet::getObject);
+    }
+
+    /**
+     * Builds the reader of a column set through a generated mapper.
+     *
+     * @param mapper the mapper of the model
+     * @param index  the index of the column in the mapper
+     * @return the reader
+     */
+    public static ColumnReader of(ModelMapper<Model> mapper, int index) {
+        return new MapperReader(mapper, index);
+    }
+
+    /**
+     * Rethrows what a setter invocation threw.
+     */
+    protected static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new IllegalStateException(t);
+    }
+
+    private static MethodHandle adapt(MethodHandle setter, Class<?> type) {
+        return setter.asType(MethodType.methodType(void.class, Model.class, type));
+    }
+
+    private static final class IntReader extends ColumnReader {
+        IntReader(MethodHandle setter) {
+            super(adapt(setter, int.class));
+        }
+
+        @Override
+        public void read(ResultSet rs, int index, Model model) throws SQLException {
+            int value = rs.getInt(index);
+            try {
+                setter.invokeExact(model, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+    }
+
+    private static final class LongReader extends ColumnReader {
+        LongReader(MethodHandle setter) {
+            super(adapt(setter, long.class));
+        }
+
+        @Override
+        public void read(ResultSet rs, int index, Model model) throws SQLException {
+            long value = rs.getLong(index);
+            try {
+                setter.invokeExact(model, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+    }
+
+    private static final class DoubleReader extends ColumnReader {
+        DoubleReader(MethodHandle setter) {
+            super(adapt(setter, double.class));
+        }
+
+        @Override
+        public void read(ResultSet rs, int index, Model model) throws SQLException {
+            double value = rs.getDouble(index);
+            try {
+                setter.invokeExact(model, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+    }
+
+    private static final class FloatReader extends ColumnReader {
+        FloatReader(MethodHandle setter) {
+            super(adapt(setter, float.class));
+        }
+
+        @Override
+        public void read(ResultSet rs, int index, Model model) throws SQLException {
+            float value = rs.getFloat(index);
+            try {
+                setter.invokeExact(model, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+    }
+
+    private static final class BooleanReader extends ColumnReader {
+        BooleanReader(MethodHandle setter) {
+            super(adapt(setter, boolean.class));
+        }
+
+        @Override
+        public void read(ResultSet rs, int index, Model model) throws SQLException {
+            boolean value = rs.getBoolean(index);
+            try {
+                setter.invokeExact(model, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+    }
+
+    private static final class ShortReader extends ColumnReader {
+        ShortReader(MethodHandle setter) {
+            super(adapt(setter, short.class));
+        }
+
+        @Override
+        public void read(ResultSet rs, int index, Model model) throws SQLException {
+            short value = rs.getShort(index);
+            try {
+                setter.invokeExact(model, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+    }
+
+    private static final class ByteReader extends ColumnReader {
+        ByteReader(MethodHandle setter) {
+            super(adapt(setter, byte.class));
+        }
+
+        @Override
+        public void read(ResultSet rs, int index, Model model) throws SQLException {
+            byte value = rs.getByte(index);
+            try {
+                setter.invokeExact(model, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+    }
+
+    /**
+     * Reads reference types, the getter is picked once for the setter type.
+     */
+    private static final class ObjectReader extends ColumnReader {
+        private final ValueGetter getter;
+
+        ObjectReader(MethodHandle setter, ValueGetter getter) {
+            super(adapt(setter, Object.class));
+            this.getter = getter;
+        }
+
+        @Override
+        public void read(ResultSet rs, int index, Model model) throws SQLException {
+            Object value = getter.get(rs, index);
+            try {
+                setter.invokeExact(model, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+    }
+
+    /**
+     * Delegates to a generated mapper, which calls the setter directly.
+     */
+    private static final class MapperReader extends ColumnReader {
+        private final ModelMapper<Model> mapper;
+        private final int index;
+
+        MapperReader(ModelMapper<Model> mapper, int index) {
+            super(null);
+            this.mapper = mapper;
+            this.index = index;
+        }
+
+        @Override
+        public void read(ResultSet rs, int index, Model model) throws SQLException {
+            mapper.read(model, this.index, rs, index);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ValueGetter {
+        Object get(ResultSet rs, int index) throws SQLException;
+    }
+}
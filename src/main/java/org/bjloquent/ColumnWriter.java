@@ -0,0 +1,344 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent;
+
+import org.bjloquent.mapping.ModelMapper;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Reads a column from a model getter and binds it to a statement parameter,
+ * the counterpart of {@link ColumnReader}. The writer is chosen once from
+ * the getter return type, primitive columns are read and bound with the
+ * matching primitive setter without being boxed.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public abstract class ColumnWriter {
+
+    protected final MethodHandle getter;
+
+    protected ColumnWriter(MethodHandle getter) {
+        this.getter = getter;
+    }
+
+    /**
+     * Reads the column on the model and binds it.
+     *
+     * @param statement the statement
+     * @param index     the index of the parameter, from 1
+     * @param model     the model to read
+     * @throws SQLException if the parameter can not be bound
+     */
+    public abstract void bind(PreparedStatement statement, int index, Model model) throws SQLException;
+
+    /**
+     * Reads the column on the model, boxing primitive columns.
+     *
+     * @param model the model to read
+     * @return the value
+     */
+    public abstract Object get(Model model);
+
+    /**
+     * @return whether the column is a primitive, which is never null
+     */
+    public boolean isPrimitive() {
+        return false;
+    }
+
+    /**
+     * Builds the writer matching a getter.
+     *
+     * @param getter a getter without parameter
+     * @return the writer
+     */
+    public static ColumnWriter of(Method getter) {
+        MethodHandle handle;
+        try {
+            getter.setAccessible(true);
+            handle = MethodHandles.lookup().unreflect(getter);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Could not access " + getter, e);
+        }
+
+        Class<?> type = getter.getReturnType();
+        if (type == int.class) {
+            return new IntWriter(handle);
+        } else if (type == long.class) {
+            return new LongWriter(handle);
+        } else if (type == double.class) {
+            return new DoubleWriter(handle);
+        } else if (type == float.class) {
+            return new FloatWriter(handle);
+        } else if (type == boolean.class) {
+            return new BooleanWriter(handle);
+        } else if (type.isPrimitive()) {
+            // Shorts, bytes and chars are rare enough to be boxed
+            return new ObjectWriter(handle, ParameterBinders.of(type), true);
+        }
+        return new ObjectWriter(handle, ParameterBinders.of(type), false);
+    }
+
+    /**
+     * Builds the writer of a column read through a generated mapper.
+     *
+     * @param mapper the mapper of the model
+     * @param index  the index of the column in the mapper
+     * @param type   the Java type of the column
+     * @return the writer
+     */
+    public static ColumnWriter of(ModelMapper<Model> mapper, int index, Class<?> type) {
+        return new MapperWriter(mapper, index, type);
+    }
+
+    private static MethodHandle adapt(MethodHandle getter, Class<?> type) {
+        return getter.asType(MethodType.methodType(type, Model.class));
+    }
+
+    private static final class IntWriter extends ColumnWriter {
+        IntWriter(MethodHandle getter) {
+            super(adapt(getter, int.class));
+        }
+
+        @Override
+        public void bind(PreparedStatement statement, int index, Model model) throws SQLException {
+            int value;
+            try {
+                value = (int) getter.invokeExact(model);
+            } catch (Throwable t) {
+                throw ColumnReader.rethrow(t);
+            }
+            statement.setInt(index, value);
+        }
+
+        @Override
+        public Object get(Model model) {
+            try {
+                return (int) getter.invokeExact(model);
+            } catch (Throwable t) {
+                throw ColumnReader.rethrow(t);
+            }
+        }
+
+        @Override
+        public boolean isPrimitive() {
+            return true;
+        }
+    }
+
+    private static final class LongWriter extends ColumnWriter {
+        LongWriter(MethodHandle getter) {
+            super(adapt(getter, long.class));
+        }
+
+        @Override
+        public void bind(PreparedStatement statement, int index, Model model) throws SQLException {
+            long value;
+            try {
+                value = (long) getter.invokeExact(model);
+            } catch (Throwable t) {
+                throw ColumnReader.rethrow(t);
+            }
+            statement.setLong(index, value);
+        }
+
+        @Override
+        public Object get(Model model) {
+            try {
+                return (long) getter.invokeExact(model);
+            } catch (Throwable t) {
+                throw ColumnReader.rethrow(t);
+            }
+        }
+
+        @Override
+        public boolean isPrimitive() {
+            return true;
+        }
+    }
+
+    private static final class DoubleWriter extends ColumnWriter {
+        DoubleWriter(MethodHandle getter) {
+            super(adapt(getter, double.class));
+        }
+
+        @Override
+        public void bind(PreparedStatement statement, int index, Model model) throws SQLException {
+            double value;
+            try {
+                value = (double) getter.invokeExact(model);
+            } catch (Throwable t) {
+                throw ColumnReader.rethrow(t);
+            }
+            statement.setDouble(index, value);
+        }
+
+        @Override
+        public Object get(Model model) {
+            try {
+                return (double) getter.invokeExact(model);
+            } catch (Throwable t) {
+                throw ColumnReader.rethrow(t);
+            }
+        }
+
+        @Override
+        public boolean isPrimitive() {
+            return true;
+        }
+    }
+
+    private static final class FloatWriter extends ColumnWriter {
+        FloatWriter(MethodHandle getter) {
+            super(adapt(getter, float.class));
+        }
+
+        @Override
+        public void bind(PreparedStatement statement, int index, Model model) throws SQLException {
+            float value;
+            try {
+                value = (float) getter.invokeExact(model);
+            } catch (Throwable t) {
+                throw ColumnReader.rethrow(t);
+            }
+            statement.setFloat(index, value);
+        }
+
+        @Override
+        public Object get(Model model) {
+            try {
+                return (float) getter.invokeExact(model);
+            } catch (Throwable t) {
+                throw ColumnReader.rethrow(t);
+            }
+        }
+
+        @Override
+        public boolean isPrimitive() {
+            return true;
+        }
+    }
+
+    private static final class BooleanWriter extends ColumnWriter {
+        BooleanWriter(MethodHandle getter) {
+            super(adapt(getter, boolean.class));
+        }
+
+        @Override
+        public void bind(PreparedStatement statement, int index, Model model) throws SQLException {
+            boolean value;
+            try {
+                value = (boolean) getter.invokeExact(model);
+            } catch (Throwable t) {
+                throw ColumnReader.rethrow(t);
+            }
+            statement.setBoolean(index, value);
+        }
+
+        @Override
+        public Object get(Model model) {
+            try {
+                return (boolean) getter.invokeExact(model);
+            } catch (Throwable t) {
+                throw ColumnReader.rethrow(t);
+            }
+        }
+
+        @Override
+        public boolean isPrimitive() {
+            return true;
+        }
+    }
+
+    /**
+     * Reads reference types, the binder is picked once for the getter type.
+     */
+    private static final class ObjectWriter extends ColumnWriter {
+        private final ParameterBinder binder;
+        private final boolean primitive;
+
+        ObjectWriter(MethodHandle getter, ParameterBinder binder, boolean primitive) {
+            super(adapt(getter, Object.class));
+            this.binder = binder;
+            this.primitive = primitive;
+        }
+
+        @Override
+        public void bind(PreparedStatement statement, int index, Model model) throws SQLException {
+            binder.bind(statement, index, get(model));
+        }
+
+        @Override
+        public Object get(Model model) {
+            try {
+                return (Object) getter.invokeExact(model);
+            } catch (Throwable t) {
+                throw ColumnReader.rethrow(t);
+            }
+        }
+
+        @Override
+        public boolean isPrimitive() {
+            return primitive;
+        }
+    }
+
+    /**
+     * Delegates to a generated mapper, which calls the getter directly.
+     */
+    private static final class MapperWriter extends ColumnWriter {
+        private final ModelMapper<Model> mapper;
+        private final int index;
+        private final boolean primitive;
+
+        MapperWriter(ModelMapper<Model> mapper, int index, Class<?> type) {
+            super(null);
+            this.mapper = mapper;
+            this.index = index;
+            this.primitive = type.isPrimitive();
+        }
+
+        @Override
+        public void bind(PreparedStatement statement, int index, Model model) throws SQLException {
+            mapper.bind(model, this.index, statement, index);
+        }
+
+        @Override
+        public Object get(Model model) {
+            return mapper.get(model, index);
+        }
+
+        @Override
+        public boolean isPrimitive() {
+            return primitive;
+        }
+    }
+}
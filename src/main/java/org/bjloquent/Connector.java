@@ -23,11 +23,30 @@
  */
 package org.bjloquent;
 
+import org.bjloquent.dialect.Dialect;
+import org.bjloquent.instrumentation.QueryListener;
+import org.bjloquent.instrumentation.QueryTrace;
+import org.bjloquent.mapping.Mappers;
+import org.bjloquent.routing.DatabaseNode;
+import org.bjloquent.routing.LoadBalancing;
+import org.bjloquent.routing.ReplicaRouter;
+import org.bjloquent.routing.ShardQuery;
+import org.bjloquent.routing.ShardRouter;
+import org.bjloquent.schema.IndexAdvisor;
+
+import java.io.IOException;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -37,24 +56,267 @@ import java.util.logging.Logger;
  */
 public class Connector {
 
+    /**
+     * Reads from every shard, see {@link #read(Class, int, QueryTrace, ShardQuery)}.
+     */
+    public static final int ALL_SHARDS = -1;
+
     private static Connector connector;
-    private Connection connection;
     private DBConfig config;
 
-    private String jdbc_driver;
-    private String type;
+    private Dialect dialect;
+    private DatabaseNode primary;
+    private final List<QueryListener> queryListeners = new CopyOnWriteArrayList<>();
+
+    private final ReplicaRouter replicaRouter = new ReplicaRouter();
+    private final ThreadLocal<Connection> transactions = new ThreadLocal<>();
+    private final ThreadLocal<long[]> lastWrites = new ThreadLocal<>();
+    private final ThreadLocal<List<Connection>> queryConnections = new ThreadLocal<>();
+    private volatile long readYourWritesNanos = TimeUnit.SECONDS.toNanos(1);
+
+    private final ShardRouter shardRouter = new ShardRouter();
+    private volatile IndexAdvisor indexAdvisor;
+    private final Map<Class<? extends Model>, WriteBehindBuffer<?>> writeBehindBuffers = new ConcurrentHashMap<>();
+    private volatile SingleFlight singleFlight;
+    private final Map<Class<? extends Model>, ResidentTable<?>> residentTables = new ConcurrentHashMap<>();
+
+    private int poolMinIdle = 0;
+    private int poolMaxIdle = 0;
 
+    /**
+     * Opens a connection to the primary, used for writes. Reads issued by the
+     * same thread go to the primary as well during the read-your-writes
+     * window. Inside a transaction, the connection of the transaction is
+     * returned instead.
+     *
+     * @return the connection, or null if the primary can not be reached
+     */
     public Connection open() {
         try {
-            Class.forName(jdbc_driver);
-            String url = type + config.getHostName() + ":" + config.getPortNumber() + "/" + config.getDatabaseName();
-            connection = DriverManager.getConnection(url, config.getUsername(), config.getPassword());
-
-        } catch (ClassNotFoundException | SQLException e) {
+            return openPrimary();
+        } catch (SQLException e) {
             Logger.getLogger(getClass().getName()).log(Level.SEVERE, "Failed to open connection", e);
         }
+        return null;
+    }
+
+    private Connection openPrimary() throws SQLException {
+        Connection transaction = transactions.get();
+        if (transaction != null) {
+            return transaction;
+        }
+
+        Connection primaryConnection = primary.open(dialect);
+        markWrite();
+        return primaryConnection;
+    }
+
+    /**
+     * Opens a connection to the primary for a bulk load, with the bulk load
+     * properties of the dialect. The connection is dedicated to the load: it
+     * is not pooled and does not take part in the transaction of the thread.
+     * It is to be given back with {@link #release(Connection)}.
+     *
+     * @return the connection
+     * @throws SQLException if the primary can not be reached
+     */
+    public Connection openForBulkLoad() throws SQLException {
+        Connection bulkConnection = primary.openForBulkLoad(dialect);
+        markWrite();
+        return bulkConnection;
+    }
+
+    /**
+     * Opens a connection for a read. Reads go to a replica, unless there is
+     * none, the thread is in a transaction, or it wrote less than the
+     * read-your-writes window ago. A replica that can not be reached is
+     * skipped for the primary. The connection is to be given back with
+     * {@link #release(Connection)}.
+     *
+     * @return the connection
+     * @throws SQLException if the primary can not be reached
+     */
+    public Connection openForRead() throws SQLException {
+        Connection transaction = transactions.get();
+        if (transaction != null) {
+            return transaction;
+        }
+
+        DatabaseNode replica = isReadingOwnWrites() ? null : replicaRouter.select();
+        if (replica != null) {
+            try {
+                Connection replicaConnection = replica.open(dialect);
+                replicaRouter.lease(replicaConnection, replica);
+                return replicaConnection;
+            } catch (SQLException e) {
+                Logger.getLogger(getClass().getName()).log(Level.WARNING, "Failed to open replica connection, reading from the primary", e);
+            }
+        }
+
+        return primary.open(dialect);
+    }
+
+    /**
+     * Opens a connection for a write of a model: to the shard of its shard
+     * key for a sharded model, to the primary otherwise.
+     *
+     * @param model the model written
+     * @return the connection
+     * @throws SQLException if the primary or the shard can not be reached
+     */
+    public Connection openForWrite(Model model) throws SQLException {
+        Class<? extends Model> modelClass = model.getClass();
+        if (!isSharded(modelClass)) {
+            return openPrimary();
+        }
 
-        return connection;
+        Connection shardConnection = openShard(shardOf(modelClass, ModelMetadata.of(modelClass).getShardColumn().get(model)));
+        markWrite();
+        return shardConnection;
+    }
+
+    /**
+     * Runs a read on the rows of a model. A model that is not sharded reads
+     * from {@link #openForRead()}. A sharded model reads from the given shard,
+     * or from every shard in parallel with {@link #ALL_SHARDS}; the time spent
+     * on the shards then counts as execution in the trace.
+     *
+     * @param modelClass the class of the model read
+     * @param shard      the shard to read from, ignored for a model that is
+     *                   not sharded
+     * @param trace      the trace of the statement
+     * @param query      the read
+     * @param <T>        the result of the read
+     * @return the result of every shard read, in shard order
+     * @throws SQLException                if the statement fails
+     * @throws ReflectiveOperationException if a model can not be hydrated
+     */
+    public <T> List<T> read(Class<? extends Model> modelClass, int shard, QueryTrace trace, ShardQuery<T> query)
+            throws SQLException, ReflectiveOperationException {
+        boolean sharded = isSharded(modelClass);
+        if (!sharded || shard != ALL_SHARDS) {
+            Connection connection = sharded ? openShard(shard) : openForRead();
+            trace.connected();
+            try {
+                return Collections.singletonList(query.run(connection, trace));
+            } finally {
+                release(connection);
+            }
+        }
+
+        List<Callable<T>> tasks = new ArrayList<>();
+        for (int i = 0; i < shardRouter.size(); i++) {
+            int index = i;
+            tasks.add(() -> {
+                Connection connection = openShard(index);
+                try {
+                    return query.run(connection, QueryTrace.DISABLED);
+                } finally {
+                    release(connection);
+                }
+            });
+        }
+        trace.connected();
+        List<T> results = shardRouter.invokeAll(tasks);
+        trace.executed();
+        return results;
+    }
+
+    /**
+     * Closes a connection once a statement is done with it, unless it belongs
+     * to the current transaction.
+     *
+     * @param connection the connection, may be null
+     */
+    public void release(Connection connection) {
+        if (connection == null || connection == transactions.get()) {
+            return;
+        }
+        replicaRouter.release(connection);
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            Logger.getLogger(Connector.class.getName()).log(Level.SEVERE, "Failed to close connection", e);
+        }
+    }
+
+    /**
+     * Starts a transaction on the current thread. Until it is committed or
+     * rolled back, every statement of the thread, reads included, runs on the
+     * primary within the transaction.
+     */
+    public void beginTransaction() {
+        if (transactions.get() != null) {
+            Logger.getLogger(getClass().getName()).log(Level.SEVERE, "A transaction is already in progress");
+            return;
+        }
+
+        try {
+            Connection transaction = primary.open(dialect);
+            transaction.setAutoCommit(false);
+            transactions.set(transaction);
+        } catch (SQLException e) {
+            Logger.getLogger(getClass().getName()).log(Level.SEVERE, "Failed to begin transaction", e);
+        }
+    }
+
+    public void commit() {
+        endTransaction(true);
+    }
+
+    public void rollback() {
+        endTransaction(false);
+    }
+
+    /**
+     * @return true if the current thread is in a transaction
+     */
+    public boolean inTransaction() {
+        return transactions.get() != null;
+    }
+
+    private void endTransaction(boolean commit) {
+        Connection transaction = transactions.get();
+        if (transaction == null) {
+            Logger.getLogger(getClass().getName()).log(Level.SEVERE, "No transaction in progress");
+            return;
+        }
+
+        transactions.remove();
+        try {
+            if (commit) {
+                transaction.commit();
+            } else {
+                transaction.rollback();
+            }
+        } catch (SQLException e) {
+            Logger.getLogger(getClass().getName()).log(Level.SEVERE, "Failed to end transaction", e);
+        } finally {
+            markWrite();
+            try {
+                transaction.close();
+            } catch (SQLException e) {
+                Logger.getLogger(Connector.class.getName()).log(Level.SEVERE, "Failed to close connection", e);
+            }
+        }
+    }
+
+    private void markWrite() {
+        long[] lastWrite = lastWrites.get();
+        if (lastWrite == null) {
+            lastWrite = new long[1];
+            lastWrites.set(lastWrite);
+        }
+        lastWrite[0] = System.nanoTime();
+    }
+
+    /**
+     * @return whether the current thread wrote within the read-your-writes
+     * window, see {@link #setReadYourWritesWindow(long, TimeUnit)}
+     */
+    boolean isReadingOwnWrites() {
+        long[] lastWrite = lastWrites.get();
+        return lastWrite != null && System.nanoTime() - lastWrite[0] < readYourWritesNanos;
     }
 
     /**
@@ -63,46 +325,73 @@ public class Connector {
      * @return Object id
      */
     public Object execute(String sql) {
-        open();
+        QueryTrace trace = trace(sql);
+        Connection connection = open();
+        trace.connected();
         Object id = null;
 
         try (Statement statement = connection.createStatement()) {
+            trace.bound();
             statement.execute(sql, Statement.RETURN_GENERATED_KEYS);
+            trace.executed();
             ResultSet generatedKeys = statement.getGeneratedKeys();
 
             if (generatedKeys.next()) {
                 id = generatedKeys.getObject(1);
             }
-
+            trace.hydrated();
+            trace.finish(Math.max(0, statement.getUpdateCount()));
         } catch (SQLException e) {
+            trace.fail(e);
             Logger.getLogger(getClass().getName()).log(Level.SEVERE, "Failed to execute statement", e);
         }
-        close();
+        release(connection);
         return id;
     }
 
     public ResultSet executeQuery(String sql) {
-        open();
+        QueryTrace trace = trace(sql);
+        Connection connection = open();
+        trace.connected();
         try {
             Statement statement = connection.createStatement();
+            trace.bound();
             ResultSet resultSet = statement.executeQuery(sql);
+            trace.executed();
+            // Rows are read by the caller, they can not be counted here
+            trace.finish(0);
 
+            // The caller reads the rows, the connection is released by close()
+            List<Connection> connections = queryConnections.get();
+            if (connections == null) {
+                connections = new ArrayList<>();
+                queryConnections.set(connections);
+            }
+            connections.add(connection);
             return resultSet;
         } catch (SQLException e) {
+            trace.fail(e);
             Logger.getLogger(getClass().getName()).log(Level.SEVERE, "Failed to execute query", e);
         }
-        close();
+        release(connection);
 
         return null;
     }
 
+    /**
+     * Releases the connections left open by {@link #executeQuery(String)} on
+     * the current thread and closes the idle connections of every node.
+     */
     public void close() {
-        try {
-            if (connection != null) {
-                connection.close();
+        List<Connection> connections = queryConnections.get();
+        if (connections != null) {
+            queryConnections.remove();
+            for (Connection queryConnection : connections) {
+                release(queryConnection);
             }
-        } catch (SQLException e) {
-            Logger.getLogger(Connector.class.getName()).log(Level.SEVERE, "Failed to close connection", e);
+        }
+        for (DatabaseNode node : getNodes()) {
+            node.clear();
         }
     }
 
@@ -135,23 +424,370 @@ public class Connector {
         return config;
     }
 
+    /**
+     * Adds a replica of the primary serving reads. It is reached with the
+     * dialect of the primary, its database type is not used.
+     *
+     * @param replicaConfig the configuration of the replica
+     */
+    public void addReplica(DBConfig replicaConfig) {
+        DatabaseNode replica = new DatabaseNode(replicaConfig);
+        replica.setPoolSize(poolMinIdle, poolMaxIdle);
+        replicaRouter.addReplica(replica);
+    }
+
+    /**
+     * Adds a shard holding part of the rows of the sharded models, those
+     * setting a shard key. The shards are numbered in the order they are
+     * added, which must not change once rows are stored. Models without a
+     * shard key stay on the primary. Writes on the shards are not part of the
+     * transactions, which only cover the primary.
+     *
+     * @param shardConfig the configuration of the shard
+     */
+    public void addShard(DBConfig shardConfig) {
+        DatabaseNode shard = new DatabaseNode(shardConfig);
+        shard.setPoolSize(poolMinIdle, poolMaxIdle);
+        shardRouter.addShard(shard);
+    }
+
+    /**
+     * Keeps idle connections open on the primary, the replicas and the
+     * shards, instead of closing every connection once its statement is done.
+     * By default no connection is kept.
+     *
+     * @param minIdle the number of connections every node opens on
+     *                {@link #warmUp(boolean, Class[])}
+     * @param maxIdle the number of released connections every node keeps open
+     */
+    public void setPoolSize(int minIdle, int maxIdle) {
+        for (DatabaseNode node : getNodes()) {
+            node.setPoolSize(minIdle, maxIdle);
+        }
+        this.poolMinIdle = minIdle;
+        this.poolMaxIdle = maxIdle;
+    }
+
+    /**
+     * Same as {@link #warmUp(boolean, Class[])} without preparing statements.
+     *
+     * @param modelClasses the models to register
+     */
+    @SafeVarargs
+    public final void warmUp(Class<? extends Model>... modelClasses) {
+        warmUp(false, modelClasses);
+    }
+
+    /**
+     * Pays the cold start costs before the first requests: resolves the
+     * metadata and statements of the models, loads the driver and opens the
+     * minimum of idle connections of every node, at least one. Without model
+     * classes, the models listed by the generated mappers on the class path
+     * are registered.
+     *
+     * @param prepare      whether to prepare the find statement of every
+     *                     model on the opened connections, which the drivers
+     *                     caching statements per connection then reuse
+     * @param modelClasses the models to register
+     */
+    @SafeVarargs
+    public final void warmUp(boolean prepare, Class<? extends Model>... modelClasses) {
+        List<Class<? extends Model>> models = new ArrayList<>();
+        for (Class<? extends Model> modelClass : modelClasses) {
+            models.add(modelClass);
+        }
+        if (models.isEmpty()) {
+            try {
+                models = Mappers.registered(Thread.currentThread().getContextClassLoader());
+            } catch (IOException e) {
+                Logger.getLogger(getClass().getName()).log(Level.SEVERE, "Failed to list the mapped models", e);
+            }
+        }
+
+        List<String> statements = new ArrayList<>();
+        for (Class<? extends Model> modelClass : models) {
+            String findSql = ModelMetadata.of(modelClass).getFindSql(dialect);
+            if (findSql != null) {
+                statements.add(findSql);
+            }
+        }
+
+        for (DatabaseNode node : getNodes()) {
+            List<Connection> connections = new ArrayList<>();
+            try {
+                for (int i = 0; i < Math.max(1, node.getMinIdle()); i++) {
+                    Connection warmConnection = node.open(dialect);
+                    connections.add(warmConnection);
+                    if (prepare) {
+                        for (String sql : statements) {
+                            warmConnection.prepareStatement(sql).close();
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                Logger.getLogger(getClass().getName()).log(Level.SEVERE, "Failed to warm up connections", e);
+            } finally {
+                // Closing gives the connections back to the idle pool of the node
+                for (Connection warmConnection : connections) {
+                    try {
+                        warmConnection.close();
+                    } catch (SQLException e) {
+                        Logger.getLogger(Connector.class.getName()).log(Level.SEVERE, "Failed to close connection", e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Buffers the saves of a model class instead of writing them at once,
+     * see {@link WriteBehindBuffer}. Meant for rows updated at a high rate,
+     * whose last state only matters, like counters or positions.
+     *
+     * @param modelClass the model class
+     * @param <M>        the model class
+     * @return the started buffer of the class, to configure or flush
+     */
+    @SuppressWarnings("unchecked")
+    public <M extends Model> WriteBehindBuffer<M> writeBehind(Class<M> modelClass) {
+        return (WriteBehindBuffer<M>) writeBehindBuffers.computeIfAbsent(modelClass, cls -> {
+            WriteBehindBuffer<M> buffer = new WriteBehindBuffer<>(modelClass);
+            buffer.start();
+            return buffer;
+        });
+    }
+
+    /**
+     * Writes the buffered saves of a model class and saves its models at
+     * once again.
+     *
+     * @param modelClass the model class
+     */
+    public void disableWriteBehind(Class<? extends Model> modelClass) {
+        WriteBehindBuffer<?> buffer = writeBehindBuffers.remove(modelClass);
+        if (buffer != null) {
+            buffer.close();
+        }
+    }
+
+    /**
+     * @param modelClass the model class
+     * @return the buffer of the class, or null if its saves are written at once
+     */
+    @SuppressWarnings("unchecked")
+    public <M extends Model> WriteBehindBuffer<M> getWriteBehindBuffer(Class<M> modelClass) {
+        return (WriteBehindBuffer<M>) writeBehindBuffers.get(modelClass);
+    }
+
+    /**
+     * Makes the identical <code>find</code>, <code>where</code> and
+     * <code>select</code> reads running at the same time out of a
+     * transaction share a single query, see {@link SingleFlight}. A thread
+     * which has just written runs its own query, as one already in flight
+     * may not see the write.
+     *
+     * @param enabled whether to share the identical reads
+     */
+    public void setSingleFlight(boolean enabled) {
+        if (enabled && singleFlight == null) {
+            singleFlight = new SingleFlight();
+        } else if (!enabled) {
+            singleFlight = null;
+        }
+    }
+
+    /**
+     * @return the single flight of the identical reads, or null if every read
+     * runs its own query
+     */
+    public SingleFlight getSingleFlight() {
+        return singleFlight;
+    }
+
+    /**
+     * Keeps every row of a small, frequently read table in memory, see
+     * {@link ResidentTable}. The table is loaded before returning and its
+     * updates are then polled in the background.
+     *
+     * @param modelClass     the model class
+     * @param updatedColumn  the column set to the time of the last update of
+     *                       a row, or null to only reload the table
+     * @param indexedColumns the columns the <code>where</code> queries
+     *                       compare with <code>=</code>
+     * @param <M>            the model class
+     * @return the resident table of the class
+     */
+    @SuppressWarnings("unchecked")
+    public <M extends Model> ResidentTable<M> resident(Class<M> modelClass, String updatedColumn, String... indexedColumns) {
+        return (ResidentTable<M>) residentTables.computeIfAbsent(modelClass, cls -> {
+            ResidentTable<M> table = new ResidentTable<>(modelClass, updatedColumn, indexedColumns);
+            table.start();
+            return table;
+        });
+    }
+
+    /**
+     * Stops keeping the rows of a model class in memory, its reads query the
+     * database again.
+     *
+     * @param modelClass the model class
+     */
+    public void disableResident(Class<? extends Model> modelClass) {
+        ResidentTable<?> table = residentTables.remove(modelClass);
+        if (table != null) {
+            table.close();
+        }
+    }
+
+    /**
+     * @param modelClass the model class
+     * @return the resident table of the class, or null if its reads query the
+     * database
+     */
+    @SuppressWarnings("unchecked")
+    public <M extends Model> ResidentTable<M> getResidentTable(Class<M> modelClass) {
+        return (ResidentTable<M>) residentTables.get(modelClass);
+    }
+
+    private List<DatabaseNode> getNodes() {
+        List<DatabaseNode> nodes = new ArrayList<>();
+        if (primary != null) {
+            nodes.add(primary);
+        }
+        nodes.addAll(replicaRouter.getReplicas());
+        nodes.addAll(shardRouter.getShards());
+        return nodes;
+    }
+
+    public ShardRouter getShardRouter() {
+        return shardRouter;
+    }
+
+    /**
+     * @param modelClass the model class
+     * @return true if shards are configured and the model sets a shard key
+     */
+    public boolean isSharded(Class<? extends Model> modelClass) {
+        return shardRouter.size() > 0 && ModelMetadata.of(modelClass).getShardKey() != null;
+    }
+
+    /**
+     * @param modelClass    the model class
+     * @param shardKeyValue the value of the shard key
+     * @return the shard holding the rows with this shard key
+     */
+    public int shardOf(Class<? extends Model> modelClass, Object shardKeyValue) {
+        if (!isSharded(modelClass)) {
+            return ALL_SHARDS;
+        }
+        return ModelMetadata.of(modelClass).getShardFunction().shardOf(shardKeyValue, shardRouter.size());
+    }
+
+    /**
+     * Opens a connection to a shard, to be released after use.
+     *
+     * @param shard the index of the shard
+     * @return the connection
+     * @throws SQLException if the shard can not be reached
+     */
+    public Connection openShard(int shard) throws SQLException {
+        return shardRouter.getShard(shard).open(dialect);
+    }
+
+    /**
+     * @return the node of the primary, null until a configuration is set
+     */
+    public DatabaseNode getPrimary() {
+        return primary;
+    }
+
+    /**
+     * @return the router spreading reads between the replicas
+     */
+    public ReplicaRouter getReplicaRouter() {
+        return replicaRouter;
+    }
+
+    public void setLoadBalancing(LoadBalancing loadBalancing) {
+        replicaRouter.setLoadBalancing(loadBalancing);
+    }
+
+    /**
+     * Sets how long after a write the reads of the same thread keep going to
+     * the primary, so that they see the write despite the replication lag,
+     * and run their own query instead of sharing one started before the
+     * write, see {@link #setSingleFlight(boolean)}. One second by default.
+     *
+     * @param window the duration, 0 to always read from the replicas
+     * @param unit   the unit of the duration
+     */
+    public void setReadYourWritesWindow(long window, TimeUnit unit) {
+        this.readYourWritesNanos = unit.toNanos(window);
+    }
+
+    /**
+     * Registers a listener notified after every statement.
+     *
+     * @param listener the listener
+     */
+    public void addQueryListener(QueryListener listener) {
+        queryListeners.add(listener);
+    }
+
+    public void removeQueryListener(QueryListener listener) {
+        queryListeners.remove(listener);
+    }
+
+    /**
+     * Starts measuring a statement, the trace does nothing when no listener
+     * is registered.
+     *
+     * @param sql the SQL template of the statement
+     * @return the trace
+     */
+    public QueryTrace trace(String sql) {
+        if (queryListeners.isEmpty()) {
+            return QueryTrace.DISABLED;
+        }
+        return new QueryTrace(queryListeners, sql);
+    }
+
+    /**
+     * Makes the <code>where</code> and <code>select</code> queries report
+     * their conditions to an index advisor.
+     *
+     * @param indexAdvisor the advisor, or null to stop collecting
+     */
+    public void setIndexAdvisor(IndexAdvisor indexAdvisor) {
+        this.indexAdvisor = indexAdvisor;
+    }
+
+    /**
+     * @return the index advisor, or null if none is collecting
+     */
+    public IndexAdvisor getIndexAdvisor() {
+        return indexAdvisor;
+    }
+
+    /**
+     * @return the dialect of the configured database type
+     */
+    public Dialect getDialect() {
+        return dialect;
+    }
+
     private void setDatabaseType() {
-        switch (config.getDatabaseType()) {
-            case MYSQL:
-                jdbc_driver = "com.mysql.cj.jdbc.Driver";
-                type = "jdbc:mysql://";
-                break;
-            case POSTGRES:
-                jdbc_driver = "org.postgresql.Driver";
-                type = "jdbc:postgresql://";
-                break;
-            case MARIADB:
-                jdbc_driver = "org.mariadb.jdbc.Driver";
-                type = "jdbc:mariadb://";
-                break;
-            default:
-                System.err.println("An error have occurred");
+        if (config.getDatabaseType() == null) {
+            System.err.println("An error have occurred");
+            return;
+        }
+
+        dialect = config.getDatabaseType().getDialect();
+        if (primary != null) {
+            primary.clear();
         }
+        primary = new DatabaseNode(config);
+        primary.setPoolSize(poolMinIdle, poolMaxIdle);
     }
 
     public final static Connector getInstance() {
@@ -24,11 +24,31 @@
 
 package org.bjloquent;
 
+import org.bjloquent.dialect.Dialect;
+import org.bjloquent.dialect.MariaDBDialect;
+import org.bjloquent.dialect.MySQLDialect;
+import org.bjloquent.dialect.PostgreSQLDialect;
+
 /**
  *
  * @author derickfelix
  * @date Mar 4, 2018
  */
 public enum DatabaseType {
-    MYSQL, POSTGRES, MARIADB;
+    MYSQL(new MySQLDialect()),
+    POSTGRES(new PostgreSQLDialect()),
+    MARIADB(new MariaDBDialect());
+
+    private final Dialect dialect;
+
+    DatabaseType(Dialect dialect) {
+        this.dialect = dialect;
+    }
+
+    /**
+     * @return the dialect used to build the statements for this database
+     */
+    public Dialect getDialect() {
+        return dialect;
+    }
 }
@@ -0,0 +1,238 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Collects the {@link Model#findAsync(Class, Object)} calls made on a thread
+ * and finds their rows with one <code>IN (...)</code> query per model class,
+ * instead of a query per call, e.g.
+ * <pre>
+ * try (FindBatch batch = FindBatch.begin()) {
+ *     CompletableFuture&lt;Player&gt; first = Model.findAsync(Player.class, "a-1");
+ *     CompletableFuture&lt;Player&gt; second = Model.findAsync(Player.class, "b-2");
+ *     batch.dispatch();
+ * }
+ * </pre>
+ * The pending calls are dispatched by {@link #dispatch()}, when the batch is
+ * closed, and when one of the returned futures is joined. A key asked twice
+ * is only found once and its callers share the model. Like
+ * {@link Model#find(Class, Object)}, a key without row completes with an
+ * empty model. When a query fails, its futures complete exceptionally with
+ * the error, joining them throwing a <code>CompletionException</code>.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public class FindBatch implements AutoCloseable {
+
+    /**
+     * The number of keys of a query, larger batches being split.
+     */
+    public static final int MAX_KEYS = 1024;
+
+    private static final ThreadLocal<FindBatch> current = new ThreadLocal<>();
+
+    private final FindBatch previous;
+    private final Map<Class<? extends Model>, Map<Object, BatchedFind<?>>> pending = new LinkedHashMap<>();
+    private long requestCount;
+    private long queryCount;
+
+    private FindBatch(FindBatch previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * Starts batching the finds of the current thread, until the batch is
+     * closed.
+     *
+     * @return the batch
+     */
+    public static FindBatch begin() {
+        FindBatch batch = new FindBatch(current.get());
+        current.set(batch);
+        return batch;
+    }
+
+    /**
+     * @return the batch of the current thread, or null if its finds are not
+     * batched
+     */
+    public static FindBatch current() {
+        return current.get();
+    }
+
+    /**
+     * Adds a find to the batch.
+     *
+     * @param targetClass     the class of the model
+     * @param primaryKeyValue the value of the primary key
+     * @param <SubModel>      the model class
+     * @return the future completed with the model once the batch is dispatched
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <SubModel extends Model> CompletableFuture<SubModel> load(Class<SubModel> targetClass, Object primaryKeyValue) {
+        requestCount++;
+        Map<Object, BatchedFind<?>> finds = pending.computeIfAbsent(targetClass, cls -> new LinkedHashMap<>());
+        return (CompletableFuture<SubModel>) finds.computeIfAbsent(Utility.normalizeKey(primaryKeyValue), key -> new BatchedFind<SubModel>(primaryKeyValue));
+    }
+
+    /**
+     * Finds the pending keys, with a query per model class and
+     * {@link #MAX_KEYS} keys. Finds added while the futures complete are
+     * dispatched as well.
+     */
+    public synchronized void dispatch() {
+        while (!pending.isEmpty()) {
+            Map<Class<? extends Model>, Map<Object, BatchedFind<?>>> dispatched = new LinkedHashMap<>(pending);
+            pending.clear();
+            for (Map.Entry<Class<? extends Model>, Map<Object, BatchedFind<?>>> entry : dispatched.entrySet()) {
+                dispatch(entry.getKey(), new ArrayList<>(entry.getValue().values()));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <SubModel extends Model> void dispatch(Class<SubModel> targetClass, List<BatchedFind<?>> finds) {
+        ModelMetadata metadata = ModelMetadata.of(targetClass);
+        if (!(metadata.getPrimaryKey() instanceof String)) {
+            Logger.getLogger(targetClass.getName()).log(
+                    Level.SEVERE,
+                    "Composite primary keys are not supported by find method."
+            );
+            for (BatchedFind<?> find : finds) {
+                find.complete(null);
+            }
+            return;
+        }
+        String primaryKey = (String) metadata.getPrimaryKey();
+        ColumnMetadata column = metadata.getColumn(primaryKey);
+
+        for (int from = 0; from < finds.size(); from += MAX_KEYS) {
+            List<BatchedFind<?>> chunk = finds.subList(from, Math.min(finds.size(), from + MAX_KEYS));
+            List<Object> keys = new ArrayList<>();
+            for (BatchedFind<?> find : chunk) {
+                keys.add(find.key);
+            }
+            // Repeating the last key keeps a few statement shapes, whose plans are cached
+            int size = Integer.highestOneBit(keys.size());
+            size = size == keys.size() ? size : size << 1;
+            while (keys.size() < size) {
+                keys.add(keys.get(keys.size() - 1));
+            }
+
+            List<SubModel> models;
+            queryCount++;
+            try {
+                models = Model.select(targetClass).whereIn(primaryKey, keys).load();
+            } catch (SQLException | ReflectiveOperationException | RuntimeException e) {
+                // The futures were removed from the pending finds, they must not be left incomplete
+                for (BatchedFind<?> find : chunk) {
+                    find.completeExceptionally(e);
+                }
+                continue;
+            }
+            Map<Object, SubModel> byKey = new HashMap<>();
+            for (SubModel model : models) {
+                byKey.put(Utility.normalizeKey(column.get(model)), model);
+            }
+
+            for (BatchedFind<?> find : chunk) {
+                SubModel model = byKey.get(Utility.normalizeKey(find.key));
+                try {
+                    ((BatchedFind<SubModel>) find).complete(model != null ? model : metadata.<SubModel>newInstance());
+                } catch (ReflectiveOperationException e) {
+                    find.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Dispatches the pending finds and stops batching the finds of the
+     * current thread.
+     */
+    @Override
+    public void close() {
+        dispatch();
+        if (current.get() == this) {
+            if (previous == null) {
+                current.remove();
+            } else {
+                current.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return the number of finds added to the batch
+     */
+    public synchronized long getRequestCount() {
+        return requestCount;
+    }
+
+    /**
+     * @return the number of queries the batch sent
+     */
+    public synchronized long getQueryCount() {
+        return queryCount;
+    }
+
+    /**
+     * A pending find, dispatching its batch when joined before completion.
+     */
+    private final class BatchedFind<SubModel extends Model> extends CompletableFuture<SubModel> {
+        private final Object key;
+
+        private BatchedFind(Object key) {
+            this.key = key;
+        }
+
+        @Override
+        public SubModel join() {
+            if (!isDone()) {
+                dispatch();
+            }
+            return super.join();
+        }
+
+        @Override
+        public SubModel get() throws InterruptedException, ExecutionException {
+            if (!isDone()) {
+                dispatch();
+            }
+            return super.get();
+        }
+    }
+}
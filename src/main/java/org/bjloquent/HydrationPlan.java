@@ -0,0 +1,169 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The columns of a result set shape that hydrate a model class, with their
+ * index in the result set. Columns are matched by label once per statement,
+ * see {@link ModelMetadata#getHydrationPlan(String, ResultSet)}, and every
+ * row is then read by index.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+final class HydrationPlan {
+
+    private final Class<? extends Model> modelClass;
+    private final String[] labels;
+    private final ColumnMetadata[] columns;
+    private final int[] indexes;
+
+    private HydrationPlan(Class<? extends Model> modelClass, String[] labels, List<ColumnMetadata> columns, List<Integer> indexes) {
+        this.modelClass = modelClass;
+        this.labels = labels;
+        this.columns = columns.toArray(new ColumnMetadata[0]);
+        this.indexes = new int[indexes.size()];
+        for (int i = 0; i < this.indexes.length; i++) {
+            this.indexes[i] = indexes.get(i);
+        }
+    }
+
+    /**
+     * Matches the columns of a model with the columns of a result set. The
+     * model columns missing from the result set, as in projections, or
+     * without setter are left out once here instead of failing on every row.
+     *
+     * @param metadata the model metadata
+     * @param rs       the result set
+     * @return the plan
+     * @throws SQLException if the result set metadata can not be read
+     */
+    static HydrationPlan of(ModelMetadata metadata, ResultSet rs) throws SQLException {
+        ResultSetMetaData resultMetadata = rs.getMetaData();
+
+        // Labels are matched without case, the first one winning like in ResultSet.findColumn
+        String[] labels = labels(resultMetadata);
+        Map<String, Integer> indexesByLabel = new HashMap<>();
+        for (int i = labels.length; i >= 1; i--) {
+            indexesByLabel.put(labels[i - 1].toLowerCase(Locale.ROOT), i);
+        }
+
+        Class<? extends Model> modelClass = metadata.getModelClass();
+        List<ColumnMetadata> columns = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        for (ColumnMetadata column : metadata.getColumns()) {
+            Integer index = indexesByLabel.get(column.getName().toLowerCase(Locale.ROOT));
+            if (index == null) {
+                Logger.getLogger(modelClass.getName()).log(
+                        Level.FINE,
+                        "Column " + column.getName() + " is not in the result set, it is not hydrated"
+                );
+            } else if (column.getReader() == null) {
+                Logger.getLogger(modelClass.getName()).log(
+                        Level.SEVERE,
+                        "Could not find method " + Utility.toSetterName(column.getName()) + " in class " + modelClass.getName()
+                );
+            } else {
+                columns.add(column);
+                indexes.add(index);
+            }
+        }
+        return new HydrationPlan(modelClass, labels, columns, indexes);
+    }
+
+    private static String[] labels(ResultSetMetaData resultMetadata) throws SQLException {
+        String[] labels = new String[resultMetadata.getColumnCount()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = resultMetadata.getColumnLabel(i + 1);
+        }
+        return labels;
+    }
+
+    /**
+     * Compares the column labels, a statement like <code>SELECT *</code>
+     * keeping its column count when a column is renamed or the columns are
+     * reordered.
+     *
+     * @param rs the result set
+     * @return whether the result set still has the shape of this plan
+     * @throws SQLException if the result set metadata can not be read
+     */
+    boolean fits(ResultSet rs) throws SQLException {
+        ResultSetMetaData resultMetadata = rs.getMetaData();
+        if (resultMetadata.getColumnCount() != labels.length) {
+            return false;
+        }
+        for (int i = 0; i < labels.length; i++) {
+            if (!labels[i].equals(resultMetadata.getColumnLabel(i + 1))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sets the model fields from the current row.
+     *
+     * @param rs    the result set, positioned on a row
+     * @param model the model to set
+     */
+    void hydrate(ResultSet rs, Model model) {
+        for (int i = 0; i < columns.length; i++) {
+            ColumnMetadata column = columns[i];
+            try {
+                column.getReader().read(rs, indexes[i], model);
+            } catch (SQLException e) {
+                Logger.getLogger(modelClass.getName()).log(
+                        Level.SEVERE,
+                        "Could not get object " + column.getName() + " from result set",
+                        e
+                );
+            } catch (ClassCastException e) {
+                Logger.getLogger(modelClass.getName()).log(
+                        Level.SEVERE,
+                        "Illegal argument for method " + Utility.toSetterName(column.getName()) + " in class " +
+                                modelClass.getName() + ". Expected " + column.getType().getName(),
+                        e
+                );
+            } catch (RuntimeException e) {
+                Logger.getLogger(modelClass.getName()).log(
+                        Level.SEVERE,
+                        "Could not invoke method " + Utility.toSetterName(column.getName()) + " in class " + modelClass.getName(),
+                        e
+                );
+            }
+        }
+    }
+}
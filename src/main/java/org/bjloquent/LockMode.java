@@ -0,0 +1,50 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent;
+
+/**
+ * Row locks taken by a query run in a transaction, see
+ * {@link Query#lock(LockMode)}. The locks are held until the transaction
+ * ends.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public enum LockMode {
+    /**
+     * <code>FOR UPDATE</code>, waits for the rows locked by other transactions.
+     */
+    UPDATE,
+    /**
+     * <code>FOR UPDATE SKIP LOCKED</code>, leaves out the rows locked by other
+     * transactions, so that workers polling a queue claim distinct rows.
+     * Requires MySQL 8, MariaDB 10.6 or PostgreSQL 9.5.
+     */
+    UPDATE_SKIP_LOCKED,
+    /**
+     * <code>FOR UPDATE NOWAIT</code>, fails at once if a row is locked by
+     * another transaction. Requires MySQL 8, MariaDB 10.3 or PostgreSQL.
+     */
+    UPDATE_NOWAIT
+}
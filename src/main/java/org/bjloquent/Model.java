@@ -23,13 +23,31 @@
  */
 package org.bjloquent;
 
+import org.bjloquent.bulk.TabSeparatedInputStream;
+import org.bjloquent.dialect.Dialect;
+import org.bjloquent.instrumentation.QueryTrace;
+import org.bjloquent.mapping.Mappers;
+import org.bjloquent.mapping.ModelMapper;
+import org.bjloquent.routing.ShardFunction;
+import org.bjloquent.schema.IndexAdvisor;
+
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -40,9 +58,19 @@ import java.util.logging.Logger;
 public abstract class Model {
     protected Object primaryKey = "id";
     protected String tableName;
+    protected String shardKey;
+    protected ShardFunction shardFunction = ShardFunction.hash();
+    protected String versionColumn;
 
     public Model() {
-        tableName = Utility.tableOf(this);
+        ModelMapper<?> mapper = Mappers.of(getClass());
+        if (mapper != null) {
+            tableName = mapper.getTableName();
+            primaryKey = mapper.getPrimaryKey();
+            versionColumn = mapper.getVersionColumn();
+        } else {
+            tableName = Utility.tableOf(getClass());
+        }
     }
 
     /**
@@ -59,31 +87,49 @@ public abstract class Model {
         return tableName;
     }
 
+    /**
+     * @return the column deciding the shard of a row, or null if the model is
+     * not sharded
+     */
+    public String getShardKey() {
+        return shardKey;
+    }
+
+    /**
+     * @return the function mapping a shard key to its shard, by hash unless
+     * the model sets another one
+     */
+    public ShardFunction getShardFunction() {
+        return shardFunction;
+    }
+
+    /**
+     * @return the column incremented by every save, to detect concurrent
+     * updates, or null if the model is not versioned
+     */
+    public String getVersionColumn() {
+        return versionColumn;
+    }
+
     /**
      * Creates a new entity into a table with the same name of a model child but
      * in plural, e.g. a model <code>class Person extends Model</code> will have
      * all of its fields persisted into a table called <code>persons</code>.
      * The <code>id</code> field will be set to the last inserted id if it not null.
+     * An integer primary key left to 0 is not inserted, so that the database
+     * generates it.
      */
     public void create() {
-        Method[] methods = this.getClass().getDeclaredMethods();
-        List<Field> fields = Utility.getFields(methods, this, false, primaryKey);
+        ModelMetadata metadata = ModelMetadata.of(getClass());
         Connector connector = Connector.getInstance();
+        Dialect dialect = connector.getDialect();
 
-        StringBuilder sql = new StringBuilder("INSERT INTO " + tableName + " (");
-        List<Field> primaryKeys = new ArrayList<>();
-
-        for (int i = 0; i < fields.size(); i++) {
-            Field field = fields.get(i);
+        List<ColumnMetadata> fields = getWrittenColumns();
+        List<ColumnMetadata> primaryKeys = new ArrayList<>();
+        for (ColumnMetadata field : fields) {
             if (field.isPrimaryKey()) {
                 primaryKeys.add(field);
             }
-
-            sql.append(field.getName());
-
-            if ((i + 1) != fields.size()) {
-                sql.append(", ");
-            }
         }
 
         if (primaryKeys.size() == 0) {
@@ -91,45 +137,74 @@ public abstract class Model {
             return;
         }
 
-        sql.append(") VALUES (");
-        for (int i = 0; i < fields.size(); i++) {
-            sql.append("?");
-            if ((i + 1) != fields.size()) {
-                sql.append(", ");
+        boolean generatedKey = primaryKeys.size() == 1 && primaryKeys.get(0).getType() == int.class;
+        List<ColumnMetadata> insertedFields = new ArrayList<>();
+        List<String> columns = new ArrayList<>();
+        for (ColumnMetadata field : fields) {
+            if (generatedKey && field.isPrimaryKey() && Integer.valueOf(0).equals(field.get(this))) {
+                continue;
             }
+            insertedFields.add(field);
+            columns.add(field.getName());
         }
 
-        sql.append(")");
+        String sql = dialect.insert(tableName, columns, 1);
+        boolean returning = generatedKey && dialect.supportsReturning();
+        if (returning) {
+            sql = dialect.returning(sql, Collections.singletonList(primaryKeys.get(0).getName()));
+        }
+        QueryTrace trace = connector.trace(sql);
+        Connection connection = null;
 
         try {
-            PreparedStatement statement = connector.open().prepareStatement(
-                    String.valueOf(sql),
-                    PreparedStatement.RETURN_GENERATED_KEYS
-            );
+            connection = connector.openForWrite(this);
+            trace.connected();
+
+            try (PreparedStatement statement = returning
+                    ? connection.prepareStatement(sql)
+                    : connection.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS)) {
+                for (int i = 0; i < insertedFields.size(); i++) {
+                    insertedFields.get(i).getWriter().bind(statement, i + 1, this);
+                }
+                trace.bound();
 
-            for (int i = 0; i < fields.size(); i++) {
-                Field field = fields.get(i);
-                statement.setObject(i + 1, field.getValue());
-            }
-
-            statement.executeUpdate();
-            if (primaryKeys.size() == 1 && primaryKeys.get(0).getType().equals("int")) {
-                Field primaryKey = primaryKeys.get(0);
-                ResultSet rs = statement.getGeneratedKeys();
-                if (rs.next()) {
-                    String setPrimaryKeyMethod = "set" + primaryKey.getName().substring(0, 1).toUpperCase()
-                            + primaryKey.getName().substring(1);
-                    this.getClass().getDeclaredMethod(
-                            setPrimaryKeyMethod, int.class).invoke(this, rs.getInt(1)
-                    );
+                if (!returning) {
+                    statement.executeUpdate();
+                }
+                if (returning || generatedKey) {
+                    try (ResultSet rs = returning ? statement.executeQuery() : statement.getGeneratedKeys()) {
+                        trace.executed();
+                        if (rs.next()) {
+                            readGeneratedKey(rs, primaryKeys.get(0));
+                        }
+                    }
+                } else {
+                    trace.executed();
                 }
             }
-        } catch (SQLException | InvocationTargetException | IllegalAccessException | NoSuchMethodException e) {
+            trace.hydrated();
+            trace.finish(1);
+        } catch (SQLException e) {
+            trace.fail(e);
             Logger.getLogger(Model.class.getName()).log(
                     Level.SEVERE,
                     "Error while creating a new entity in the database",
                     e
             );
+        } finally {
+            connector.release(connection);
+        }
+    }
+
+    private void readGeneratedKey(ResultSet rs, ColumnMetadata primaryKey) throws SQLException {
+        ColumnReader reader = primaryKey.getReader();
+        if (reader == null) {
+            Logger.getLogger(getClass().getName()).log(
+                    Level.SEVERE,
+                    "Could not find method " + Utility.toSetterName(primaryKey.getName()) + " in class " + getClass().getName()
+            );
+        } else {
+            reader.read(rs, 1, this);
         }
     }
 
@@ -137,25 +212,175 @@ public abstract class Model {
      * Updates an entity in a table with the same name of a model child but in
      * plural, e.g. a model <code>class Person extends Model</code> will have
      * all of its fields updated, in a table called <code>persons</code>.
+     * <p>
+     * A versioned model, see {@link #getVersionColumn()}, is only updated if
+     * its row still has the version the model was read with, and the version
+     * is then incremented on both.
+     * <p>
+     * Outside of a transaction, the save of a model class buffered by
+     * {@link Connector#writeBehind(Class)} is only queued.
+     *
+     * @throws OptimisticLockException if the row of a versioned model was
+     *                                 updated or deleted since it was read
      */
+    @SuppressWarnings("unchecked")
     public void save() {
-        Method[] methods = this.getClass().getDeclaredMethods();
-        List<Field> fields = Utility.getFields(methods, this, false, primaryKey);
         Connector connector = Connector.getInstance();
+        WriteBehindBuffer<Model> buffer = connector.getWriteBehindBuffer((Class<Model>) getClass());
+        if (buffer != null && !connector.inTransaction()) {
+            buffer.offer(this);
+            return;
+        }
 
-        List<Field> primaryKeys = new ArrayList<>();
-        List<Field> nonPrimaryKeys = new ArrayList<>();
-        StringBuilder preparedSql = new StringBuilder("UPDATE " + tableName + " SET ");
-        for (int i = 0; i < fields.size(); i++) {
-            Field field = fields.get(i);
+        Update update = prepareUpdate(connector.getDialect());
+        if (update == null) {
+            return;
+        }
 
-            if (!field.isPrimaryKey()) {
-                nonPrimaryKeys.add(field);
-                preparedSql.append(field.getName()).append(" = ?");
+        QueryTrace trace = connector.trace(update.sql);
+        Connection connection = null;
+        int rows = -1;
+
+        try {
+            connection = connector.openForWrite(this);
+            trace.connected();
+            try (PreparedStatement statement = connection.prepareStatement(update.sql)) {
+                update.bind(statement);
+                trace.bound();
+
+                rows = statement.executeUpdate();
+                trace.executed();
+                trace.finish(rows);
+            }
+        } catch (SQLException ex) {
+            trace.fail(ex);
+            Logger.getLogger(Model.class.getName()).log(
+                    Level.SEVERE,
+                    "Error while updating an entity in the database",
+                    ex
+            );
+        } finally {
+            connector.release(connection);
+        }
 
-                if ((i + 1) < fields.size()) {
-                    preparedSql.append(", ");
+        if (rows == 0 && update.version != null) {
+            throw new OptimisticLockException(Collections.singletonList(this));
+        }
+        if (rows > 0) {
+            update.updateVersion();
+        }
+    }
+
+    /**
+     * Updates many entities, the models having the same non null fields, and
+     * on sharded models the same shard, being sent as a single JDBC batch.
+     * Versioned models are checked as in {@link #save()}; the models whose
+     * version did not match are left unchanged, and reported once every
+     * other model is saved.
+     *
+     * @param models     The models to update
+     * @param <SubModel> The model class
+     * @throws OptimisticLockException if the row of a versioned model was
+     *                                 updated or deleted since it was read
+     */
+    public static <SubModel extends Model> void saveAll(List<SubModel> models) {
+        List<Model> conflicts = saveBatches(models, (failed, ex) -> Logger.getLogger(Model.class.getName()).log(
+                Level.SEVERE,
+                "Error while updating entities in the database",
+                ex
+        ));
+        if (!conflicts.isEmpty()) {
+            throw new OptimisticLockException(conflicts);
+        }
+    }
+
+    /**
+     * Sends the updates of {@link #saveAll(List)}.
+     *
+     * @param models  The models to update
+     * @param onError Called with the models of a batch which failed
+     * @return The versioned models which were not saved, their version not
+     * matching
+     */
+    static List<Model> saveBatches(List<? extends Model> models, BiConsumer<List<Model>, SQLException> onError) {
+        Connector connector = Connector.getInstance();
+        Dialect dialect = connector.getDialect();
+
+        Map<String, List<Update>> batches = new LinkedHashMap<>();
+        for (Model model : models) {
+            Update update = model.prepareUpdate(dialect);
+            if (update == null) {
+                continue;
+            }
+            Class<? extends Model> modelClass = model.getClass();
+            int shard = connector.isSharded(modelClass)
+                    ? connector.shardOf(modelClass, ModelMetadata.of(modelClass).getShardColumn().get(model))
+                    : Connector.ALL_SHARDS;
+            batches.computeIfAbsent(shard + " " + update.sql, key -> new ArrayList<>()).add(update);
+        }
+
+        List<Model> conflicts = new ArrayList<>();
+        for (List<Update> batch : batches.values()) {
+            Update first = batch.get(0);
+            QueryTrace trace = connector.trace(first.sql);
+            Connection connection = null;
+
+            try {
+                connection = connector.openForWrite(first.model);
+                trace.connected();
+                // Versioned batches need the update count of every statement
+                try (PreparedStatement statement = first.version != null
+                        ? dialect.prepareCountedBatch(connection, first.sql)
+                        : connection.prepareStatement(first.sql)) {
+                    for (Update update : batch) {
+                        update.bind(statement);
+                        statement.addBatch();
+                    }
+                    trace.bound();
+
+                    int[] counts = statement.executeBatch();
+                    trace.executed();
+
+                    int rows = 0;
+                    for (int i = 0; i < counts.length; i++) {
+                        Update update = batch.get(i);
+                        if (counts[i] == 0 && update.version != null) {
+                            conflicts.add(update.model);
+                        } else {
+                            update.updateVersion();
+                            rows += Math.max(0, counts[i]);
+                        }
+                    }
+                    trace.finish(rows);
+                }
+            } catch (SQLException ex) {
+                trace.fail(ex);
+                List<Model> failed = new ArrayList<>();
+                for (Update update : batch) {
+                    failed.add(update.model);
                 }
+                onError.accept(failed, ex);
+            } finally {
+                connector.release(connection);
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Builds the update of the non null fields of this model.
+     *
+     * @param dialect The dialect quoting the table and columns
+     * @return The update, or null if the model has no primary key
+     */
+    private Update prepareUpdate(Dialect dialect) {
+        ColumnMetadata version = ModelMetadata.of(getClass()).getVersionColumn();
+
+        List<ColumnMetadata> primaryKeys = new ArrayList<>();
+        List<ColumnMetadata> nonPrimaryKeys = new ArrayList<>();
+        for (ColumnMetadata field : getWrittenColumns()) {
+            if (!field.isPrimaryKey()) {
+                nonPrimaryKeys.add(field);
             } else {
                 primaryKeys.add(field);
             }
@@ -163,57 +388,151 @@ public abstract class Model {
 
         if (primaryKeys.size() == 0) {
             Logger.getLogger(getClass().getName()).log(Level.SEVERE, "Model must have at least one primary key");
-            return;
+            return null;
         }
 
-        StringBuilder primaryKeyWhereCondition = new StringBuilder();
-        for (int i = 0; i < primaryKeys.size(); i++) {
-            Field field = primaryKeys.get(i);
-            primaryKeyWhereCondition.append(field.getName()).append(" = ?");
+        String sql = "UPDATE " + dialect.quote(tableName)
+                + " SET " + conditions(dialect, nonPrimaryKeys, ", ")
+                + " WHERE " + conditions(dialect, primaryKeys, " AND ");
+        Update update = new Update(this, version);
+        update.columns.addAll(nonPrimaryKeys);
+        update.columns.addAll(primaryKeys);
 
-            if ((i + 1) < primaryKeys.size()) {
-                primaryKeyWhereCondition.append(" AND ");
-            }
+        if (version != null) {
+            Object current = version.get(this);
+            update.nextVersion = current instanceof Long ? (Long) current + 1 : (Object) ((Integer) current + 1);
+            sql += " AND " + dialect.quote(version.getName()) + " = ?";
         }
+        update.sql = sql;
+        return update;
+    }
 
-        preparedSql.append(" WHERE ").append(primaryKeyWhereCondition);
+    /**
+     * Adds a delta to a column of this entity in a single statement,
+     * <code>UPDATE ... SET column = column + ?</code>, so that concurrent
+     * increments are not lost. The field of the model is left unchanged and
+     * the version of a versioned model is neither checked nor incremented.
+     *
+     * @param column The column to increment
+     * @param delta  The delta, negative to decrement
+     * @return true if the row was found
+     */
+    public boolean increment(String column, Number delta) {
+        Connector connector = Connector.getInstance();
+        Dialect dialect = connector.getDialect();
+        List<ColumnMetadata> primaryKeys = getPrimaryKeyFields();
+        if (primaryKeys.isEmpty()) {
+            Logger.getLogger(getClass().getName()).log(Level.SEVERE, "Model must have at least one primary key");
+            return false;
+        }
 
-        String sql = preparedSql.toString();
+        String sql = dialect.increment(tableName, column, conditions(dialect, primaryKeys, " AND "));
+        QueryTrace trace = connector.trace(sql);
+        Connection connection = null;
 
         try {
-            PreparedStatement statement = connector.open().prepareStatement(sql);
+            connection = connector.openForWrite(this);
+            trace.connected();
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                ParameterBinders.bindValue(statement, 1, delta);
+                for (int i = 0; i < primaryKeys.size(); i++) {
+                    primaryKeys.get(i).getWriter().bind(statement, i + 2, this);
+                }
+                trace.bound();
 
-            for (int i = 0; i < nonPrimaryKeys.size(); i++) {
-                Field field = nonPrimaryKeys.get(i);
-                statement.setObject(i + 1, field.getValue());
+                int rows = statement.executeUpdate();
+                trace.executed();
+                trace.finish(rows);
+                return rows > 0;
             }
+        } catch (SQLException ex) {
+            trace.fail(ex);
+            Logger.getLogger(Model.class.getName()).log(
+                    Level.SEVERE,
+                    "Error while incrementing " + column + " in the database",
+                    ex
+            );
+        } finally {
+            connector.release(connection);
+        }
+        return false;
+    }
 
-            for (int i = 0; i < primaryKeys.size(); i++) {
-                Field field = primaryKeys.get(i);
-                statement.setObject(nonPrimaryKeys.size() + 1 + i, field.getValue());
-            }
+    /**
+     * Same as {@link #increment(String, Number)}, the new value being read
+     * back in the same statement, with <code>RETURNING</code> on PostgreSQL,
+     * and set on the model.
+     *
+     * @param column The column to increment
+     * @param delta  The delta, negative to decrement
+     * @return The new value, or null if the row was not found
+     */
+    public Number incrementAndGet(String column, Number delta) {
+        Connector connector = Connector.getInstance();
+        Dialect dialect = connector.getDialect();
+        List<ColumnMetadata> primaryKeys = getPrimaryKeyFields();
+        if (primaryKeys.isEmpty()) {
+            Logger.getLogger(getClass().getName()).log(Level.SEVERE, "Model must have at least one primary key");
+            return null;
+        }
+
+        String condition = conditions(dialect, primaryKeys, " AND ");
+        List<Object> values = new ArrayList<>();
+        for (ColumnMetadata field : primaryKeys) {
+            values.add(field.get(this));
+        }
+        // The delta takes the type of the column, which decides how the dialect reads the value back
+        ColumnMetadata metadata = ModelMetadata.of(getClass()).getColumn(column);
+        if (metadata != null) {
+            delta = (Number) Utility.toNumber(delta, metadata.getType());
+        }
+        QueryTrace trace = connector.trace(dialect.increment(tableName, column, condition));
+        Connection connection = null;
 
-            statement.executeUpdate();
+        try {
+            connection = connector.openForWrite(this);
+            trace.connected();
+            Number value = dialect.incrementAndGet(connection, tableName, column, condition, values, delta);
+            trace.executed();
+            trace.finish(value == null ? 0 : 1);
+
+            if (value != null && metadata != null) {
+                metadata.set(this, Utility.toNumber(value, metadata.getType()));
+            }
+            return value;
         } catch (SQLException ex) {
+            trace.fail(ex);
             Logger.getLogger(Model.class.getName()).log(
                     Level.SEVERE,
-                    "Error while updating an entity in the database",
+                    "Error while incrementing " + column + " in the database",
                     ex
             );
+        } finally {
+            connector.release(connection);
         }
+        return null;
+    }
+
+    /**
+     * Same as {@link #increment(String, Number)} with the opposite delta.
+     *
+     * @param column The column to decrement
+     * @param delta  The delta to subtract
+     * @return true if the row was found
+     */
+    public boolean decrement(String column, Number delta) {
+        return increment(column, Utility.negate(delta));
     }
 
     /**
      * Deletes an entity in the model table.
      */
     public void delete() {
-        String sql = "DELETE FROM " + tableName + " WHERE ";
         Connector connector = Connector.getInstance();
+        Dialect dialect = connector.getDialect();
 
-        Method[] methods = this.getClass().getDeclaredMethods();
-        List<Field> fields = Utility.getFields(methods, this, false, primaryKey);
-        List<Field> primaryKeys = new ArrayList<>();
-        for (Field field : fields) {
+        List<ColumnMetadata> primaryKeys = new ArrayList<>();
+        for (ColumnMetadata field : getWrittenColumns()) {
             if (field.isPrimaryKey()) {
                 primaryKeys.add(field);
                 break;
@@ -225,31 +544,28 @@ public abstract class Model {
             return;
         }
 
-        StringBuilder primaryKeyWhereCondition = new StringBuilder();
-        for (int i = 0; i < primaryKeys.size(); i++) {
-            Field field = primaryKeys.get(i);
-            primaryKeyWhereCondition.append(field.getName()).append(" = ?");
-
-            if ((i + 1) < primaryKeys.size()) {
-                primaryKeyWhereCondition.append(" AND ");
-            }
-        }
-
-        sql += primaryKeyWhereCondition;
+        String sql = "DELETE FROM " + dialect.quote(tableName) + " WHERE " + conditions(dialect, primaryKeys, " AND ");
+        QueryTrace trace = connector.trace(sql);
+        Connection connection = null;
 
         try {
-            PreparedStatement statement = connector.open().prepareStatement(sql);
+            connection = connector.openForWrite(this);
+            trace.connected();
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < primaryKeys.size(); i++) {
+                    primaryKeys.get(i).getWriter().bind(statement, i + 1, this);
+                }
+                trace.bound();
 
-            for (int i = 0; i < primaryKeys.size(); i++) {
-                Field field = primaryKeys.get(i);
-                statement.setObject(i + 1, field.getValue());
+                int rows = statement.executeUpdate();
+                trace.executed();
+                trace.finish(rows);
             }
-
-            statement.executeUpdate();
         } catch (SQLException ex) {
+            trace.fail(ex);
             StringBuilder primaryKeyToString = new StringBuilder();
-            for (Field field : primaryKeys) {
-                primaryKeyToString.append(field.getValue()).append(" ");
+            for (ColumnMetadata field : primaryKeys) {
+                primaryKeyToString.append(field.get(this)).append(" ");
             }
 
             Logger.getLogger(Model.class.getName()).log(
@@ -257,6 +573,8 @@ public abstract class Model {
                     "Could not delete entity with primary key '" + primaryKeyToString + "' from table " + tableName,
                     ex
             );
+        } finally {
+            connector.release(connection);
         }
     }
 
@@ -270,37 +588,94 @@ public abstract class Model {
      * @return The model instance
      */
     public static <SubModel extends Model> SubModel find(Class<SubModel> targetClass, Object primaryKeyValue) {
+        Connector connector = Connector.getInstance();
+        ResidentTable<SubModel> residentTable = connector.getResidentTable(targetClass);
+        if (residentTable != null && !connector.inTransaction()) {
+            try {
+                SubModel model = residentTable.find(primaryKeyValue);
+                if (model != null) {
+                    return model;
+                }
+            } catch (ReflectiveOperationException e) {
+                Logger.getLogger(targetClass.getName()).log(
+                        Level.SEVERE,
+                        "Could not instantiate model",
+                        e
+                );
+            }
+        }
+
+        SingleFlight singleFlight = connector.getSingleFlight();
+        if (singleFlight == null || connector.inTransaction() || connector.isReadingOwnWrites()) {
+            return findOnce(targetClass, primaryKeyValue);
+        }
+        return singleFlight.execute(
+                Arrays.asList(targetClass, "find", primaryKeyValue),
+                () -> findOnce(targetClass, primaryKeyValue),
+                model -> copy(targetClass, model)
+        );
+    }
+
+    private static <SubModel extends Model> SubModel findOnce(Class<SubModel> targetClass, Object primaryKeyValue) {
         SubModel targetModel = null;
+        QueryTrace trace = QueryTrace.DISABLED;
         try {
-            targetModel = targetClass.getDeclaredConstructor().newInstance();
-            String tableName = targetModel.getTableName();
-            if(targetModel.getPrimaryKey() instanceof String[]) {
+            ModelMetadata metadata = ModelMetadata.of(targetClass);
+            targetModel = metadata.newInstance();
+            if(metadata.getPrimaryKey() instanceof String[]) {
                 Logger.getLogger(targetClass.getName()).log(
                         Level.SEVERE,
                         "Composite primary keys are not supported by find method."
                 );
                 return null;
             }
-            String primaryKey = (String) targetModel.getPrimaryKey();
+            String primaryKey = (String) metadata.getPrimaryKey();
 
-            String sql = "SELECT * FROM " + tableName + " WHERE " + primaryKey + " = ?";
             Connector connector = Connector.getInstance();
+            Dialect dialect = connector.getDialect();
+            String sql = metadata.getFindSql(dialect);
+            trace = connector.trace(sql);
+
+            // Without the shard key, the row may be on any shard
+            int shard = primaryKey.equals(metadata.getShardKey())
+                    ? connector.shardOf(targetClass, primaryKeyValue)
+                    : Connector.ALL_SHARDS;
+            List<SubModel> found = connector.read(targetClass, shard, trace, (connection, shardTrace) -> {
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    ParameterBinders.bindValue(statement, 1, primaryKeyValue);
+                    shardTrace.bound();
+                    ResultSet rs = statement.executeQuery();
+                    shardTrace.executed();
 
-            PreparedStatement statement = connector.open().prepareStatement(sql);
-            statement.setObject(1, primaryKeyValue);
-            ResultSet rs = statement.executeQuery();
+                    SubModel model = null;
+                    if (rs.next()) {
+                        model = metadata.newInstance();
+                        metadata.getHydrationPlan(sql, rs).hydrate(rs, model);
+                    }
+                    shardTrace.hydrated();
+                    return model;
+                }
+            });
 
-            if (rs.next()) {
-                targetModel.setModelFields(rs);
+            int rows = 0;
+            for (SubModel model : found) {
+                if (model != null) {
+                    targetModel = model;
+                    rows++;
+                }
             }
+            trace.hydrated();
+            trace.finish(rows);
         } catch (SQLException | NoSuchMethodException | SecurityException | IllegalAccessException |
                  IllegalArgumentException | InvocationTargetException ex) {
+            trace.fail(ex);
             Logger.getLogger(targetClass.getName()).log(
                     Level.SEVERE,
                     "Could not find entity with id " + primaryKeyValue,
                     ex
             );
-        } catch (InstantiationException e) {
+        } catch (ReflectiveOperationException e) {
+            trace.fail(e);
             Logger.getLogger(targetClass.getName()).log(
                     Level.SEVERE,
                     "Could not instantiate model",
@@ -311,8 +686,31 @@ public abstract class Model {
         return targetModel;
     }
 
+    /**
+     * Finds an entity by its primary key like {@link #find(Class, Object)}.
+     * In a {@link FindBatch} of the current thread, the find is only queued
+     * and the rows of the batched keys are then found with one query.
+     *
+     * @param targetClass     The class of the model
+     * @param primaryKeyValue The value of the primary key
+     * @param <SubModel>      The model class
+     * @return The future model, already completed out of a batch
+     */
+    public static <SubModel extends Model> CompletableFuture<SubModel> findAsync(Class<SubModel> targetClass, Object primaryKeyValue) {
+        FindBatch batch = FindBatch.current();
+        if (batch == null) {
+            return CompletableFuture.completedFuture(find(targetClass, primaryKeyValue));
+        }
+        return batch.load(targetClass, primaryKeyValue);
+    }
+
     /**
      * Finds all entities in the model table that match the given conditions.
+     * For a sharded model, the conditions are checked on the shard of the
+     * shard key when they compare it with <code>=</code>, and on every shard
+     * in parallel otherwise. For a model kept in memory by
+     * {@link Connector#resident(Class, String, String...)}, conditions
+     * comparing an indexed column with <code>=</code> are checked in memory.
      *
      * @param targetClass The class of the model
      * @param columns     The columns to check
@@ -326,9 +724,45 @@ public abstract class Model {
             String[] columns,
             String[] operators,
             Object[] values
+    ) {
+        Connector connector = Connector.getInstance();
+        ResidentTable<SubModel> residentTable = connector.getResidentTable(targetClass);
+        if (residentTable != null && !connector.inTransaction()
+                && columns.length == operators.length && columns.length == values.length) {
+            try {
+                List<SubModel> models = residentTable.where(columns, operators, values);
+                if (models != null) {
+                    return models;
+                }
+            } catch (ReflectiveOperationException e) {
+                Logger.getLogger(targetClass.getName()).log(
+                        Level.SEVERE,
+                        "Could not instantiate model",
+                        e
+                );
+            }
+        }
+
+        SingleFlight singleFlight = connector.getSingleFlight();
+        if (singleFlight == null || connector.inTransaction() || connector.isReadingOwnWrites()) {
+            return whereOnce(targetClass, columns, operators, values);
+        }
+        return singleFlight.execute(
+                Arrays.asList(targetClass, "where", Arrays.asList(columns), Arrays.asList(operators), Arrays.asList(values)),
+                () -> whereOnce(targetClass, columns, operators, values),
+                models -> copy(targetClass, models)
+        );
+    }
+
+    private static <SubModel extends Model> List<SubModel> whereOnce(
+            Class<SubModel> targetClass,
+            String[] columns,
+            String[] operators,
+            Object[] values
     ) {
         Connector connector = Connector.getInstance();
         List<SubModel> models = new ArrayList<>();
+        QueryTrace trace = QueryTrace.DISABLED;
 
         if (columns.length != operators.length || columns.length != values.length) {
             Logger.getLogger(targetClass.getName()).log(
@@ -339,37 +773,67 @@ public abstract class Model {
         }
 
         try {
-            SubModel targetModel = targetClass.getDeclaredConstructor().newInstance();
-            String tableName = targetModel.getTableName();
+            ModelMetadata metadata = ModelMetadata.of(targetClass);
+            String tableName = metadata.getTableName();
 
-            StringBuilder sql = new StringBuilder("SELECT * FROM " + tableName + " WHERE ");
+            Dialect dialect = connector.getDialect();
+
+            StringBuilder sql = new StringBuilder("SELECT * FROM " + dialect.quote(tableName) + " WHERE ");
+            int shard = Connector.ALL_SHARDS;
             for (int i = 0; i < columns.length; i++) {
-                sql.append(columns[i]).append(" ").append(operators[i]).append(" ?");
+                sql.append(dialect.quote(columns[i])).append(" ").append(operators[i]).append(" ?");
 
                 if ((i + 1) < columns.length) {
                     sql.append(" AND ");
                 }
+                if (columns[i].equals(metadata.getShardKey()) && operators[i].equals("=")) {
+                    shard = connector.shardOf(targetClass, values[i]);
+                }
             }
 
-            PreparedStatement statement = connector.open().prepareStatement(sql.toString());
-            for (int i = 0; i < values.length; i++) {
-                statement.setObject(i + 1, values[i]);
+            String statementSql = sql.toString();
+            IndexAdvisor indexAdvisor = connector.getIndexAdvisor();
+            if (indexAdvisor != null) {
+                indexAdvisor.observe(tableName, Arrays.asList(columns), Arrays.asList(operators),
+                        Collections.<String>emptyList(), statementSql, Arrays.asList(values));
             }
-            ResultSet rs = statement.executeQuery();
+            trace = connector.trace(statementSql);
+            List<List<SubModel>> found = connector.read(targetClass, shard, trace, (connection, shardTrace) -> {
+                try (PreparedStatement statement = connection.prepareStatement(statementSql)) {
+                    for (int i = 0; i < values.length; i++) {
+                        ParameterBinders.bindValue(statement, i + 1, values[i]);
+                    }
+                    shardTrace.bound();
+                    ResultSet rs = statement.executeQuery();
+                    shardTrace.executed();
 
-            while (rs.next()) {
-                SubModel model = targetClass.getDeclaredConstructor().newInstance();
-                model.setModelFields(rs);
-                models.add(model);
+                    HydrationPlan plan = metadata.getHydrationPlan(statementSql, rs);
+                    List<SubModel> shardModels = new ArrayList<>();
+                    while (rs.next()) {
+                        SubModel model = metadata.newInstance();
+                        plan.hydrate(rs, model);
+                        shardModels.add(model);
+                    }
+                    shardTrace.hydrated();
+                    return shardModels;
+                }
+            });
+
+            for (List<SubModel> shardModels : found) {
+                models.addAll(shardModels);
             }
+            trace.hydrated();
+            trace.finish(models.size());
         } catch (SQLException | NoSuchMethodException | SecurityException | IllegalAccessException |
                  InvocationTargetException e) {
+            trace.fail(e);
             Logger.getLogger(targetClass.getName()).log(
                     Level.SEVERE,
                     "Error while executing where query.",
                     e
             );
-        } catch (InstantiationException e) {
+        } catch (ReflectiveOperationException e) {
+            trace.fail(e);
             Logger.getLogger(targetClass.getName()).log(
                     Level.SEVERE,
                     "Could not instantiate model",
@@ -380,6 +844,39 @@ public abstract class Model {
         return models;
     }
 
+    /**
+     * Copies the models read once for several callers, see
+     * {@link SingleFlight}.
+     *
+     * @param targetClass The class of the models
+     * @param models      The models
+     * @param <SubModel>  The model class
+     * @return The copies
+     */
+    static <SubModel extends Model> List<SubModel> copy(Class<SubModel> targetClass, List<SubModel> models) {
+        List<SubModel> copies = new ArrayList<>(models.size());
+        for (SubModel model : models) {
+            copies.add(copy(targetClass, model));
+        }
+        return copies;
+    }
+
+    private static <SubModel extends Model> SubModel copy(Class<SubModel> targetClass, SubModel model) {
+        if (model == null) {
+            return null;
+        }
+        try {
+            return ModelMetadata.of(targetClass).copy(model);
+        } catch (ReflectiveOperationException e) {
+            Logger.getLogger(targetClass.getName()).log(
+                    Level.SEVERE,
+                    "Could not instantiate model",
+                    e
+            );
+            return null;
+        }
+    }
+
     /**
      * Helper method for where() that only takes one condition with equals operator
      *
@@ -417,66 +914,510 @@ public abstract class Model {
     }
 
     /**
-     * Sets the model fields from a result set
+     * Adds a delta to a column of every entity matching the conditions, in a
+     * single statement per shard and without reading them.
      *
-     * @param rs The result set
+     * @param targetClass The class of the model
+     * @param columns     The columns to check
+     * @param operators   The operators to use (e.g. =, >, <, etc.)
+     * @param values      The values to check against
+     * @param column      The column to increment
+     * @param delta       The delta, negative to decrement
+     * @param <SubModel>  The model class
+     * @return The number of updated rows
      */
-    public void setModelFields(ResultSet rs) {
-        Method[] methods = this.getClass().getDeclaredMethods();
-        List<Field> fields = Utility.getFields(methods, this, true, primaryKey);
+    public static <SubModel extends Model> int incrementWhere(
+            Class<SubModel> targetClass,
+            String[] columns,
+            String[] operators,
+            Object[] values,
+            String column,
+            Number delta
+    ) {
+        if (columns.length == 0 || columns.length != operators.length || columns.length != values.length) {
+            Logger.getLogger(targetClass.getName()).log(
+                    Level.SEVERE,
+                    "Columns, operators and values must have the same length, and at least one condition is needed"
+            );
+            return 0;
+        }
 
-        for (Field field : fields) {
-            String setMethod = "set" + field.getName().substring(0, 1).toUpperCase()
-                    + field.getName().substring(1);
+        Connector connector = Connector.getInstance();
+        Dialect dialect = connector.getDialect();
+        ModelMetadata metadata = ModelMetadata.of(targetClass);
 
-            // We retrieve the object from the result set
-            Object resultSetObject;
+        StringBuilder condition = new StringBuilder();
+        int shard = Connector.ALL_SHARDS;
+        for (int i = 0; i < columns.length; i++) {
+            condition.append(i == 0 ? "" : " AND ")
+                    .append(dialect.quote(columns[i])).append(" ").append(operators[i]).append(" ?");
+            if (columns[i].equals(metadata.getShardKey()) && operators[i].equals("=")) {
+                shard = connector.shardOf(targetClass, values[i]);
+            }
+        }
+        String sql = dialect.increment(metadata.getTableName(), column, condition.toString());
+
+        // Without the shard key, the rows may be on any shard
+        List<Integer> shards = new ArrayList<>();
+        if (!connector.isSharded(targetClass)) {
+            shards.add(Connector.ALL_SHARDS);
+        } else if (shard != Connector.ALL_SHARDS) {
+            shards.add(shard);
+        } else {
+            for (int i = 0; i < connector.getShardRouter().size(); i++) {
+                shards.add(i);
+            }
+        }
+
+        int updated = 0;
+        for (int target : shards) {
+            QueryTrace trace = connector.trace(sql);
+            Connection connection = null;
             try {
-                resultSetObject = rs.getObject(field.getName());
-            } catch (SQLException e) {
-                Logger.getLogger(getClass().getName()).log(
+                connection = target == Connector.ALL_SHARDS ? connector.open() : connector.openShard(target);
+                trace.connected();
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    ParameterBinders.bindValue(statement, 1, delta);
+                    for (int i = 0; i < values.length; i++) {
+                        ParameterBinders.bindValue(statement, i + 2, values[i]);
+                    }
+                    trace.bound();
+
+                    int rows = statement.executeUpdate();
+                    trace.executed();
+                    trace.finish(rows);
+                    updated += rows;
+                }
+            } catch (SQLException ex) {
+                trace.fail(ex);
+                Logger.getLogger(targetClass.getName()).log(
                         Level.SEVERE,
-                        "Could not get object " + field.getName() + " from result set",
-                        e
+                        "Error while incrementing " + column + " in the database",
+                        ex
                 );
-                continue;
+            } finally {
+                connector.release(connection);
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Helper method for incrementWhere() that only takes one condition with
+     * equals operator
+     *
+     * @param targetClass     The class of the model
+     * @param conditionColumn The column to check
+     * @param value           The value to check against
+     * @param column          The column to increment
+     * @param delta           The delta, negative to decrement
+     * @param <SubModel>      The model class
+     * @return The number of updated rows
+     */
+    public static <SubModel extends Model> int incrementWhere(
+            Class<SubModel> targetClass,
+            String conditionColumn,
+            Object value,
+            String column,
+            Number delta
+    ) {
+        return incrementWhere(targetClass, new String[]{conditionColumn}, new String[]{"="}, new Object[]{value},
+                column, delta);
+    }
+
+    /**
+     * Starts a select query on the model table.
+     *
+     * @param targetClass The class of the model
+     * @param columns     The columns to select, every column if none is given
+     * @param <SubModel>  The model class
+     * @return The query
+     */
+    public static <SubModel extends Model> Query<SubModel> select(Class<SubModel> targetClass, String... columns) {
+        return new Query<>(targetClass, columns);
+    }
+
+    /**
+     * Visits every row of the model table in chunks, in primary key order.
+     * Each chunk is read with a seek condition on the last key of the previous
+     * one instead of an offset, so that reading a chunk does not get slower
+     * along the table. Requires a single column primary key.
+     *
+     * @param targetClass The class of the model
+     * @param size        The number of models per chunk
+     * @param consumer    The action run on every chunk
+     * @param <SubModel>  The model class
+     * @return The number of visited models
+     * @throws QueryException if a chunk could not be read, the chunks read
+     *                        before having been visited
+     */
+    public static <SubModel extends Model> long chunkById(
+            Class<SubModel> targetClass,
+            int size,
+            Consumer<List<SubModel>> consumer
+    ) {
+        ColumnMetadata key = chunkKey(targetClass);
+        return key == null ? 0 : chunkRange(targetClass, key, null, null, size, consumer);
+    }
+
+    /**
+     * Same as {@link #chunkById(Class, int, Consumer)}, the key range being
+     * split into segments visited in parallel on a pool of the given number
+     * of threads, each reading its chunks on its own connection. The consumer
+     * is then called concurrently, and the chunks do not come in key order.
+     * Only integer keys can be split, the other keys are visited by a single
+     * thread.
+     *
+     * @param targetClass The class of the model
+     * @param size        The number of models per chunk
+     * @param parallelism The number of threads
+     * @param consumer    The action run on every chunk, thread safe
+     * @param <SubModel>  The model class
+     * @return The number of visited models
+     * @throws QueryException if a chunk could not be read, the chunks read
+     *                        before having been visited
+     */
+    public static <SubModel extends Model> long chunkById(
+            Class<SubModel> targetClass,
+            int size,
+            int parallelism,
+            Consumer<List<SubModel>> consumer
+    ) {
+        ColumnMetadata key = chunkKey(targetClass);
+        if (key == null) {
+            return 0;
+        }
+        Class<?> type = key.getType();
+        boolean integral = type == int.class || type == long.class || type == Integer.class || type == Long.class;
+        if (parallelism <= 1 || !integral) {
+            return chunkRange(targetClass, key, null, null, size, consumer);
+        }
+
+        List<SubModel> first = loadChunk(select(targetClass).orderBy(key.getName()).limit(1));
+        List<SubModel> last = loadChunk(select(targetClass).orderBy(key.getName(), "desc").limit(1));
+        if (first.isEmpty() || last.isEmpty()) {
+            return 0;
+        }
+        long min = ((Number) key.get(first.get(0))).longValue();
+        long max = ((Number) key.get(last.get(0))).longValue();
+
+        // More segments than threads, so that a dense segment does not leave the other threads idle
+        double span = (double) max - min + 1;
+        int segments = (int) Math.max(1, Math.min(parallelism * 4L, (long) span));
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<ForkJoinTask<Long>> tasks = new ArrayList<>();
+            long lower = min - 1;
+            for (int i = 1; i <= segments; i++) {
+                long after = lower;
+                long upTo = i == segments ? max : min - 1 + (long) (span * i / segments);
+                tasks.add(pool.submit(() -> chunkRange(targetClass, key, after, upTo, size, consumer)));
+                lower = upTo;
             }
 
+            long visited = 0;
             try {
-                // We invoke the setter method with the object from the result set
-                this.getClass().getDeclaredMethod(
-                        setMethod,
-                        field.getTypeClass()
-                ).invoke(
-                        this,
-                        resultSetObject
-                );
-            } catch (NoSuchMethodException e) {
-                Logger.getLogger(getClass().getName()).log(
-                        Level.SEVERE,
-                        "Could not find method " + setMethod + " in class " + getClass().getName(),
-                        e
-                );
-            } catch (IllegalAccessException e) {
-                Logger.getLogger(getClass().getName()).log(
-                        Level.SEVERE,
-                        "Could not access method " + setMethod + " in class " + getClass().getName(),
-                        e
-                );
-            } catch (IllegalArgumentException e) {
-                Logger.getLogger(getClass().getName()).log(
-                        Level.SEVERE,
-                        "Illegal argument for method " + setMethod + " in class " + getClass().getName() +
-                                ". Expected " + field.getTypeClass().getName() + " but got " +
-                                resultSetObject.getClass().getName(),
-                        e
-                );
-            } catch (InvocationTargetException e) {
-                Logger.getLogger(getClass().getName()).log(
+                for (ForkJoinTask<Long> task : tasks) {
+                    visited += task.join();
+                }
+            } catch (RuntimeException | Error e) {
+                // A failed segment stops the others
+                for (ForkJoinTask<Long> task : tasks) {
+                    task.cancel(false);
+                }
+                throw e;
+            }
+            return visited;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Same as {@link #chunkById(Class, int, Consumer)}, the models being
+     * given one at a time.
+     *
+     * @param targetClass The class of the model
+     * @param size        The number of models read per chunk
+     * @param consumer    The action run on every model
+     * @param <SubModel>  The model class
+     * @return The number of visited models
+     * @throws QueryException if a chunk could not be read, the chunks read
+     *                        before having been visited
+     */
+    public static <SubModel extends Model> long eachById(
+            Class<SubModel> targetClass,
+            int size,
+            Consumer<SubModel> consumer
+    ) {
+        return chunkById(targetClass, size, chunk -> chunk.forEach(consumer));
+    }
+
+    /**
+     * @return The primary key column the chunks are sorted on, or null if the
+     * primary key is composite
+     */
+    private static ColumnMetadata chunkKey(Class<? extends Model> targetClass) {
+        List<ColumnMetadata> primaryKeys = ModelMetadata.of(targetClass).getPrimaryKeys();
+        if (primaryKeys.size() != 1) {
+            Logger.getLogger(targetClass.getName()).log(
+                    Level.SEVERE,
+                    "Chunks need a single column primary key"
+            );
+            return null;
+        }
+        return primaryKeys.get(0);
+    }
+
+    /**
+     * Visits the rows whose key is greater than <code>after</code> and up to
+     * <code>upTo</code>, null for no bound.
+     */
+    private static <SubModel extends Model> long chunkRange(
+            Class<SubModel> targetClass,
+            ColumnMetadata key,
+            Object after,
+            Object upTo,
+            int size,
+            Consumer<List<SubModel>> consumer
+    ) {
+        long visited = 0;
+        Object lastKey = after;
+        while (true) {
+            Query<SubModel> query = select(targetClass).orderBy(key.getName()).limit(size);
+            if (lastKey != null) {
+                query.where(key.getName(), ">", lastKey);
+            }
+            if (upTo != null) {
+                query.where(key.getName(), "<=", upTo);
+            }
+
+            List<SubModel> chunk = loadChunk(query);
+            if (chunk.isEmpty()) {
+                return visited;
+            }
+            // Read before the consumer may change the models
+            lastKey = key.get(chunk.get(chunk.size() - 1));
+            consumer.accept(chunk);
+            visited += chunk.size();
+            if (chunk.size() < size) {
+                return visited;
+            }
+        }
+    }
+
+    private static <SubModel extends Model> List<SubModel> loadChunk(Query<SubModel> query) {
+        try {
+            return query.load();
+        } catch (SQLException | ReflectiveOperationException e) {
+            throw new QueryException("Could not read a chunk with " + query.toSql(), e);
+        }
+    }
+
+    /**
+     * Loads a large number of models into their table in a single statement,
+     * with <code>LOAD DATA LOCAL INFILE</code> on MySQL and MariaDB or
+     * <code>COPY FROM STDIN</code> on PostgreSQL. Models are serialized one
+     * at a time while the driver sends them, so the memory used does not
+     * depend on the number of models. Columns come from the model metadata;
+     * an integer primary key left to 0 on the first model is not loaded, so
+     * that the database generates the keys. Models with a binary column can
+     * not be bulk loaded. Generated keys are not read back.
+     * The load runs on a connection of its own, outside of any transaction.
+     *
+     * @param targetClass The class of the model
+     * @param models      The models to load
+     * @param <SubModel>  The model class
+     * @return The number of loaded rows
+     */
+    public static <SubModel extends Model> long bulkLoad(Class<SubModel> targetClass, Iterator<SubModel> models) {
+        if (!models.hasNext()) {
+            return 0;
+        }
+
+        ModelMetadata metadata = ModelMetadata.of(targetClass);
+        Connector connector = Connector.getInstance();
+        Dialect dialect = connector.getDialect();
+        if (connector.isSharded(targetClass)) {
+            Logger.getLogger(targetClass.getName()).log(
+                    Level.SEVERE,
+                    "Bulk loading is not supported for sharded models"
+            );
+            return 0;
+        }
+
+        // The first model decides whether the generated key is loaded, so it is read ahead
+        final SubModel first = models.next();
+        Iterator<SubModel> rows = new Iterator<SubModel>() {
+            private boolean firstRead = false;
+
+            @Override
+            public boolean hasNext() {
+                return !firstRead || models.hasNext();
+            }
+
+            @Override
+            public SubModel next() {
+                if (!firstRead) {
+                    firstRead = true;
+                    return first;
+                }
+                return models.next();
+            }
+        };
+
+        List<ColumnMetadata> columns = new ArrayList<>(metadata.getColumns());
+        if (metadata.hasGeneratedKey()) {
+            Object key = metadata.getPrimaryKeys().get(0).get(first);
+            if (key instanceof Number && ((Number) key).longValue() == 0) {
+                columns.remove(metadata.getPrimaryKeys().get(0));
+            }
+        }
+        for (ColumnMetadata column : columns) {
+            if (column.getType() == byte[].class) {
+                Logger.getLogger(targetClass.getName()).log(
                         Level.SEVERE,
-                        "Could not invoke method " + setMethod + " in class " + getClass().getName(),
-                        e
+                        "Binary column " + column.getName() + " can not be bulk loaded"
                 );
+                return 0;
+            }
+        }
+
+        List<String> columnNames = new ArrayList<>();
+        for (ColumnMetadata column : columns) {
+            columnNames.add(column.getName());
+        }
+
+        QueryTrace trace = connector.trace("BULK LOAD " + dialect.quote(metadata.getTableName()));
+        Connection connection = null;
+        try {
+            connection = connector.openForBulkLoad();
+            trace.connected();
+            long loaded = dialect.load(
+                    connection,
+                    metadata.getTableName(),
+                    columnNames,
+                    new TabSeparatedInputStream(rows, columns)
+            );
+            trace.executed();
+            trace.finish(loaded);
+            return loaded;
+        } catch (SQLException e) {
+            trace.fail(e);
+            Logger.getLogger(targetClass.getName()).log(
+                    Level.SEVERE,
+                    "Error while bulk loading models into " + metadata.getTableName(),
+                    e
+            );
+        } finally {
+            connector.release(connection);
+        }
+
+        return 0;
+    }
+
+    /**
+     * Gets the columns of this model that are written, the primitive ones and
+     * the non null ones, primary keys first.
+     *
+     * @return The columns
+     */
+    private List<ColumnMetadata> getWrittenColumns() {
+        List<ColumnMetadata> columns = new ArrayList<>();
+        for (ColumnMetadata column : ModelMetadata.of(getClass()).getColumns()) {
+            if (column.getWriter().isPrimitive() || column.get(this) != null) {
+                columns.add(column);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * @return The non null primary key columns of this model
+     */
+    private List<ColumnMetadata> getPrimaryKeyFields() {
+        List<ColumnMetadata> primaryKeys = new ArrayList<>();
+        for (ColumnMetadata column : getWrittenColumns()) {
+            if (column.isPrimaryKey()) {
+                primaryKeys.add(column);
+            }
+        }
+        return primaryKeys;
+    }
+
+    /**
+     * Builds <code>column = ?</code> conditions for the given columns.
+     *
+     * @param dialect   The dialect quoting the columns
+     * @param fields    The columns
+     * @param separator The separator between two conditions
+     * @return The conditions
+     */
+    private static String conditions(Dialect dialect, List<ColumnMetadata> fields, String separator) {
+        StringBuilder conditions = new StringBuilder();
+        for (int i = 0; i < fields.size(); i++) {
+            conditions.append(dialect.quote(fields.get(i).getName())).append(" = ?");
+
+            if ((i + 1) < fields.size()) {
+                conditions.append(separator);
+            }
+        }
+        return conditions.toString();
+    }
+
+    /**
+     * Sets the model fields from a result set. Each column is read with the
+     * reader resolved once for its setter type, so primitive columns are
+     * never boxed. The columns are matched by label on every call; the
+     * queries of this library match them once per statement instead.
+     *
+     * @param rs The result set
+     */
+    public void setModelFields(ResultSet rs) {
+        try {
+            HydrationPlan.of(ModelMetadata.of(getClass()), rs).hydrate(rs, this);
+        } catch (SQLException e) {
+            Logger.getLogger(getClass().getName()).log(
+                    Level.SEVERE,
+                    "Could not read the columns of the result set",
+                    e
+            );
+        }
+    }
+
+    /**
+     * An update of a model waiting to be sent, alone or in a batch.
+     */
+    private static final class Update {
+        private final Model model;
+        private final ColumnMetadata version;
+        private final List<ColumnMetadata> columns = new ArrayList<>();
+        private String sql;
+        private Object nextVersion;
+
+        private Update(Model model, ColumnMetadata version) {
+            this.model = model;
+            this.version = version;
+        }
+
+        private void bind(PreparedStatement statement) throws SQLException {
+            for (int i = 0; i < columns.size(); i++) {
+                ColumnMetadata column = columns.get(i);
+                if (column == version) {
+                    ParameterBinders.bindValue(statement, i + 1, nextVersion);
+                } else {
+                    column.getWriter().bind(statement, i + 1, model);
+                }
+            }
+            if (version != null) {
+                // The version the row must still have
+                version.getWriter().bind(statement, columns.size() + 1, model);
+            }
+        }
+
+        private void updateVersion() {
+            if (version != null) {
+                version.set(model, nextVersion);
             }
         }
     }
@@ -0,0 +1,358 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent;
+
+import org.bjloquent.dialect.Dialect;
+import org.bjloquent.mapping.Mappers;
+import org.bjloquent.mapping.ModelMapper;
+import org.bjloquent.routing.ShardFunction;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Table name, primary key, shard key and columns of a model class. They are resolved
+ * once per class and shared by every statement built for that class.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public class ModelMetadata {
+
+    private static final Map<Class<?>, ModelMetadata> cache = new ConcurrentHashMap<>();
+    private static final int MAX_HYDRATION_PLANS = 256;
+
+    private final Class<? extends Model> modelClass;
+    private final String tableName;
+    private final Object primaryKey;
+    private final List<ColumnMetadata> columns;
+    private final List<ColumnMetadata> primaryKeys;
+    private final String shardKey;
+    private final ShardFunction shardFunction;
+    private final ColumnMetadata shardColumn;
+    private final ColumnMetadata versionColumn;
+    private final ModelMapper<Model> mapper;
+    private final MethodHandle constructor;
+    private final Map<Dialect, String> findSql = new ConcurrentHashMap<>();
+    private final Map<String, HydrationPlan> hydrationPlans = new ConcurrentHashMap<>();
+
+    private ModelMetadata(Class<? extends Model> modelClass, Model prototype, ModelMapper<Model> mapper,
+                          MethodHandle constructor) {
+        this.modelClass = modelClass;
+        this.mapper = mapper;
+        this.constructor = constructor;
+        this.tableName = prototype.getTableName();
+        this.primaryKey = prototype.getPrimaryKey();
+
+        if (mapper != null) {
+            // The generated mapper already lists the primary keys first
+            String[] names = mapper.getColumnNames();
+            Class<?>[] types = mapper.getColumnTypes();
+            List<ColumnMetadata> columns = new ArrayList<>();
+            List<ColumnMetadata> primaryKeys = new ArrayList<>();
+            for (int i = 0; i < names.length; i++) {
+                boolean isPrimaryKey = Utility.isPrimaryKey(names[i], primaryKey);
+                ColumnMetadata column = new ColumnMetadata(names[i], types[i], isPrimaryKey, mapper, i);
+                columns.add(column);
+                if (isPrimaryKey) {
+                    primaryKeys.add(column);
+                }
+            }
+            this.columns = Collections.unmodifiableList(columns);
+            this.primaryKeys = Collections.unmodifiableList(primaryKeys);
+        } else {
+            this.columns = reflectColumns(modelClass, primaryKey);
+            List<ColumnMetadata> primaryKeys = new ArrayList<>();
+            for (ColumnMetadata column : columns) {
+                if (column.isPrimaryKey()) {
+                    primaryKeys.add(column);
+                }
+            }
+            this.primaryKeys = Collections.unmodifiableList(primaryKeys);
+        }
+
+        this.shardKey = prototype.getShardKey();
+        this.shardFunction = prototype.getShardFunction();
+        this.shardColumn = shardKey == null ? null : getColumn(shardKey);
+        if (shardKey != null && shardColumn == null) {
+            throw new IllegalArgumentException("Shard key " + shardKey + " is not a column of " + modelClass.getName());
+        }
+
+        String version = prototype.getVersionColumn();
+        this.versionColumn = version == null ? null : getColumn(version);
+        if (version != null && (versionColumn == null || versionColumn.isPrimaryKey()
+                || (versionColumn.getType() != int.class && versionColumn.getType() != long.class))) {
+            throw new IllegalArgumentException("Version " + version + " is not an int or long column of " + modelClass.getName());
+        }
+    }
+
+    private static List<ColumnMetadata> reflectColumns(Class<? extends Model> modelClass, Object primaryKey) {
+        // Same discovery and order as Utility.getFields, primary keys first
+        Method[] methods = modelClass.getDeclaredMethods();
+        List<ColumnMetadata> columns = new ArrayList<>();
+        for (int i = methods.length - 1; i >= 0; i--) {
+            Method getter = methods[i];
+            if (!getter.getName().contains("get") || getter.getParameterCount() != 0) {
+                continue;
+            }
+
+            String name = Utility.toFieldName(getter.getName());
+            Class<?> type = getter.getReturnType();
+            Method setter;
+            try {
+                setter = modelClass.getDeclaredMethod(Utility.toSetterName(name), type);
+            } catch (NoSuchMethodException e) {
+                setter = null;
+            }
+
+            boolean isPrimaryKey = Utility.isPrimaryKey(name, primaryKey);
+            ColumnMetadata column = new ColumnMetadata(name, type, getter, setter, isPrimaryKey);
+            if (isPrimaryKey) {
+                columns.add(0, column);
+            } else {
+                columns.add(column);
+            }
+        }
+        return Collections.unmodifiableList(columns);
+    }
+
+    /**
+     * Gets the metadata of a model class, resolving it on first use.
+     *
+     * @param modelClass the model class
+     * @return the metadata
+     */
+    public static ModelMetadata of(Class<? extends Model> modelClass) {
+        ModelMetadata metadata = cache.get(modelClass);
+        if (metadata == null) {
+            @SuppressWarnings("unchecked")
+            ModelMapper<Model> mapper = (ModelMapper<Model>) Mappers.of(modelClass);
+            try {
+                MethodHandle constructor = null;
+                Model prototype;
+                if (mapper != null) {
+                    prototype = mapper.newInstance();
+                } else {
+                    Constructor<? extends Model> declared = modelClass.getDeclaredConstructor();
+                    declared.setAccessible(true);
+                    constructor = MethodHandles.lookup().unreflectConstructor(declared)
+                            .asType(MethodType.methodType(Model.class));
+                    prototype = declared.newInstance();
+                }
+                metadata = new ModelMetadata(modelClass, prototype, mapper, constructor);
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
+                     NoSuchMethodException e) {
+                throw new IllegalArgumentException("Could not instantiate model " + modelClass.getName(), e);
+            }
+            ModelMetadata previous = cache.putIfAbsent(modelClass, metadata);
+            if (previous != null) {
+                metadata = previous;
+            }
+        }
+        return metadata;
+    }
+
+    public Class<? extends Model> getModelClass() {
+        return modelClass;
+    }
+
+    /**
+     * Instantiates the model, through its generated mapper or the no argument
+     * constructor resolved once for the class.
+     *
+     * @param <M> the model class
+     * @return a new model
+     * @throws ReflectiveOperationException if the constructor failed
+     */
+    @SuppressWarnings("unchecked")
+    public <M extends Model> M newInstance() throws ReflectiveOperationException {
+        if (mapper != null) {
+            return (M) mapper.newInstance();
+        }
+        try {
+            return (M) (Model) constructor.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    /**
+     * Copies a model into a new instance, column by column. The values are
+     * not copied themselves.
+     *
+     * @param model the model
+     * @param <M>   the model class
+     * @return the copy
+     * @throws ReflectiveOperationException if the constructor failed
+     */
+    public <M extends Model> M copy(M model) throws ReflectiveOperationException {
+        M copy = newInstance();
+        for (ColumnMetadata column : columns) {
+            if (column.getReader() != null) {
+                column.set(copy, column.get(model));
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * @return the mapper generated for the model, or null if the model is not
+     * annotated with {@link org.bjloquent.mapping.Table}
+     */
+    public ModelMapper<Model> getMapper() {
+        return mapper;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public Object getPrimaryKey() {
+        return primaryKey;
+    }
+
+    /**
+     * @return the column deciding the shard of a row, or null if the model is
+     * not sharded
+     */
+    public String getShardKey() {
+        return shardKey;
+    }
+
+    public ShardFunction getShardFunction() {
+        return shardFunction;
+    }
+
+    public ColumnMetadata getShardColumn() {
+        return shardColumn;
+    }
+
+    /**
+     * @return the column incremented by every save, or null if the model is
+     * not versioned
+     */
+    public ColumnMetadata getVersionColumn() {
+        return versionColumn;
+    }
+
+    /**
+     * @return every column, primary keys first
+     */
+    public List<ColumnMetadata> getColumns() {
+        return columns;
+    }
+
+    public List<ColumnMetadata> getPrimaryKeys() {
+        return primaryKeys;
+    }
+
+    /**
+     * @param name the column name
+     * @return the column, or null if the model has no such column
+     */
+    public ColumnMetadata getColumn(String name) {
+        for (ColumnMetadata column : columns) {
+            if (column.getName().equals(name)) {
+                return column;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the names of every column, primary keys first
+     */
+    public List<String> getColumnNames() {
+        List<String> names = new ArrayList<>();
+        for (ColumnMetadata column : columns) {
+            names.add(column.getName());
+        }
+        return names;
+    }
+
+    /**
+     * Builds the statement finding a row by its primary key, once per
+     * dialect.
+     *
+     * @param dialect the dialect quoting the table and column
+     * @return the statement, or null if the primary key is composite
+     */
+    public String getFindSql(Dialect dialect) {
+        if (!(primaryKey instanceof String)) {
+            return null;
+        }
+        return findSql.computeIfAbsent(dialect, d -> "SELECT * FROM " + d.quote(tableName)
+                + " WHERE " + d.quote((String) primaryKey) + " = ?");
+    }
+
+    /**
+     * Resolves the indexes of the model columns in the result set of a
+     * statement, once per statement. A plan is rebuilt if the result set of
+     * the statement no longer has the same number of columns, e.g. after a
+     * migration.
+     *
+     * @param sql the statement, with its parameters as placeholders
+     * @param rs  the result set of the statement
+     * @return the plan hydrating the models from the result set
+     * @throws SQLException if the result set metadata can not be read
+     */
+    HydrationPlan getHydrationPlan(String sql, ResultSet rs) throws SQLException {
+        HydrationPlan plan = hydrationPlans.get(sql);
+        if (plan != null && plan.fits(rs)) {
+            return plan;
+        }
+
+        plan = HydrationPlan.of(this, rs);
+        // Statements built with literal values would grow the cache without end
+        if (hydrationPlans.size() < MAX_HYDRATION_PLANS || hydrationPlans.containsKey(sql)) {
+            hydrationPlans.put(sql, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * @return whether the model has a single <code>int</code> or
+     * <code>long</code> primary key generated by the database
+     */
+    public boolean hasGeneratedKey() {
+        if (primaryKeys.size() != 1) {
+            return false;
+        }
+        Class<?> type = primaryKeys.get(0).getType();
+        return type == int.class || type == long.class;
+    }
+}
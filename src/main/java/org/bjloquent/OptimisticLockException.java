@@ -0,0 +1,55 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Thrown when a versioned model is saved while its row was updated or deleted
+ * since the model was read, its version no longer matching. The model should
+ * be read again before retrying.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public class OptimisticLockException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    // Models are not serializable, a deserialized exception has none
+    private final transient List<Model> models;
+
+    public OptimisticLockException(List<? extends Model> models) {
+        super(models.size() + " model(s) of " + models.get(0).getTableName() + " were modified concurrently");
+        this.models = Collections.unmodifiableList(models);
+    }
+
+    /**
+     * @return the models which were not saved, left with their version
+     */
+    public List<Model> getModels() {
+        return models != null ? models : Collections.emptyList();
+    }
+}
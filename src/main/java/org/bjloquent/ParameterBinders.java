@@ -0,0 +1,121 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+/**
+ * The parameter binders of the supported Java types, resolved once per
+ * type. Null values are bound with <code>setNull</code> and the SQL type of
+ * the Java type.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+final class ParameterBinders {
+
+    private static final ClassValue<ParameterBinder> BY_TYPE = new ClassValue<ParameterBinder>() {
+        @Override
+        protected ParameterBinder computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    private ParameterBinders() {
+    }
+
+    /**
+     * Binds a parameter with the binder of its runtime type.
+     *
+     * @param statement the statement
+     * @param index     the index of the parameter, from 1
+     * @param value     the value
+     * @throws SQLException if the parameter can not be bound
+     */
+    static void bindValue(PreparedStatement statement, int index, Object value) throws SQLException {
+        if (value == null) {
+            statement.setObject(index, null);
+            return;
+        }
+        BY_TYPE.get(value.getClass()).bind(statement, index, value);
+    }
+
+    /**
+     * Gets the binder of a Java type, primitive types being bound like their
+     * wrapper.
+     *
+     * @param type the Java type
+     * @return the binder, shared by every parameter of this type
+     */
+    static ParameterBinder of(Class<?> type) {
+        return BY_TYPE.get(type);
+    }
+
+    private static ParameterBinder resolve(Class<?> type) {
+        if (type == int.class || type == Integer.class) {
+            return nullable(Types.INTEGER, (statement, index, value) -> statement.setInt(index, ((Number) value).intValue()));
+        } else if (type == long.class || type == Long.class) {
+            return nullable(Types.BIGINT, (statement, index, value) -> statement.setLong(index, ((Number) value).longValue()));
+        } else if (type == double.class || type == Double.class) {
+            return nullable(Types.DOUBLE, (statement, index, value) -> statement.setDouble(index, ((Number) value).doubleValue()));
+        } else if (type == float.class || type == Float.class) {
+            return nullable(Types.REAL, (statement, index, value) -> statement.setFloat(index, ((Number) value).floatValue()));
+        } else if (type == short.class || type == Short.class) {
+            return nullable(Types.SMALLINT, (statement, index, value) -> statement.setShort(index, ((Number) value).shortValue()));
+        } else if (type == byte.class || type == Byte.class) {
+            return nullable(Types.TINYINT, (statement, index, value) -> statement.setByte(index, ((Number) value).byteValue()));
+        } else if (type == boolean.class || type == Boolean.class) {
+            return nullable(Types.BOOLEAN, (statement, index, value) -> statement.setBoolean(index, (Boolean) value));
+        } else if (type == String.class) {
+            return nullable(Types.VARCHAR, (statement, index, value) -> statement.setString(index, (String) value));
+        } else if (type == Timestamp.class) {
+            return nullable(Types.TIMESTAMP, (statement, index, value) -> statement.setTimestamp(index, (Timestamp) value));
+        } else if (type == Date.class) {
+            return nullable(Types.DATE, (statement, index, value) -> statement.setDate(index, (Date) value));
+        } else if (type == Time.class) {
+            return nullable(Types.TIME, (statement, index, value) -> statement.setTime(index, (Time) value));
+        } else if (type == BigDecimal.class) {
+            return nullable(Types.DECIMAL, (statement, index, value) -> statement.setBigDecimal(index, (BigDecimal) value));
+        } else if (type == byte[].class) {
+            return nullable(Types.VARBINARY, (statement, index, value) -> statement.setBytes(index, (byte[]) value));
+        }
+        return PreparedStatement::setObject;
+    }
+
+    private static ParameterBinder nullable(int sqlType, ParameterBinder binder) {
+        return (statement, index, value) -> {
+            if (value == null) {
+                statement.setNull(index, sqlType);
+            } else {
+                binder.bind(statement, index, value);
+            }
+        };
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps rows into read-only objects through their constructor. For each
+ * class and number of columns, the constructor and the typed result set
+ * getters of its parameters are compiled once into a single method handle
+ * taking the result set. Columns are passed to the constructor in order.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+final class ProjectionMapper {
+
+    private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    private static final Map<List<Object>, MethodHandle> shapes = new ConcurrentHashMap<>();
+
+    private ProjectionMapper() {
+    }
+
+    /**
+     * Creates an object from the current row.
+     *
+     * @param projectionClass the class to instantiate
+     * @param columnCount     the number of columns in the result set
+     * @param rs              the result set, positioned on a row
+     * @param <T>             the projection type
+     * @return the object
+     * @throws SQLException if a column can not be read
+     */
+    static <T> T map(Class<T> projectionClass, int columnCount, ResultSet rs) throws SQLException {
+        MethodHandle constructor = shapeOf(projectionClass, columnCount);
+        try {
+            return projectionClass.cast((Object) constructor.invokeExact(rs));
+        } catch (SQLException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Could not instantiate " + projectionClass.getName(), t);
+        }
+    }
+
+    private static MethodHandle shapeOf(Class<?> projectionClass, int columnCount) {
+        List<Object> key = Arrays.asList(projectionClass, columnCount);
+        MethodHandle constructor = shapes.get(key);
+        if (constructor == null) {
+            constructor = compile(projectionClass, columnCount);
+            shapes.putIfAbsent(key, constructor);
+        }
+        return constructor;
+    }
+
+    private static MethodHandle compile(Class<?> projectionClass, int columnCount) {
+        Constructor<?> constructor = null;
+        for (Constructor<?> candidate : projectionClass.getDeclaredConstructors()) {
+            if (candidate.getParameterCount() != columnCount || Modifier.isPrivate(candidate.getModifiers())) {
+                continue;
+            }
+            if (constructor != null) {
+                throw new IllegalArgumentException(projectionClass.getName() + " has several constructors taking "
+                        + columnCount + " parameters");
+            }
+            constructor = candidate;
+        }
+
+        if (constructor == null) {
+            throw new IllegalArgumentException(projectionClass.getName() + " has no constructor taking "
+                    + columnCount + " parameters");
+        }
+
+        try {
+            constructor.setAccessible(true);
+            MethodHandle handle = lookup.unreflectConstructor(constructor);
+
+            Class<?>[] types = constructor.getParameterTypes();
+            MethodHandle[] getters = new MethodHandle[types.length];
+            for (int i = 0; i < types.length; i++) {
+                getters[i] = MethodHandles.insertArguments(getterOf(types[i]), 1, i + 1);
+            }
+
+            // (ResultSet, ResultSet, ...) then every parameter reads the same result set
+            handle = MethodHandles.filterArguments(handle, 0, getters);
+            handle = MethodHandles.permuteArguments(
+                    handle,
+                    MethodType.methodType(projectionClass, ResultSet.class),
+                    new int[types.length]
+            );
+            return handle.asType(MethodType.methodType(Object.class, ResultSet.class));
+        } catch (IllegalAccessException | NoSuchMethodException e) {
+            throw new IllegalArgumentException("Could not access the constructor of " + projectionClass.getName(), e);
+        }
+    }
+
+    /**
+     * @return a handle of type <code>(ResultSet, int)type</code>
+     */
+    private static MethodHandle getterOf(Class<?> type) throws NoSuchMethodException, IllegalAccessException {
+        String name;
+        if (type == int.class) {
+            name = "getInt";
+        } else if (type == long.class) {
+            name = "getLong";
+        } else if (type == double.class) {
+            name = "getDouble";
+        } else if (type == float.class) {
+            name = "getFloat";
+        } else if (type == boolean.class) {
+            name = "getBoolean";
+        } else if (type == short.class) {
+            name = "getShort";
+        } else if (type == byte.class) {
+            name = "getByte";
+        } else if (type == String.class) {
+            name = "getString";
+        } else if (type == Timestamp.class) {
+            name = "getTimestamp";
+        } else if (type == Date.class) {
+            name = "getDate";
+        } else if (type == Time.class) {
+            name = "getTime";
+        } else if (type == BigDecimal.class) {
+            name = "getBigDecimal";
+        } else if (type == byte[].class) {
+            name = "getBytes";
+        } else {
+            MethodHandle getObject = lookup.findVirtual(
+                    ResultSet.class,
+                    "getObject",
+                    MethodType.methodType(Object.class, int.class, Class.class)
+            );
+            return MethodHandles.insertArguments(getObject, 2, type)
+                    .asType(MethodType.methodType(type, ResultSet.class, int.class));
+        }
+
+        return lookup.findVirtual(ResultSet.class, name, MethodType.methodType(type, int.class));
+    }
+}
@@ -0,0 +1,520 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent;
+
+import org.bjloquent.dialect.Dialect;
+import org.bjloquent.instrumentation.QueryTrace;
+import org.bjloquent.schema.IndexAdvisor;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A select statement on a model table, built step by step, e.g.
+ * <code>Model.select(Player.class, "name", "score").where("score", "&gt;", 100).orderBy("score", "desc").get()</code>.
+ * On a sharded model, a query comparing the shard key with <code>=</code>
+ * runs on its shard; any other query runs on every shard in parallel and
+ * the rows are merged in order, the limit and offset being applied after the
+ * merge.
+ *
+ * @param <SubModel> The model class
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public class Query<SubModel extends Model> {
+
+    private final Class<SubModel> targetClass;
+    private final String[] columns;
+    private final List<String> conditionColumns = new ArrayList<>();
+    private final List<String> operators = new ArrayList<>();
+    private final List<Object> values = new ArrayList<>();
+    private final List<String> orderColumns = new ArrayList<>();
+    private final List<Boolean> descending = new ArrayList<>();
+    private int limit = -1;
+    private int offset = 0;
+    private LockMode lockMode;
+
+    /**
+     * @param targetClass The class of the model
+     * @param columns     The columns to select, every column if empty
+     */
+    public Query(Class<SubModel> targetClass, String... columns) {
+        this.targetClass = targetClass;
+        this.columns = columns;
+    }
+
+    /**
+     * Adds a condition, conditions are joined with <code>AND</code>.
+     *
+     * @param column   The column to check
+     * @param operator The operator to use (e.g. =, >, <, etc.)
+     * @param value    The value to check against
+     * @return this query
+     */
+    public Query<SubModel> where(String column, String operator, Object value) {
+        conditionColumns.add(column);
+        operators.add(operator);
+        values.add(value);
+        return this;
+    }
+
+    /**
+     * Adds a condition with the equals operator.
+     *
+     * @param column The column to check
+     * @param value  The value to check against
+     * @return this query
+     */
+    public Query<SubModel> where(String column, Object value) {
+        return where(column, "=", value);
+    }
+
+    /**
+     * Adds an <code>IN (...)</code> condition, with a placeholder per value.
+     * Without values, the condition matches no row.
+     *
+     * @param column The column to check
+     * @param values The values to check against
+     * @return this query
+     */
+    public Query<SubModel> whereIn(String column, Collection<?> values) {
+        return where(column, "IN", new ArrayList<Object>(values));
+    }
+
+    /**
+     * Sorts the rows by a column.
+     *
+     * @param column    The column
+     * @param direction <code>asc</code> or <code>desc</code>
+     * @return this query
+     */
+    public Query<SubModel> orderBy(String column, String direction) {
+        if (!direction.equalsIgnoreCase("asc") && !direction.equalsIgnoreCase("desc")) {
+            throw new IllegalArgumentException("Order direction must be asc or desc, got " + direction);
+        }
+        orderColumns.add(column);
+        descending.add(direction.equalsIgnoreCase("desc"));
+        return this;
+    }
+
+    /**
+     * Sorts the rows by a column in ascending order.
+     *
+     * @param column The column
+     * @return this query
+     */
+    public Query<SubModel> orderBy(String column) {
+        return orderBy(column, "asc");
+    }
+
+    /**
+     * @param limit The maximum number of rows
+     * @return this query
+     */
+    public Query<SubModel> limit(int limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * @param offset The number of rows to skip, only used with a limit
+     * @return this query
+     */
+    public Query<SubModel> offset(int offset) {
+        this.offset = offset;
+        return this;
+    }
+
+    /**
+     * Locks the selected rows until the end of the current transaction, e.g.
+     * to claim jobs from a queue table:
+     * <code>select(Job.class).where("status", "pending").limit(10).lock(LockMode.UPDATE_SKIP_LOCKED)</code>.
+     * A locking query must run in a transaction, on a model that is not
+     * sharded.
+     *
+     * @param lockMode The lock to take
+     * @return this query
+     */
+    public Query<SubModel> lock(LockMode lockMode) {
+        this.lockMode = lockMode;
+        return this;
+    }
+
+    /**
+     * Same as {@link #lock(LockMode)} with {@link LockMode#UPDATE}.
+     *
+     * @return this query
+     */
+    public Query<SubModel> forUpdate() {
+        return lock(LockMode.UPDATE);
+    }
+
+    /**
+     * Same as {@link #lock(LockMode)} with {@link LockMode#UPDATE_SKIP_LOCKED}.
+     *
+     * @return this query
+     */
+    public Query<SubModel> skipLocked() {
+        return lock(LockMode.UPDATE_SKIP_LOCKED);
+    }
+
+    /**
+     * Same as {@link #lock(LockMode)} with {@link LockMode#UPDATE_NOWAIT}.
+     *
+     * @return this query
+     */
+    public Query<SubModel> noWait() {
+        return lock(LockMode.UPDATE_NOWAIT);
+    }
+
+    /**
+     * @return the SQL of this query
+     */
+    public String toSql() {
+        return toSql(false);
+    }
+
+    /**
+     * @param fanOut true for the statement sent to every shard, which selects
+     *               the sorted columns for the merge and returns the rows
+     *               skipped by the offset as well
+     * @return the SQL of this query
+     */
+    private String toSql(boolean fanOut) {
+        Dialect dialect = Connector.getInstance().getDialect();
+
+        List<String> selected = new ArrayList<>(Arrays.asList(columns));
+        if (fanOut && !selected.isEmpty()) {
+            for (String column : orderColumns) {
+                if (!selected.contains(column)) {
+                    selected.add(column);
+                }
+            }
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT ");
+        if (selected.isEmpty()) {
+            sql.append("*");
+        }
+        for (int i = 0; i < selected.size(); i++) {
+            sql.append(dialect.quote(selected.get(i)));
+            if ((i + 1) < selected.size()) {
+                sql.append(", ");
+            }
+        }
+
+        sql.append(" FROM ").append(dialect.quote(ModelMetadata.of(targetClass).getTableName()));
+
+        for (int i = 0; i < conditionColumns.size(); i++) {
+            sql.append(i == 0 ? " WHERE " : " AND ");
+            sql.append(dialect.quote(conditionColumns.get(i))).append(" ").append(operators.get(i));
+            if (values.get(i) instanceof List && operators.get(i).equals("IN")) {
+                int count = ((List<?>) values.get(i)).size();
+                sql.append(" (");
+                for (int j = 0; j < count; j++) {
+                    sql.append(j == 0 ? "?" : ", ?");
+                }
+                sql.append(count == 0 ? "NULL)" : ")");
+            } else {
+                sql.append(" ?");
+            }
+        }
+
+        for (int i = 0; i < orderColumns.size(); i++) {
+            sql.append(i == 0 ? " ORDER BY " : ", ")
+                    .append(dialect.quote(orderColumns.get(i)))
+                    .append(descending.get(i) ? " DESC" : " ASC");
+        }
+
+        String statement = sql.toString();
+        if (limit >= 0) {
+            statement = fanOut ? dialect.limit(statement, offset + limit, 0) : dialect.limit(statement, limit, offset);
+        }
+        return lockMode == null ? statement : dialect.lock(statement, lockMode);
+    }
+
+    /**
+     * Executes the query and hydrates a model for every row.
+     *
+     * @return the models
+     */
+    public List<SubModel> get() {
+        Connector connector = Connector.getInstance();
+        if (!canLock(connector)) {
+            return new ArrayList<>();
+        }
+        observe(connector);
+        int shard = shard(connector);
+        String sql = toSql(isFanOut(connector, shard));
+        SingleFlight singleFlight = connector.getSingleFlight();
+        if (singleFlight == null || connector.inTransaction() || connector.isReadingOwnWrites()) {
+            return getModels(connector, shard, sql);
+        }
+        return singleFlight.execute(
+                Arrays.asList(targetClass, sql, placeholderValues()),
+                () -> getModels(connector, shard, sql),
+                models -> Model.copy(targetClass, models)
+        );
+    }
+
+    private List<SubModel> getModels(Connector connector, int shard, String sql) {
+        try {
+            return load(connector, shard, sql);
+        } catch (SQLException | ReflectiveOperationException e) {
+            Logger.getLogger(targetClass.getName()).log(
+                    Level.SEVERE,
+                    "Error while executing select query.",
+                    e
+            );
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Executes the query like {@link #get()}, without sharing it with
+     * identical queries, and throws its errors instead of logging them.
+     *
+     * @return the models
+     * @throws SQLException                 if the query failed
+     * @throws ReflectiveOperationException if a model could not be instantiated
+     */
+    List<SubModel> load() throws SQLException, ReflectiveOperationException {
+        Connector connector = Connector.getInstance();
+        int shard = shard(connector);
+        return load(connector, shard, toSql(isFanOut(connector, shard)));
+    }
+
+    private List<SubModel> load(Connector connector, int shard, String sql) throws SQLException, ReflectiveOperationException {
+        QueryTrace trace = connector.trace(sql);
+        try {
+            List<SubModel> models = fetch(connector, shard, sql, trace, (rs, columnCount) -> {
+                ModelMetadata metadata = ModelMetadata.of(targetClass);
+                HydrationPlan plan = metadata.getHydrationPlan(sql, rs);
+                return row -> {
+                    SubModel model = metadata.newInstance();
+                    plan.hydrate(row, model);
+                    return model;
+                };
+            });
+            trace.hydrated();
+            trace.finish(models.size());
+            return models;
+        } catch (SQLException | ReflectiveOperationException e) {
+            trace.fail(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Executes the query and maps every row into a read-only object instead
+     * of a model. The selected columns are passed in order to the
+     * constructor of the projection class taking as many parameters, which is
+     * resolved once per class and number of columns.
+     *
+     * @param projectionClass The class of the objects, e.g. a DTO with final fields
+     * @param <T>             The projection type
+     * @return the objects
+     */
+    public <T> List<T> as(Class<T> projectionClass) {
+        Connector connector = Connector.getInstance();
+        if (!canLock(connector)) {
+            return new ArrayList<>();
+        }
+        observe(connector);
+        int shard = shard(connector);
+        String sql = toSql(isFanOut(connector, shard));
+        QueryTrace trace = connector.trace(sql);
+        try {
+            List<T> projections = fetch(connector, shard, sql, trace,
+                    (rs, columnCount) -> row -> ProjectionMapper.map(projectionClass, columnCount, row));
+            trace.hydrated();
+            trace.finish(projections.size());
+            return projections;
+        } catch (SQLException | ReflectiveOperationException | IllegalArgumentException e) {
+            trace.fail(e);
+            Logger.getLogger(targetClass.getName()).log(
+                    Level.SEVERE,
+                    "Error while mapping select query into " + projectionClass.getName(),
+                    e
+            );
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * @return the shard of the shard key when a condition compares it with
+     * <code>=</code>, every shard otherwise
+     */
+    private int shard(Connector connector) {
+        String shardKey = ModelMetadata.of(targetClass).getShardKey();
+        for (int i = 0; i < conditionColumns.size(); i++) {
+            if (conditionColumns.get(i).equals(shardKey) && operators.get(i).equals("=")) {
+                return connector.shardOf(targetClass, values.get(i));
+            }
+        }
+        return Connector.ALL_SHARDS;
+    }
+
+    /**
+     * @return false if the query locks rows but they could not be held, out
+     * of a transaction or on shards, which transactions do not cover
+     */
+    private boolean canLock(Connector connector) {
+        if (lockMode == null) {
+            return true;
+        }
+        if (connector.isSharded(targetClass)) {
+            Logger.getLogger(targetClass.getName()).log(Level.SEVERE, "Locking queries are not supported for sharded models");
+            return false;
+        }
+        if (!connector.inTransaction()) {
+            Logger.getLogger(targetClass.getName()).log(Level.SEVERE, "Locking queries must run in a transaction");
+            return false;
+        }
+        return true;
+    }
+
+    private void observe(Connector connector) {
+        IndexAdvisor indexAdvisor = connector.getIndexAdvisor();
+        if (indexAdvisor != null) {
+            indexAdvisor.observe(ModelMetadata.of(targetClass).getTableName(), conditionColumns, operators,
+                    orderColumns, toSql(), placeholderValues());
+        }
+    }
+
+    private boolean isFanOut(Connector connector, int shard) {
+        return shard == Connector.ALL_SHARDS && connector.isSharded(targetClass);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> fetch(Connector connector, int shard, String sql, QueryTrace trace, RowMapperFactory<T> mappers)
+            throws SQLException, ReflectiveOperationException {
+        boolean fanOut = isFanOut(connector, shard);
+        // Rows merged in order carry the values of the sorted columns
+        int keys = fanOut ? orderColumns.size() : 0;
+
+        List<List<Object>> results = connector.read(targetClass, shard, trace, (connection, shardTrace) -> {
+            try (PreparedStatement statement = prepare(connection, sql, shardTrace); ResultSet rs = statement.executeQuery()) {
+                shardTrace.executed();
+                int columnCount = columns.length > 0 ? columns.length : rs.getMetaData().getColumnCount();
+                RowMapper<T> mapper = mappers.of(rs, columnCount);
+                List<Object> rows = new ArrayList<>();
+                while (rs.next()) {
+                    if (keys == 0) {
+                        rows.add(mapper.map(rs));
+                        continue;
+                    }
+                    Object[] row = new Object[keys + 1];
+                    for (int i = 0; i < keys; i++) {
+                        row[i] = rs.getObject(orderColumns.get(i));
+                    }
+                    row[keys] = mapper.map(rs);
+                    rows.add(row);
+                }
+                shardTrace.hydrated();
+                return rows;
+            }
+        });
+
+        if (!fanOut) {
+            return (List<T>) (List<?>) results.get(0);
+        }
+        if (keys > 0) {
+            boolean[] descendingKeys = new boolean[keys];
+            for (int i = 0; i < keys; i++) {
+                descendingKeys[i] = descending.get(i);
+            }
+            Dialect dialect = connector.getDialect();
+            Comparator<String> stringOrder = connector.getShardRouter().getStringOrder();
+            return (List<T>) ShardMerge.merge(results, descendingKeys, dialect.sortsNullsFirst(),
+                    stringOrder != null ? stringOrder : dialect.getStringOrder(), offset, limit);
+        }
+
+        List<T> rows = new ArrayList<>();
+        for (List<Object> shardRows : results) {
+            rows.addAll((List<T>) shardRows);
+        }
+        if (limit >= 0) {
+            int from = Math.min(offset, rows.size());
+            return new ArrayList<>(rows.subList(from, Math.min(rows.size(), from + limit)));
+        }
+        return rows;
+    }
+
+    private PreparedStatement prepare(Connection connection, String sql, QueryTrace trace) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        try {
+            List<Object> placeholders = placeholderValues();
+            for (int i = 0; i < placeholders.size(); i++) {
+                ParameterBinders.bindValue(statement, i + 1, placeholders.get(i));
+            }
+        } catch (SQLException | RuntimeException e) {
+            statement.close();
+            throw e;
+        }
+        trace.bound();
+        return statement;
+    }
+
+    /**
+     * @return the values of the placeholders, those of <code>IN</code>
+     * conditions expanded
+     */
+    private List<Object> placeholderValues() {
+        List<Object> placeholders = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            if (values.get(i) instanceof List && operators.get(i).equals("IN")) {
+                placeholders.addAll((List<?>) values.get(i));
+            } else {
+                placeholders.add(values.get(i));
+            }
+        }
+        return placeholders;
+    }
+
+    /**
+     * Maps the current row of a result set.
+     */
+    @FunctionalInterface
+    private interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException, ReflectiveOperationException;
+    }
+
+    /**
+     * Resolves once per result set how its rows are mapped.
+     */
+    @FunctionalInterface
+    private interface RowMapperFactory<T> {
+        RowMapper<T> of(ResultSet rs, int columnCount) throws SQLException;
+    }
+}
@@ -0,0 +1,374 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps every row of a small model table in memory, see
+ * {@link Connector#resident(Class, String, String...)}. The rows are held in
+ * an immutable snapshot with a hash index per indexed column, which
+ * <code>find</code> and the <code>where</code> comparing an indexed column
+ * with <code>=</code> read without querying the database or taking a lock.
+ * They return copies of the resident models.
+ * <p>
+ * The snapshot is refreshed by polling the rows whose updated column is at
+ * least the last value seen, and replaced at once. Loads and refreshes run
+ * one at a time, so that a snapshot is never replaced by one built from
+ * older rows. Deleted rows are only
+ * removed by {@link #reload()}. Values are compared in memory with
+ * <code>equals</code>, so strings are matched with their case, whatever the
+ * collation of the column.
+ *
+ * @param <M> the model class
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public class ResidentTable<M extends Model> implements AutoCloseable {
+
+    private final Class<M> modelClass;
+    private final ModelMetadata metadata;
+    private final ColumnMetadata updatedColumn;
+    private final Map<String, ColumnMetadata> indexedColumns = new LinkedHashMap<>();
+
+    private volatile Snapshot<M> snapshot;
+    private volatile long refreshIntervalMillis = 1000;
+    private final ReentrantLock loading = new ReentrantLock();
+    private ScheduledExecutorService refresher;
+    private ScheduledFuture<?> periodicRefresh;
+
+    /**
+     * @param modelClass     the model class
+     * @param updatedColumn  the column set to the time of the last update of
+     *                       a row, or null to only reload the table
+     * @param indexedColumns the columns to index
+     * @throws IllegalArgumentException if a column is not a column of the
+     *                                  model
+     */
+    public ResidentTable(Class<M> modelClass, String updatedColumn, String... indexedColumns) {
+        this.modelClass = modelClass;
+        this.metadata = ModelMetadata.of(modelClass);
+        this.updatedColumn = updatedColumn == null ? null : columnOf(updatedColumn);
+        for (String column : indexedColumns) {
+            this.indexedColumns.put(column, columnOf(column));
+        }
+    }
+
+    private ColumnMetadata columnOf(String name) {
+        ColumnMetadata column = metadata.getColumn(name);
+        if (column == null) {
+            throw new IllegalArgumentException(name + " is not a column of " + modelClass.getName());
+        }
+        return column;
+    }
+
+    /**
+     * Loads the table and starts polling its updates.
+     */
+    public synchronized void start() {
+        reload();
+        if (refresher != null || updatedColumn == null) {
+            return;
+        }
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bjloquent-resident-" + modelClass.getSimpleName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        schedulePeriodicRefresh();
+    }
+
+    private void schedulePeriodicRefresh() {
+        periodicRefresh = refresher.scheduleWithFixedDelay(this::refresh, refreshIntervalMillis, refreshIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Loads every row of the table into a new snapshot. If the table could
+     * not be read, the previous snapshot is kept.
+     *
+     * @return whether the table was loaded
+     */
+    public boolean reload() {
+        loading.lock();
+        try {
+            List<M> models = Model.select(modelClass).load();
+            snapshot = new Snapshot<>(build(new LinkedHashMap<>(), models), watermarkOf(models, null), indexedColumns);
+            return true;
+        } catch (SQLException | ReflectiveOperationException e) {
+            Logger.getLogger(modelClass.getName()).log(Level.SEVERE, "Could not load the resident table of " + modelClass.getName(), e);
+            return false;
+        } finally {
+            loading.unlock();
+        }
+    }
+
+    /**
+     * Reads the rows updated since the last load or refresh, and replaces
+     * the snapshot if any row changed.
+     *
+     * @return the number of changed rows
+     */
+    public int refresh() {
+        loading.lock();
+        try {
+            return refreshLocked();
+        } finally {
+            loading.unlock();
+        }
+    }
+
+    private int refreshLocked() {
+        Snapshot<M> current = snapshot;
+        if (current == null) {
+            return reload() ? snapshot.rows.size() : 0;
+        }
+        if (updatedColumn == null) {
+            return 0;
+        }
+
+        try {
+            Query<M> query = Model.select(modelClass);
+            if (current.watermark != null) {
+                // Rows updated within the same instant as the watermark may have been committed since
+                query.where(updatedColumn.getName(), ">=", current.watermark);
+            }
+            List<M> changed = new ArrayList<>();
+            for (M model : query.load()) {
+                // The rows of the watermark instant are read again, most of them unchanged
+                if (!sameColumns(model, current.rows.get(keyOf(model)))) {
+                    changed.add(model);
+                }
+            }
+            if (changed.isEmpty()) {
+                return 0;
+            }
+            snapshot = new Snapshot<>(
+                    build(new LinkedHashMap<>(current.rows), changed),
+                    watermarkOf(changed, current.watermark),
+                    indexedColumns
+            );
+            return changed.size();
+        } catch (SQLException | ReflectiveOperationException | RuntimeException e) {
+            Logger.getLogger(modelClass.getName()).log(Level.SEVERE, "Could not refresh the resident table of " + modelClass.getName(), e);
+            return 0;
+        }
+    }
+
+    private boolean sameColumns(M model, M resident) {
+        if (resident == null) {
+            return false;
+        }
+        for (ColumnMetadata column : metadata.getColumns()) {
+            if (!Objects.deepEquals(column.get(model), column.get(resident))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Map<Object, M> build(Map<Object, M> rows, List<M> models) {
+        for (M model : models) {
+            rows.put(keyOf(model), model);
+        }
+        return rows;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object watermarkOf(List<M> models, Object watermark) {
+        if (updatedColumn == null) {
+            return null;
+        }
+        for (M model : models) {
+            Object updated = updatedColumn.get(model);
+            if (updated != null && (watermark == null || ((Comparable) updated).compareTo(watermark) > 0)) {
+                watermark = updated;
+            }
+        }
+        return watermark;
+    }
+
+    private Object keyOf(M model) {
+        List<ColumnMetadata> primaryKeys = metadata.getPrimaryKeys();
+        if (primaryKeys.size() == 1) {
+            return Utility.normalizeKey(primaryKeys.get(0).get(model));
+        }
+        Object[] values = new Object[primaryKeys.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Utility.normalizeKey(primaryKeys.get(i).get(model));
+        }
+        return Arrays.asList(values);
+    }
+
+    /**
+     * Finds a resident row by its single primary key.
+     *
+     * @param primaryKeyValue the value of the primary key
+     * @return a copy of the model, an empty model if there is no such row, or
+     * null if the table is not loaded
+     * @throws ReflectiveOperationException if the model could not be instantiated
+     */
+    M find(Object primaryKeyValue) throws ReflectiveOperationException {
+        Snapshot<M> current = snapshot;
+        if (current == null || metadata.getPrimaryKeys().size() != 1) {
+            return null;
+        }
+        M model = current.rows.get(Utility.normalizeKey(primaryKeyValue));
+        return model == null ? metadata.newInstance() : metadata.copy(model);
+    }
+
+    /**
+     * Answers a <code>where</code> from the snapshot, when every condition
+     * compares a column with <code>=</code> and one of them is indexed.
+     *
+     * @param columns   the columns to check
+     * @param operators the operators
+     * @param values    the values to check against
+     * @return copies of the matching models, or null if the conditions can not
+     * be answered in memory
+     * @throws ReflectiveOperationException if a model could not be instantiated
+     */
+    List<M> where(String[] columns, String[] operators, Object[] values) throws ReflectiveOperationException {
+        Snapshot<M> current = snapshot;
+        if (current == null) {
+            return null;
+        }
+
+        int indexed = -1;
+        ColumnMetadata[] compared = new ColumnMetadata[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            compared[i] = metadata.getColumn(columns[i]);
+            if (!operators[i].trim().equals("=") || compared[i] == null) {
+                return null;
+            }
+            if (indexed < 0 && indexedColumns.containsKey(columns[i])) {
+                indexed = i;
+            }
+        }
+        if (indexed < 0) {
+            return null;
+        }
+
+        if (values[indexed] == null) {
+            // As in the database, where = NULL is never true
+            return new ArrayList<>();
+        }
+        List<M> candidates = current.indexes.get(columns[indexed]).getOrDefault(Utility.normalizeKey(values[indexed]), Collections.<M>emptyList());
+        List<M> models = new ArrayList<>();
+        for (M candidate : candidates) {
+            boolean matches = true;
+            for (int i = 0; i < columns.length && matches; i++) {
+                Object value = Utility.normalizeKey(values[i]);
+                matches = i == indexed || value != null && value.equals(Utility.normalizeKey(compared[i].get(candidate)));
+            }
+            if (matches) {
+                models.add(metadata.copy(candidate));
+            }
+        }
+        return models;
+    }
+
+    /**
+     * Stops polling the updates of the table.
+     */
+    @Override
+    public synchronized void close() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+            refresher = null;
+            periodicRefresh = null;
+        }
+    }
+
+    public Class<M> getModelClass() {
+        return modelClass;
+    }
+
+    /**
+     * Sets how often the updates of the table are polled. A started table
+     * waits the new interval from now for its next refresh.
+     *
+     * @param interval the interval
+     * @param unit     the unit of the interval
+     */
+    public synchronized void setRefreshInterval(long interval, TimeUnit unit) {
+        this.refreshIntervalMillis = Math.max(1, unit.toMillis(interval));
+        if (periodicRefresh != null) {
+            periodicRefresh.cancel(false);
+            schedulePeriodicRefresh();
+        }
+    }
+
+    /**
+     * @return whether the table is loaded and answers the reads
+     */
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * @return the number of resident rows
+     */
+    public int size() {
+        Snapshot<M> current = snapshot;
+        return current == null ? 0 : current.rows.size();
+    }
+
+    /**
+     * The rows of the table at a point in time and their indexes, never
+     * modified once built.
+     */
+    private static final class Snapshot<M extends Model> {
+        private final Map<Object, M> rows;
+        private final Object watermark;
+        private final Map<String, Map<Object, List<M>>> indexes = new HashMap<>();
+
+        private Snapshot(Map<Object, M> rows, Object watermark, Map<String, ColumnMetadata> indexedColumns) {
+            this.rows = rows;
+            this.watermark = watermark;
+            for (Map.Entry<String, ColumnMetadata> column : indexedColumns.entrySet()) {
+                Map<Object, List<M>> index = new HashMap<>();
+                for (M model : rows.values()) {
+                    index.computeIfAbsent(Utility.normalizeKey(column.getValue().get(model)), key -> new ArrayList<>()).add(model);
+                }
+                indexes.put(column.getKey(), index);
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Merges the rows read from every shard, each shard having sorted its own
+ * rows, into a single sorted list. The merge must order the values as the
+ * shards did: nulls where the database puts them, and text by the collation
+ * of the sorted columns.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+final class ShardMerge {
+
+    private ShardMerge() {
+    }
+
+    /**
+     * @param shards      the rows of every shard, each row holding the values
+     *                    of the sorted columns followed by the mapped row
+     * @param descending  the direction of every sorted column
+     * @param nullsFirst  whether nulls come first in ascending order, as the
+     *                    shards sorted them
+     * @param stringOrder the order of text values, matching the collation
+     *                    the shards sorted them with
+     * @param offset      the number of merged rows to skip, only used with a
+     *                    limit
+     * @param limit       the maximum number of merged rows, -1 for every row
+     * @return the mapped rows, in order
+     */
+    static List<Object> merge(List<List<Object>> shards, boolean[] descending, boolean nullsFirst,
+                              Comparator<String> stringOrder, int offset, int limit) {
+        int keys = descending.length;
+        // Each entry is the shard and the position of its next row, equal rows
+        // are taken in shard order
+        PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(1, shards.size()), (first, second) -> {
+            int comparison = compare(
+                    (Object[]) shards.get(first[0]).get(first[1]),
+                    (Object[]) shards.get(second[0]).get(second[1]),
+                    descending,
+                    nullsFirst,
+                    stringOrder
+            );
+            return comparison != 0 ? comparison : Integer.compare(first[0], second[0]);
+        });
+        for (int i = 0; i < shards.size(); i++) {
+            if (!shards.get(i).isEmpty()) {
+                heads.add(new int[]{i, 0});
+            }
+        }
+
+        int skip = limit >= 0 ? offset : 0;
+        List<Object> merged = new ArrayList<>();
+        while (!heads.isEmpty() && (limit < 0 || merged.size() < limit)) {
+            int[] head = heads.poll();
+            List<Object> rows = shards.get(head[0]);
+            if (skip > 0) {
+                skip--;
+            } else {
+                merged.add(((Object[]) rows.get(head[1]))[keys]);
+            }
+            if (++head[1] < rows.size()) {
+                heads.add(head);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Compares two rows on their sorted columns. The position of nulls is
+     * given for the ascending order, the descending order reverses it as the
+     * database does.
+     */
+    @SuppressWarnings("unchecked")
+    private static int compare(Object[] first, Object[] second, boolean[] descending, boolean nullsFirst,
+                               Comparator<String> stringOrder) {
+        for (int i = 0; i < descending.length; i++) {
+            Object a = first[i];
+            Object b = second[i];
+            int comparison;
+            if (a == null || b == null) {
+                comparison = a == null ? (b == null ? 0 : -1) : 1;
+                if (!nullsFirst) {
+                    comparison = -comparison;
+                }
+            } else if (a instanceof String && b instanceof String) {
+                comparison = stringOrder.compare((String) a, (String) b);
+            } else {
+                comparison = ((Comparable<Object>) a).compareTo(b);
+            }
+            if (comparison != 0) {
+                return descending[i] ? -comparison : comparison;
+            }
+        }
+        return 0;
+    }
+}
@@ -25,6 +25,8 @@ package org.bjloquent;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
@@ -36,8 +38,26 @@ import java.util.logging.Logger;
  */
 public class Utility {
 
+    private static final ClassValue<String> tableNames = new ClassValue<String>() {
+        @Override
+        protected String computeValue(Class<?> cls) {
+            return cls.getSimpleName().toLowerCase() + "s";
+        }
+    };
+
     public static String tableOf(Object obj) {
-        return obj.getClass().getSimpleName().toLowerCase() + "s";
+        return tableOf(obj.getClass());
+    }
+
+    /**
+     * Gets the default table name of a class, its simple name in lower case
+     * and plural, computed once per class.
+     *
+     * @param cls the class
+     * @return the table name
+     */
+    public static String tableOf(Class<?> cls) {
+        return tableNames.get(cls);
     }
 
     /**
@@ -51,8 +71,6 @@ public class Utility {
      * @return a list of fields
      */
     public static List<Field> getFields(Method[] methods, Object invoker, boolean request, Object primaryKey) {
-        boolean isCompositePrimaryKey = primaryKey instanceof String[];
-
         List<Field> fields = new ArrayList<>();
         try {
             for (int i = methods.length - 1; i >= 0; i--) {
@@ -62,26 +80,10 @@ public class Utility {
                     Class<?> type = methods[i].getReturnType();
 
                     if (request || value != null) {
-                        if(isCompositePrimaryKey) {
-                            String[] keys = (String[]) primaryKey;
-                            boolean isPrimaryKey = false;
-                            for (String key : keys) {
-                                if (name.equals(key)) {
-                                    isPrimaryKey = true;
-                                    break;
-                                }
-                            }
-                            if (isPrimaryKey) {
-                                fields.add(0, new Field(name, value, type, true));
-                            } else {
-                                fields.add(new Field(name, value, type));
-                            }
+                        if (isPrimaryKey(name, primaryKey)) {
+                            fields.add(0, new Field(name, value, type, true));
                         } else {
-                            if (name.equals(primaryKey)) {
-                                fields.add(0, new Field(name, value, type, true));
-                            } else {
-                                fields.add(new Field(name, value, type));
-                            }
+                            fields.add(new Field(name, value, type));
                         }
                     }
                 }
@@ -93,6 +95,51 @@ public class Utility {
         return fields;
     }
 
+    /**
+     * Normalizes a value compared in memory with column values, integers of
+     * different types designating the same row.
+     *
+     * @param value the value
+     * @return the value to compare
+     */
+    public static Object normalizeKey(Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        return value;
+    }
+
+    /**
+     * Checks whether a field is part of the primary key
+     *
+     * @param name       the field name
+     * @param primaryKey the primary key of the table, a name or an array of
+     *                   names for composite keys
+     * @return true if the field is part of the primary key
+     */
+    static boolean isPrimaryKey(String name, Object primaryKey) {
+        if (primaryKey instanceof String[]) {
+            for (String key : (String[]) primaryKey) {
+                if (name.equals(key)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return name.equals(primaryKey);
+    }
+
+    /**
+     * Builds the setter name of a field, e.g. <code>address</code> will
+     * return <code>setAddress</code>.
+     *
+     * @param fieldName the field name
+     * @return the setter name
+     */
+    static String toSetterName(String fieldName) {
+        return "set" + fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
+    }
+
     /**
      * Removes the 'get' prefix of string and set its first character to lower
      * case, for example a string with <code>getAddress</code> as its value will
@@ -102,10 +149,52 @@ public class Utility {
      * @return a string without the 'get' prefix and its first character to
      * lower case.
      */
-    private static String toFieldName(String getterMethod) {
+    static String toFieldName(String getterMethod) {
         // eliminate get** Prefix
         char[] field = getterMethod.substring(3).toCharArray();
         field[0] = getterMethod.toLowerCase().charAt(3);
         return new String(field);
     }
+
+    /**
+     * Converts a number read from the database to the type of a field, e.g.
+     * a <code>BIGINT</code> value to an <code>int</code> field.
+     *
+     * @param value the number
+     * @param type  the type of the field
+     * @return the converted number, or the number itself for other types
+     */
+    static Object toNumber(Number value, Class<?> type) {
+        if (type == int.class || type == Integer.class) {
+            return value.intValue();
+        } else if (type == long.class || type == Long.class) {
+            return value.longValue();
+        } else if (type == double.class || type == Double.class) {
+            return value.doubleValue();
+        } else if (type == float.class || type == Float.class) {
+            return value.floatValue();
+        } else if (type == short.class || type == Short.class) {
+            return value.shortValue();
+        } else if (type == BigDecimal.class && !(value instanceof BigDecimal)) {
+            return new BigDecimal(value.toString());
+        }
+        return value;
+    }
+
+    /**
+     * @param value a number
+     * @return the opposite of the number, of the same type
+     */
+    static Number negate(Number value) {
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).negate();
+        } else if (value instanceof BigInteger) {
+            return ((BigInteger) value).negate();
+        } else if (value instanceof Double || value instanceof Float) {
+            return -value.doubleValue();
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return -value.intValue();
+        }
+        return -value.longValue();
+    }
 }
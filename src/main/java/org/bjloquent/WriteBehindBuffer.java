@@ -0,0 +1,288 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Buffers the saves of a model class and writes them later, in batches, see
+ * {@link Connector#writeBehind(Class)}. Saves of the same row made before a
+ * flush are coalesced into one update, carrying the last saved model.
+ * <p>
+ * Pending saves are flushed every flush interval, as soon as a batch is full,
+ * when the buffer is closed and when the JVM shuts down. Once the buffer
+ * holds its maximum number of rows, the thread saving waits for a flush
+ * instead of growing the buffer. Until a save is flushed, the database and
+ * the other reads do not see it; saves made in a transaction are written at
+ * once.
+ *
+ * @param <M> the model class
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public class WriteBehindBuffer<M extends Model> implements AutoCloseable {
+
+    private final Class<M> modelClass;
+    private final Map<List<Object>, M> pending = new LinkedHashMap<>();
+    private final ReentrantLock writing = new ReentrantLock();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicLong saved = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+
+    private volatile int batchSize = 500;
+    private volatile int maxPending = 10_000;
+    private volatile long flushIntervalMillis = 1000;
+    private volatile BiConsumer<List<M>, Exception> errorHandler = (models, e) -> Logger.getLogger(
+            WriteBehindBuffer.class.getName()).log(
+            Level.SEVERE,
+            "Could not write " + models.size() + " buffered model(s), they are dropped",
+            e
+    );
+
+    private ScheduledExecutorService flusher;
+    private ScheduledFuture<?> periodicFlush;
+    private Thread shutdownHook;
+
+    public WriteBehindBuffer(Class<M> modelClass) {
+        this.modelClass = modelClass;
+    }
+
+    /**
+     * Starts the background flusher.
+     */
+    public synchronized void start() {
+        if (flusher != null) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bjloquent-write-behind-" + modelClass.getSimpleName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        schedulePeriodicFlush();
+
+        shutdownHook = new Thread(this::flushQuietly, "bjloquent-write-behind-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    private void schedulePeriodicFlush() {
+        periodicFlush = flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Buffers the save of a model, replacing the pending save of the same row.
+     *
+     * @param model the saved model
+     */
+    public void offer(M model) {
+        List<Object> key = new ArrayList<>();
+        for (ColumnMetadata column : ModelMetadata.of(modelClass).getPrimaryKeys()) {
+            key.add(column.get(model));
+        }
+
+        int size;
+        synchronized (pending) {
+            pending.put(key, model);
+            size = pending.size();
+        }
+        saved.incrementAndGet();
+
+        if (size >= maxPending) {
+            // Back pressure, the buffer does not grow past its bound
+            flush();
+        } else if (size >= batchSize && flusher != null && flushScheduled.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushScheduled.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    /**
+     * Writes every pending save now, in batches.
+     *
+     * @return the number of written rows
+     */
+    public int flush() {
+        // A single flush at a time, so that an older save of a row is never written after a newer one
+        writing.lock();
+        try {
+            List<M> models;
+            synchronized (pending) {
+                if (pending.isEmpty()) {
+                    return 0;
+                }
+                models = new ArrayList<>(pending.values());
+                pending.clear();
+            }
+
+            int count = 0;
+            for (int from = 0; from < models.size(); from += batchSize) {
+                List<M> batch = models.subList(from, Math.min(models.size(), from + batchSize));
+                List<Model> conflicts = Model.saveBatches(batch, this::failed);
+                if (!conflicts.isEmpty()) {
+                    failed(conflicts, new OptimisticLockException(conflicts));
+                }
+                count += batch.size() - conflicts.size();
+            }
+            written.addAndGet(count);
+            return count;
+        } finally {
+            writing.unlock();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            Logger.getLogger(WriteBehindBuffer.class.getName()).log(Level.SEVERE, "Could not flush buffered models", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void failed(List<Model> models, Exception e) {
+        errorHandler.accept((List<M>) (List<?>) models, e);
+    }
+
+    /**
+     * Stops the flusher and writes the pending saves.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (flusher != null) {
+                flusher.shutdown();
+                try {
+                    flusher.awaitTermination(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                flusher = null;
+                periodicFlush = null;
+            }
+            if (shutdownHook != null) {
+                try {
+                    Runtime.getRuntime().removeShutdownHook(shutdownHook);
+                } catch (IllegalStateException e) {
+                    // The JVM is already shutting down, the hook flushes
+                }
+                shutdownHook = null;
+            }
+        }
+        flush();
+    }
+
+    public Class<M> getModelClass() {
+        return modelClass;
+    }
+
+    /**
+     * @param batchSize the number of rows per batch, a full batch being
+     *                  flushed without waiting for the interval
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @param maxPending the number of rows buffered before saving threads
+     *                   wait for a flush
+     */
+    public void setMaxPending(int maxPending) {
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("Maximum pending rows must be positive");
+        }
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Sets how often the pending saves are flushed. A started buffer waits
+     * the new interval from now for its next flush.
+     *
+     * @param interval the interval
+     * @param unit     the unit of the interval
+     */
+    public synchronized void setFlushInterval(long interval, TimeUnit unit) {
+        this.flushIntervalMillis = Math.max(1, unit.toMillis(interval));
+        if (periodicFlush != null) {
+            periodicFlush.cancel(false);
+            schedulePeriodicFlush();
+        }
+    }
+
+    /**
+     * Sets what is done with the models that could not be written, which are
+     * dropped from the buffer. The error is a {@link SQLException}, or an
+     * {@link OptimisticLockException} for versioned models. By default they
+     * are logged.
+     *
+     * @param errorHandler the handler, called on the flushing thread
+     */
+    public void setErrorHandler(BiConsumer<List<M>, Exception> errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * @return the number of rows waiting to be written
+     */
+    public int getPendingCount() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * @return the number of saves buffered since the buffer was created
+     */
+    public long getSavedCount() {
+        return saved.get();
+    }
+
+    /**
+     * @return the number of rows written since the buffer was created, the
+     * difference with {@link #getSavedCount()} being the coalesced saves
+     */
+    public long getWrittenCount() {
+        return written.get();
+    }
+}
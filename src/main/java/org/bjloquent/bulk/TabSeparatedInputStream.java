@@ -0,0 +1,175 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.bulk;
+
+import org.bjloquent.ColumnMetadata;
+import org.bjloquent.Model;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Serializes models into tab separated rows while the stream is read. Only
+ * one row is held in memory at a time, whatever the number of models.
+ * <p>
+ * The format is the one understood by both <code>LOAD DATA INFILE</code>
+ * and the PostgreSQL <code>COPY</code> text format: <code>\N</code> for null
+ * values, and backslash escapes for backslashes, tabs and line breaks.
+ * Binary columns have no common text form and are rejected.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public class TabSeparatedInputStream extends InputStream {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Iterator<? extends Model> models;
+    private final List<ColumnMetadata> columns;
+    private final StringBuilder row = new StringBuilder();
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private CharBuffer pending;
+
+    /**
+     * @param models  the models to serialize
+     * @param columns the columns to write, in order
+     */
+    public TabSeparatedInputStream(Iterator<? extends Model> models, List<ColumnMetadata> columns) {
+        for (ColumnMetadata column : columns) {
+            if (column.getType() == byte[].class) {
+                throw new IllegalArgumentException("Binary column " + column.getName() + " can not be bulk loaded");
+            }
+        }
+        this.models = models;
+        this.columns = columns;
+        buffer.flip();
+    }
+
+    @Override
+    public int read() {
+        if (!buffer.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        if (!buffer.hasRemaining() && !fill()) {
+            return -1;
+        }
+
+        int read = Math.min(length, buffer.remaining());
+        buffer.get(bytes, offset, read);
+        return read;
+    }
+
+    /**
+     * Encodes the next rows into the buffer.
+     *
+     * @return false once every model has been written
+     */
+    private boolean fill() {
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            if (pending == null || !pending.hasRemaining()) {
+                if (!models.hasNext()) {
+                    break;
+                }
+                nextRow(models.next());
+                encoder.reset();
+                pending = CharBuffer.wrap(row);
+            }
+
+            encoder.encode(pending, buffer, true);
+            if (pending.hasRemaining()) {
+                // The buffer is full, the rest of the row goes in the next fill
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer.hasRemaining();
+    }
+
+    private void nextRow(Model model) {
+        row.setLength(0);
+        for (int i = 0; i < columns.size(); i++) {
+            appendValue(columns.get(i).get(model));
+            row.append((i + 1) < columns.size() ? '\t' : '\n');
+        }
+    }
+
+    private void appendValue(Object value) {
+        if (value == null) {
+            row.append("\\N");
+            return;
+        }
+        if (value instanceof Boolean) {
+            row.append((Boolean) value ? '1' : '0');
+            return;
+        }
+        if (value instanceof BigDecimal) {
+            row.append(((BigDecimal) value).toPlainString());
+            return;
+        }
+        if (value instanceof Number) {
+            row.append(value);
+            return;
+        }
+
+        String text = value.toString();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\':
+                    row.append("\\\\");
+                    break;
+                case '\t':
+                    row.append("\\t");
+                    break;
+                case '\n':
+                    row.append("\\n");
+                    break;
+                case '\r':
+                    row.append("\\r");
+                    break;
+                default:
+                    row.append(c);
+            }
+        }
+    }
+}
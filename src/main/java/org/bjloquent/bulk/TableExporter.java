@@ -0,0 +1,403 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.bulk;
+
+import org.bjloquent.Connector;
+import org.bjloquent.Model;
+import org.bjloquent.ModelMetadata;
+import org.bjloquent.dialect.Dialect;
+import org.bjloquent.instrumentation.QueryTrace;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams a model table into a file. Rows are read from a server side
+ * cursor and written straight from the result set, without instantiating any
+ * model, through a reusable direct buffer.
+ * <p>
+ * An exporter reuses its buffers between exports, use one exporter per
+ * thread.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public class TableExporter {
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final int ROWS_BUFFER_SIZE = 16 * 1024;
+
+    private static final int TEXT = 0;
+    private static final int INTEGER = 1;
+    private static final int DECIMAL = 2;
+    private static final int BOOLEAN = 3;
+
+    private final ExportFormat format;
+    private boolean gzip = false;
+    private int fetchSize = 1000;
+
+    private final StringBuilder rows = new StringBuilder(ROWS_BUFFER_SIZE * 2);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    public TableExporter(ExportFormat format) {
+        this.format = format;
+    }
+
+    public ExportFormat getFormat() {
+        return format;
+    }
+
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    /**
+     * @param gzip whether the file is gzip compressed
+     */
+    public void setGzip(boolean gzip) {
+        this.gzip = gzip;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * @param fetchSize the number of rows fetched per round trip, for drivers
+     *                  fetching by blocks
+     */
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Exports every row of a model table into a file, replacing it if it
+     * already exists.
+     *
+     * @param modelClass The class of the model
+     * @param path       The file to write
+     * @return The number of exported rows, or -1 if the export failed
+     */
+    public long export(Class<? extends Model> modelClass, Path path) {
+        Connector connector = Connector.getInstance();
+        Dialect dialect = connector.getDialect();
+        String tableName = ModelMetadata.of(modelClass).getTableName();
+        String sql = "SELECT * FROM " + dialect.quote(tableName);
+        if (connector.isSharded(modelClass)) {
+            Logger.getLogger(TableExporter.class.getName()).log(
+                    Level.SEVERE,
+                    "Exporting is not supported for sharded models"
+            );
+            return -1;
+        }
+
+        QueryTrace trace = connector.trace(sql);
+        Connection connection;
+        try {
+            connection = connector.openForRead();
+        } catch (SQLException e) {
+            trace.fail(e);
+            Logger.getLogger(TableExporter.class.getName()).log(
+                    Level.SEVERE,
+                    "Could not connect to export table " + tableName,
+                    e
+            );
+            return -1;
+        }
+        trace.connected();
+        long count = 0;
+        rows.setLength(0);
+        buffer.clear();
+
+        try (FileChannel file = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE
+        );
+             WritableByteChannel output = gzip
+                     ? Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(file), BUFFER_SIZE))
+                     : file;
+             Statement statement = connection.createStatement()) {
+
+            boolean autoCommit = connection.getAutoCommit();
+            try {
+                dialect.stream(statement, fetchSize);
+                trace.bound();
+                try (ResultSet rs = statement.executeQuery(sql)) {
+                    trace.executed();
+                    ResultSetMetaData metaData = rs.getMetaData();
+                    int columnCount = metaData.getColumnCount();
+                    int[] kinds = new int[columnCount];
+                    String[] names = new String[columnCount];
+                    for (int i = 0; i < columnCount; i++) {
+                        kinds[i] = kindOf(metaData.getColumnType(i + 1));
+                        names[i] = metaData.getColumnLabel(i + 1);
+                    }
+
+                    if (format == ExportFormat.CSV) {
+                        writeCsvHeader(names);
+                    } else {
+                        // Keys are escaped once, not for every row
+                        for (int i = 0; i < columnCount; i++) {
+                            rows.setLength(0);
+                            appendJsonString(names[i]);
+                            names[i] = (i == 0 ? "{" : ",") + rows + ":";
+                        }
+                        rows.setLength(0);
+                    }
+
+                    while (rs.next()) {
+                        if (format == ExportFormat.CSV) {
+                            writeCsvRow(rs, kinds);
+                        } else {
+                            writeJsonRow(rs, kinds, names);
+                        }
+                        count++;
+
+                        if (rows.length() >= ROWS_BUFFER_SIZE) {
+                            encode(output);
+                        }
+                    }
+                }
+
+                encode(output);
+                drain(output);
+                // Writing the file is what happens to the rows instead of hydration
+                trace.hydrated();
+                trace.finish(count);
+            } finally {
+                if (connection.getAutoCommit() != autoCommit) {
+                    connection.commit();
+                    connection.setAutoCommit(autoCommit);
+                }
+            }
+        } catch (SQLException | IOException e) {
+            trace.fail(e);
+            Logger.getLogger(TableExporter.class.getName()).log(
+                    Level.SEVERE,
+                    "Could not export table " + tableName + " to " + path,
+                    e
+            );
+            return -1;
+        } finally {
+            connector.release(connection);
+        }
+
+        return count;
+    }
+
+    private static int kindOf(int sqlType) {
+        switch (sqlType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+                return INTEGER;
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                return DECIMAL;
+            case Types.BIT:
+            case Types.BOOLEAN:
+                return BOOLEAN;
+            default:
+                return TEXT;
+        }
+    }
+
+    private void writeCsvHeader(String[] names) {
+        for (int i = 0; i < names.length; i++) {
+            appendCsvString(names[i]);
+            rows.append((i + 1) < names.length ? ',' : '\n');
+        }
+    }
+
+    private void writeCsvRow(ResultSet rs, int[] kinds) throws SQLException {
+        for (int i = 0; i < kinds.length; i++) {
+            int column = i + 1;
+            switch (kinds[i]) {
+                case INTEGER:
+                    long integer = rs.getLong(column);
+                    if (!rs.wasNull()) {
+                        rows.append(integer);
+                    }
+                    break;
+                case BOOLEAN:
+                    boolean bool = rs.getBoolean(column);
+                    if (!rs.wasNull()) {
+                        rows.append(bool);
+                    }
+                    break;
+                default:
+                    String text = rs.getString(column);
+                    if (text != null) {
+                        appendCsvString(text);
+                    }
+            }
+            rows.append((i + 1) < kinds.length ? ',' : '\n');
+        }
+    }
+
+    private void writeJsonRow(ResultSet rs, int[] kinds, String[] keys) throws SQLException {
+        for (int i = 0; i < kinds.length; i++) {
+            int column = i + 1;
+            rows.append(keys[i]);
+            switch (kinds[i]) {
+                case INTEGER:
+                    long integer = rs.getLong(column);
+                    if (rs.wasNull()) {
+                        rows.append("null");
+                    } else {
+                        rows.append(integer);
+                    }
+                    break;
+                case BOOLEAN:
+                    boolean bool = rs.getBoolean(column);
+                    if (rs.wasNull()) {
+                        rows.append("null");
+                    } else {
+                        rows.append(bool);
+                    }
+                    break;
+                case DECIMAL:
+                    String number = rs.getString(column);
+                    if (number == null || number.equals("NaN") || number.contains("Infinity")) {
+                        rows.append("null");
+                    } else {
+                        rows.append(number);
+                    }
+                    break;
+                default:
+                    String text = rs.getString(column);
+                    if (text == null) {
+                        rows.append("null");
+                    } else {
+                        appendJsonString(text);
+                    }
+            }
+        }
+        rows.append("}\n");
+    }
+
+    private void appendCsvString(String text) {
+        boolean quoted = false;
+        for (int i = 0; i < text.length() && !quoted; i++) {
+            char c = text.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+
+        if (!quoted) {
+            rows.append(text);
+            return;
+        }
+
+        rows.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                rows.append('"');
+            }
+            rows.append(c);
+        }
+        rows.append('"');
+    }
+
+    private void appendJsonString(String text) {
+        rows.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"':
+                    rows.append("\\\"");
+                    break;
+                case '\\':
+                    rows.append("\\\\");
+                    break;
+                case '\n':
+                    rows.append("\\n");
+                    break;
+                case '\r':
+                    rows.append("\\r");
+                    break;
+                case '\t':
+                    rows.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        rows.append("\\u00");
+                        rows.append(Character.forDigit(c >> 4, 16));
+                        rows.append(Character.forDigit(c & 0xF, 16));
+                    } else {
+                        rows.append(c);
+                    }
+            }
+        }
+        rows.append('"');
+    }
+
+    /**
+     * Encodes the pending rows into the direct buffer, writing the buffer to
+     * the file each time it is full.
+     */
+    private void encode(WritableByteChannel output) throws IOException {
+        CharBuffer chars = CharBuffer.wrap(rows);
+        encoder.reset();
+        while (encoder.encode(chars, buffer, true).isOverflow()) {
+            drain(output);
+        }
+        rows.setLength(0);
+    }
+
+    private void drain(WritableByteChannel output) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            output.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.cache;
+
+import org.bjloquent.ColumnMetadata;
+import org.bjloquent.Model;
+import org.bjloquent.ModelMetadata;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes the columns of a model into a compact binary row, and back. The
+ * layout is resolved once from the model metadata: a bitmap of the null
+ * columns, then every non null column in order, primitives with their fixed
+ * size and variable values prefixed with their length. Neither the column
+ * names nor the types are written, so a row is only readable by the codec
+ * of the same model class.
+ * <p>
+ * Columns without setter are not encoded, as they could not be decoded.
+ *
+ * @param <M> the model class
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public class ModelCodec<M extends Model> {
+
+    private final ModelMetadata metadata;
+    private final ColumnMetadata[] columns;
+    private final ValueCodec[] codecs;
+    private final int bitmapBytes;
+
+    /**
+     * @param modelClass the model class
+     * @throws IllegalArgumentException if a column has a type without codec
+     */
+    public ModelCodec(Class<M> modelClass) {
+        this.metadata = ModelMetadata.of(modelClass);
+        List<ColumnMetadata> encoded = new ArrayList<>();
+        for (ColumnMetadata column : metadata.getColumns()) {
+            if (column.getReader() != null) {
+                encoded.add(column);
+            }
+        }
+        this.columns = encoded.toArray(new ColumnMetadata[0]);
+        this.codecs = new ValueCodec[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            codecs[i] = codecOf(columns[i]);
+        }
+        this.bitmapBytes = (columns.length + 7) / 8;
+    }
+
+    /**
+     * Writes a model at the position of a buffer.
+     *
+     * @param model the model
+     * @param out   the buffer, its position being moved after the row
+     * @throws java.nio.BufferOverflowException if the row does not fit
+     */
+    public void encode(M model, ByteBuffer out) {
+        int bitmap = out.position();
+        for (int i = 0; i < bitmapBytes; i++) {
+            out.put((byte) 0);
+        }
+        for (int i = 0; i < columns.length; i++) {
+            Object value = columns[i].get(model);
+            if (value == null) {
+                out.put(bitmap + i / 8, (byte) (out.get(bitmap + i / 8) | 1 << (i % 8)));
+            } else {
+                codecs[i].write(out, value);
+            }
+        }
+    }
+
+    /**
+     * Reads a model at the position of a buffer.
+     *
+     * @param in the buffer, its position being moved after the row
+     * @return a new model
+     */
+    public M decode(ByteBuffer in) {
+        M model;
+        try {
+            model = metadata.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not instantiate model " + metadata.getModelClass().getName(), e);
+        }
+
+        int bitmap = in.position();
+        in.position(bitmap + bitmapBytes);
+        for (int i = 0; i < columns.length; i++) {
+            if ((in.get(bitmap + i / 8) & 1 << (i % 8)) == 0) {
+                columns[i].set(model, codecs[i].read(in));
+            }
+        }
+        return model;
+    }
+
+    private static ValueCodec codecOf(ColumnMetadata column) {
+        Class<?> type = column.getType();
+        if (type == int.class || type == Integer.class) {
+            return new ValueCodec((out, value) -> out.putInt((Integer) value), ByteBuffer::getInt);
+        } else if (type == long.class || type == Long.class) {
+            return new ValueCodec((out, value) -> out.putLong((Long) value), ByteBuffer::getLong);
+        } else if (type == double.class || type == Double.class) {
+            return new ValueCodec((out, value) -> out.putDouble((Double) value), ByteBuffer::getDouble);
+        } else if (type == float.class || type == Float.class) {
+            return new ValueCodec((out, value) -> out.putFloat((Float) value), ByteBuffer::getFloat);
+        } else if (type == boolean.class || type == Boolean.class) {
+            return new ValueCodec((out, value) -> out.put((byte) ((Boolean) value ? 1 : 0)), in -> in.get() != 0);
+        } else if (type == short.class || type == Short.class) {
+            return new ValueCodec((out, value) -> out.putShort((Short) value), ByteBuffer::getShort);
+        } else if (type == byte.class || type == Byte.class) {
+            return new ValueCodec((out, value) -> out.put((Byte) value), ByteBuffer::get);
+        } else if (type == String.class) {
+            return new ValueCodec(
+                    (out, value) -> writeBytes(out, ((String) value).getBytes(StandardCharsets.UTF_8)),
+                    in -> new String(readBytes(in), StandardCharsets.UTF_8)
+            );
+        } else if (type == Timestamp.class) {
+            return new ValueCodec((out, value) -> {
+                Timestamp timestamp = (Timestamp) value;
+                out.putLong(timestamp.getTime());
+                out.putInt(timestamp.getNanos());
+            }, in -> {
+                Timestamp timestamp = new Timestamp(in.getLong());
+                timestamp.setNanos(in.getInt());
+                return timestamp;
+            });
+        } else if (type == Date.class) {
+            return new ValueCodec((out, value) -> out.putLong(((Date) value).getTime()), in -> new Date(in.getLong()));
+        } else if (type == Time.class) {
+            return new ValueCodec((out, value) -> out.putLong(((Time) value).getTime()), in -> new Time(in.getLong()));
+        } else if (type == BigDecimal.class) {
+            return new ValueCodec((out, value) -> {
+                BigDecimal decimal = (BigDecimal) value;
+                out.putInt(decimal.scale());
+                writeBytes(out, decimal.unscaledValue().toByteArray());
+            }, in -> {
+                int scale = in.getInt();
+                return new BigDecimal(new BigInteger(readBytes(in)), scale);
+            });
+        } else if (type == byte[].class) {
+            return new ValueCodec((out, value) -> writeBytes(out, (byte[]) value), ModelCodec::readBytes);
+        }
+        throw new IllegalArgumentException("Column " + column.getName() + " of type " + type.getName() + " can not be encoded");
+    }
+
+    private static void writeBytes(ByteBuffer out, byte[] bytes) {
+        // Lengths below 128 take a single byte
+        int length = bytes.length;
+        while (length >= 0x80) {
+            out.put((byte) (length | 0x80));
+            length >>>= 7;
+        }
+        out.put((byte) length);
+        out.put(bytes);
+    }
+
+    private static byte[] readBytes(ByteBuffer in) {
+        int length = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            length |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return bytes;
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(ByteBuffer out, Object value);
+    }
+
+    @FunctionalInterface
+    private interface Reader {
+        Object read(ByteBuffer in);
+    }
+
+    /**
+     * Writes and reads the values of a column type.
+     */
+    private static final class ValueCodec {
+        private final Writer writer;
+        private final Reader reader;
+
+        ValueCodec(Writer writer, Reader reader) {
+            this.writer = writer;
+            this.reader = reader;
+        }
+
+        void write(ByteBuffer out, Object value) {
+            writer.write(out, value);
+        }
+
+        Object read(ByteBuffer in) {
+            return reader.read(in);
+        }
+    }
+}
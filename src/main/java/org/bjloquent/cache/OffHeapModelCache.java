@@ -0,0 +1,277 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.cache;
+
+import org.bjloquent.ColumnMetadata;
+import org.bjloquent.Model;
+import org.bjloquent.ModelMetadata;
+import org.bjloquent.Utility;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Caches models encoded by a {@link ModelCodec} in direct buffers, out of
+ * the Java heap. A cached model only costs an index entry on the heap, the
+ * model is decoded again on every {@link #get(Object)}, which returns a new
+ * instance.
+ * <p>
+ * Rows are appended to fixed size slabs. Once every slab is full, the
+ * oldest slab is emptied and its rows evicted, whether they were read or
+ * not, so the cache never uses more than its capacity. Putting a row again
+ * appends it, the space of the previous row being reclaimed when its slab
+ * is evicted.
+ *
+ * @param <M> the model class
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public class OffHeapModelCache<M extends Model> {
+
+    private final ModelCodec<M> codec;
+    private final List<ColumnMetadata> primaryKeys;
+    private final ByteBuffer[] slabs;
+    private final List<List<Object>> slabKeys = new ArrayList<>();
+    private final Map<Object, Long> index = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private long evictions;
+    private int current;
+
+    /**
+     * @param modelClass the model class
+     * @param capacity   the number of bytes of the cache
+     * @param slabSize   the number of bytes of a slab, bounding the size of
+     *                   a row and the number of bytes evicted at once
+     */
+    public OffHeapModelCache(Class<M> modelClass, long capacity, int slabSize) {
+        if (slabSize <= 0 || capacity < slabSize) {
+            throw new IllegalArgumentException("Capacity must hold at least one slab");
+        }
+        this.codec = new ModelCodec<>(modelClass);
+        this.primaryKeys = ModelMetadata.of(modelClass).getPrimaryKeys();
+        if (primaryKeys.isEmpty()) {
+            throw new IllegalArgumentException("Model must have at least one primary key");
+        }
+
+        int count = (int) Math.min(Integer.MAX_VALUE, capacity / slabSize);
+        this.slabs = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            slabKeys.add(new ArrayList<>());
+        }
+        slabs[0] = ByteBuffer.allocateDirect(slabSize);
+    }
+
+    /**
+     * Caches a model under its primary key, a list of values for a
+     * composite primary key.
+     *
+     * @param model the model
+     * @return false if the model does not fit in a slab
+     */
+    public boolean put(M model) {
+        Object key = keyOf(model);
+        lock.writeLock().lock();
+        try {
+            for (int attempt = 0; attempt < 2; attempt++) {
+                ByteBuffer slab = slabs[current];
+                int start = slab.position();
+                if (slab.remaining() < Integer.BYTES) {
+                    // Not even room for the length, moving the position past the limit would throw
+                    nextSlab();
+                    continue;
+                }
+                try {
+                    // Each row is prefixed with its length
+                    slab.position(start + Integer.BYTES);
+                    codec.encode(model, slab);
+                    slab.putInt(start, slab.position() - start - Integer.BYTES);
+                } catch (BufferOverflowException e) {
+                    slab.position(start);
+                    if (start == 0) {
+                        return false;
+                    }
+                    nextSlab();
+                    continue;
+                }
+                slabKeys.get(current).add(key);
+                index.put(key, (long) current << 32 | start);
+                return true;
+            }
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Decodes a cached model.
+     *
+     * @param key the primary key, a list of values for a composite primary
+     *            key
+     * @return a new model, or null if the key is not cached
+     */
+    public M get(Object key) {
+        lock.readLock().lock();
+        try {
+            Long location = index.get(normalize(key));
+            if (location == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+            hits.incrementAndGet();
+            ByteBuffer row = slabs[(int) (location >>> 32)].duplicate();
+            row.position((int) location.longValue() + Integer.BYTES);
+            return codec.decode(row);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a model from the cache, its row is reclaimed with its slab.
+     *
+     * @param key the primary key, a list of values for a composite primary
+     *            key
+     */
+    public void invalidate(Object key) {
+        index.remove(normalize(key));
+    }
+
+    /**
+     * Removes every model and empties the slabs.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            index.clear();
+            for (int i = 0; i < slabs.length; i++) {
+                if (slabs[i] != null) {
+                    slabs[i].clear();
+                }
+                slabKeys.get(i).clear();
+            }
+            current = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void nextSlab() {
+        current = (current + 1) % slabs.length;
+        if (slabs[current] == null) {
+            slabs[current] = ByteBuffer.allocateDirect(slabs[0].capacity());
+            return;
+        }
+
+        // The oldest slab is reused, its rows are evicted
+        long slabBits = (long) current << 32;
+        for (Object key : slabKeys.get(current)) {
+            Long location = index.get(key);
+            if (location != null && (location & 0xFFFFFFFF00000000L) == slabBits && index.remove(key, location)) {
+                evictions++;
+            }
+        }
+        slabKeys.get(current).clear();
+        slabs[current].clear();
+    }
+
+    private Object keyOf(M model) {
+        if (primaryKeys.size() == 1) {
+            return Utility.normalizeKey(primaryKeys.get(0).get(model));
+        }
+        Object[] values = new Object[primaryKeys.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Utility.normalizeKey(primaryKeys.get(i).get(model));
+        }
+        return Arrays.asList(values);
+    }
+
+    /**
+     * Normalizes a key given by the caller like the keys read on the models,
+     * an int key finding the model cached with a long key.
+     */
+    private static Object normalize(Object key) {
+        if (!(key instanceof List)) {
+            return Utility.normalizeKey(key);
+        }
+        List<?> values = (List<?>) key;
+        List<Object> normalized = new ArrayList<>(values.size());
+        for (Object value : values) {
+            normalized.add(Utility.normalizeKey(value));
+        }
+        return normalized;
+    }
+
+    /**
+     * @return the number of cached models
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * @return the number of bytes allocated by the slabs
+     */
+    public long getAllocatedBytes() {
+        lock.readLock().lock();
+        try {
+            long allocated = 0;
+            for (ByteBuffer slab : slabs) {
+                allocated += slab == null ? 0 : slab.capacity();
+            }
+            return allocated;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of models evicted with their slab
+     */
+    public long getEvictionCount() {
+        lock.readLock().lock();
+        try {
+            return evictions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
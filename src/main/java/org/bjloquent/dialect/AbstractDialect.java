@@ -0,0 +1,253 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.dialect;
+
+import org.bjloquent.LockMode;
+import org.bjloquent.schema.ColumnType;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+/**
+ * Standard SQL shared by every dialect.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public abstract class AbstractDialect implements Dialect {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_$]*");
+
+    /**
+     * @return the character opening and closing a quoted identifier
+     */
+    protected abstract char getQuoteCharacter();
+
+    @Override
+    public Properties getConnectionProperties() {
+        return new Properties();
+    }
+
+    @Override
+    public Properties getBulkLoadProperties() {
+        return new Properties();
+    }
+
+    @Override
+    public String quote(String identifier) {
+        if (identifier.indexOf('.') > 0) {
+            String[] parts = identifier.split("\\.");
+            StringBuilder quoted = new StringBuilder();
+            for (int i = 0; i < parts.length; i++) {
+                quoted.append(quote(parts[i]));
+                if ((i + 1) < parts.length) {
+                    quoted.append(".");
+                }
+            }
+            return quoted.toString();
+        }
+
+        if (!IDENTIFIER.matcher(identifier).matches()) {
+            return identifier;
+        }
+
+        char quote = getQuoteCharacter();
+        return quote + identifier + quote;
+    }
+
+    /**
+     * Joins quoted columns with a comma.
+     *
+     * @param columns the columns
+     * @return the column list
+     */
+    protected String columnList(List<String> columns) {
+        StringBuilder list = new StringBuilder();
+        for (int i = 0; i < columns.size(); i++) {
+            list.append(quote(columns.get(i)));
+            if ((i + 1) < columns.size()) {
+                list.append(", ");
+            }
+        }
+        return list.toString();
+    }
+
+    @Override
+    public String insert(String table, List<String> columns, int rows) {
+        StringBuilder group = new StringBuilder("(");
+        for (int i = 0; i < columns.size(); i++) {
+            group.append("?");
+            if ((i + 1) < columns.size()) {
+                group.append(", ");
+            }
+        }
+        group.append(")");
+
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(quote(table))
+                .append(" (").append(columnList(columns)).append(") VALUES ");
+        for (int i = 0; i < rows; i++) {
+            sql.append(group);
+            if ((i + 1) < rows) {
+                sql.append(", ");
+            }
+        }
+        return sql.toString();
+    }
+
+    @Override
+    public String limit(String sql, int limit, int offset) {
+        if (offset > 0) {
+            return sql + " LIMIT " + limit + " OFFSET " + offset;
+        }
+        return sql + " LIMIT " + limit;
+    }
+
+    @Override
+    public String increment(String table, String column, String condition) {
+        return "UPDATE " + quote(table) + " SET " + quote(column) + " = " + quote(column) + " + ? WHERE " + condition;
+    }
+
+    @Override
+    public Number incrementAndGet(Connection connection, String table, String column, String condition,
+                                  List<Object> values, Number delta) throws SQLException {
+        String sql = returning(increment(table, column, condition), Collections.singletonList(column));
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            bindIncrement(statement, values, delta);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? (Number) rs.getObject(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Binds the delta then the values of the condition of an increment.
+     *
+     * @param statement the increment statement
+     * @param values    the values of the condition
+     * @param delta     the delta
+     * @throws SQLException if a value can not be bound
+     */
+    protected void bindIncrement(PreparedStatement statement, List<Object> values, Number delta) throws SQLException {
+        statement.setObject(1, delta);
+        for (int i = 0; i < values.size(); i++) {
+            statement.setObject(i + 2, values.get(i));
+        }
+    }
+
+    @Override
+    public String lock(String sql, LockMode mode) {
+        switch (mode) {
+            case UPDATE_SKIP_LOCKED:
+                return sql + " FOR UPDATE SKIP LOCKED";
+            case UPDATE_NOWAIT:
+                return sql + " FOR UPDATE NOWAIT";
+            default:
+                return sql + " FOR UPDATE";
+        }
+    }
+
+    @Override
+    public void stream(Statement statement, int fetchSize) throws SQLException {
+        statement.setFetchSize(fetchSize);
+    }
+
+    @Override
+    public boolean supportsReturning() {
+        return false;
+    }
+
+    @Override
+    public String returning(String sql, List<String> columns) {
+        return sql + " RETURNING " + columnList(columns);
+    }
+
+    @Override
+    public String columnType(ColumnType type, int length, int scale) {
+        switch (type) {
+            case INTEGER:
+                return "INTEGER";
+            case BIG_INTEGER:
+                return "BIGINT";
+            case SMALL_INTEGER:
+                return "SMALLINT";
+            case BOOLEAN:
+                return "BOOLEAN";
+            case DECIMAL:
+                return "DECIMAL(" + length + ", " + scale + ")";
+            case DOUBLE:
+                return "DOUBLE PRECISION";
+            case STRING:
+                return "VARCHAR(" + length + ")";
+            case TEXT:
+                return "TEXT";
+            case UUID:
+                return "CHAR(36)";
+            case DATE:
+                return "DATE";
+            case TIMESTAMP:
+                return "TIMESTAMP";
+            default:
+                throw new IllegalArgumentException("Column type " + type + " is not supported by " + getClass().getSimpleName());
+        }
+    }
+
+    @Override
+    public List<String> createTable(String table, List<String> definitions, String engine, String partitionColumn, int partitions) {
+        return Collections.singletonList("CREATE TABLE " + quote(table) + " (" + String.join(", ", definitions) + ")");
+    }
+
+    @Override
+    public String dropIndex(String table, String index) {
+        return "DROP INDEX " + quote(index);
+    }
+
+    @Override
+    public PreparedStatement prepareCountedBatch(Connection connection, String sql) throws SQLException {
+        return connection.prepareStatement(sql);
+    }
+
+    /**
+     * Prepares <code>EXPLAIN</code> followed by a statement.
+     *
+     * @param connection the connection
+     * @param sql        the statement
+     * @param values     the values of its placeholders
+     * @return the explain statement, to be closed by the caller
+     * @throws SQLException if the statement can not be prepared
+     */
+    protected PreparedStatement explain(Connection connection, String sql, List<Object> values) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+        for (int i = 0; i < values.size(); i++) {
+            statement.setObject(i + 1, values.get(i));
+        }
+        return statement;
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.dialect;
+
+import org.bjloquent.LockMode;
+import org.bjloquent.schema.ColumnType;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Describes the SQL flavour spoken by a database. Every statement built by
+ * the models goes through the dialect of the configured
+ * {@link org.bjloquent.DatabaseType}.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public interface Dialect {
+
+    /**
+     * @return the JDBC driver class name
+     */
+    public String getDriverClassName();
+
+    /**
+     * @return the JDBC url prefix, e.g. <code>jdbc:mysql://</code>
+     */
+    public String getUrlPrefix();
+
+    /**
+     * Driver properties added to every connection, mostly the flags that let
+     * the driver rewrite JDBC batches into multi-row statements.
+     *
+     * @return the connection properties
+     */
+    public Properties getConnectionProperties();
+
+    /**
+     * Driver properties added on top of the connection properties, only to
+     * the connection opened by a bulk load. Flags letting the server read
+     * client files belong here rather than on every connection.
+     *
+     * @return the bulk load connection properties
+     */
+    public Properties getBulkLoadProperties();
+
+    /**
+     * Quotes an identifier. Anything that is not a plain identifier (an
+     * expression, an already quoted name, etc.) is returned untouched.
+     *
+     * @param identifier a table or column name
+     * @return the quoted identifier
+     */
+    public String quote(String identifier);
+
+    /**
+     * Builds an insert statement with one placeholder group per row.
+     *
+     * @param table   the table name
+     * @param columns the columns to insert
+     * @param rows    the number of rows
+     * @return the insert statement
+     */
+    public String insert(String table, List<String> columns, int rows);
+
+    /**
+     * Builds an insert statement updating the non key columns when a row with
+     * the same key already exists.
+     *
+     * @param table      the table name
+     * @param columns    the columns to insert
+     * @param keyColumns the columns of the unique key
+     * @return the upsert statement
+     */
+    public String upsert(String table, List<String> columns, List<String> keyColumns);
+
+    /**
+     * Appends a limit and an offset to a select statement.
+     *
+     * @param sql    the select statement
+     * @param limit  the maximum number of rows
+     * @param offset the number of rows to skip
+     * @return the limited statement
+     */
+    public String limit(String sql, int limit, int offset);
+
+    /**
+     * Builds the statement adding a delta to a column, its first placeholder
+     * being the delta followed by those of the condition.
+     *
+     * @param table     the table name
+     * @param column    the column to increment
+     * @param condition the condition selecting the rows, with placeholders
+     * @return the statement
+     */
+    public String increment(String table, String column, String condition);
+
+    /**
+     * Adds a delta to a column of the row matching a condition and reads its
+     * new value back, atomically.
+     *
+     * @param connection the connection
+     * @param table      the table name
+     * @param column     the column to increment
+     * @param condition  the condition selecting a single row, with placeholders
+     * @param values     the values of the placeholders of the condition
+     * @param delta      the delta, negative to decrement
+     * @return the new value, or null if no row matched
+     * @throws SQLException if the statement fails
+     */
+    public Number incrementAndGet(Connection connection, String table, String column, String condition,
+                                  List<Object> values, Number delta) throws SQLException;
+
+    /**
+     * Appends a row locking clause to a select statement.
+     *
+     * @param sql  the statement, limit included
+     * @param mode the lock to take
+     * @return the statement
+     */
+    public String lock(String sql, LockMode mode);
+
+    /**
+     * @return whether generated keys are read with a <code>RETURNING</code>
+     * clause instead of <code>getGeneratedKeys</code>
+     */
+    public boolean supportsReturning();
+
+    /**
+     * @return whether nulls come before any other value in ascending order,
+     * they come after in descending order
+     */
+    public boolean sortsNullsFirst();
+
+    /**
+     * The order of text values under the default collation of the database,
+     * used to merge rows sorted by several shards. It can only approximate
+     * the collation; columns with another collation need their own order,
+     * see {@link org.bjloquent.routing.ShardRouter#setStringOrder(Comparator)}.
+     *
+     * @return the order of text values
+     */
+    public Comparator<String> getStringOrder();
+
+    /**
+     * Appends a <code>RETURNING</code> clause to a statement.
+     *
+     * @param sql     the statement
+     * @param columns the columns to return
+     * @return the statement returning the columns
+     */
+    public String returning(String sql, List<String> columns);
+
+    /**
+     * Streams tab separated rows into a table in a single statement. Null
+     * values are written <code>\N</code>, backslashes, tabs and line breaks
+     * are escaped with a backslash.
+     *
+     * @param connection the connection
+     * @param table      the table name
+     * @param columns    the columns of each row, in order
+     * @param rows       the rows, UTF-8 encoded
+     * @return the number of loaded rows
+     * @throws SQLException if the database refuses the rows
+     */
+    public long load(Connection connection, String table, List<String> columns, InputStream rows) throws SQLException;
+
+    /**
+     * Configures a statement so that its rows are streamed from the server
+     * instead of being read all at once.
+     *
+     * @param statement the statement
+     * @param fetchSize the number of rows fetched per round trip, when the
+     *                  driver fetches by blocks
+     * @throws SQLException if the statement can not be configured
+     */
+    public void stream(Statement statement, int fetchSize) throws SQLException;
+
+    /**
+     * @param type   the type of a column declared in a
+     *               {@link org.bjloquent.schema.Blueprint}
+     * @param length the length of a string, or the precision of a decimal
+     * @param scale  the scale of a decimal
+     * @return the SQL type of the column
+     */
+    public String columnType(ColumnType type, int length, int scale);
+
+    /**
+     * Builds the statements creating a table.
+     *
+     * @param table           the table name
+     * @param definitions     the column and key definitions
+     * @param engine          the storage engine, or null for the default one
+     * @param partitionColumn the column the rows are hashed on into
+     *                        partitions, or null for an unpartitioned table
+     * @param partitions      the number of partitions
+     * @return the statements
+     */
+    public List<String> createTable(String table, List<String> definitions, String engine, String partitionColumn, int partitions);
+
+    /**
+     * @param table the table name
+     * @param index the index name
+     * @return the statement dropping the index
+     */
+    public String dropIndex(String table, String index);
+
+    /**
+     * Explains a select statement and tells whether it reads a whole table.
+     *
+     * @param connection the connection
+     * @param sql        the select statement
+     * @param values     the values of its placeholders
+     * @return true if a table is scanned in full
+     * @throws SQLException if the statement can not be explained
+     */
+    public boolean isFullScan(Connection connection, String sql, List<Object> values) throws SQLException;
+
+    /**
+     * Prepares a statement run as a batch whose update count is needed for
+     * every statement, e.g. to detect conflicting versions.
+     *
+     * @param connection the connection
+     * @param sql        the statement
+     * @return the prepared statement
+     * @throws SQLException if the statement can not be prepared
+     */
+    public PreparedStatement prepareCountedBatch(Connection connection, String sql) throws SQLException;
+
+}
@@ -0,0 +1,95 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.dialect;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+/**
+ * MariaDB dialect. The SQL is the MySQL one, only the driver differs and
+ * batches are sent with the MariaDB bulk protocol.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public class MariaDBDialect extends MySQLDialect {
+
+    @Override
+    public String getDriverClassName() {
+        return "org.mariadb.jdbc.Driver";
+    }
+
+    @Override
+    public String getUrlPrefix() {
+        return "jdbc:mariadb://";
+    }
+
+    @Override
+    public Properties getConnectionProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("useBulkStmts", "true");
+        return properties;
+    }
+
+    @Override
+    public Properties getBulkLoadProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("allowLocalInfile", "true");
+        return properties;
+    }
+
+    /**
+     * MariaDB has no row alias, the inserted values are read with
+     * <code>VALUES()</code>.
+     */
+    @Override
+    protected String insertedRowAlias() {
+        return "";
+    }
+
+    @Override
+    protected String insertedValue(String column) {
+        return "VALUES(" + quote(column) + ")";
+    }
+
+    @Override
+    public PreparedStatement prepareCountedBatch(Connection connection, String sql) throws SQLException {
+        // Bulk batches only report SUCCESS_NO_INFO, the driver does not use them when keys are requested
+        return connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+    }
+
+    @Override
+    public void stream(Statement statement, int fetchSize) throws SQLException {
+        statement.setFetchSize(fetchSize);
+    }
+
+    @Override
+    protected void setLocalInfileInputStream(Statement statement, InputStream rows) throws SQLException {
+        statement.unwrap(org.mariadb.jdbc.Statement.class).setLocalInfileInputStream(rows);
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.dialect;
+
+import com.mysql.cj.jdbc.JdbcStatement;
+import org.bjloquent.schema.ColumnType;
+
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.Collator;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * MySQL dialect. Keys are read through <code>getGeneratedKeys</code>, which
+ * MySQL sends back with the insert result, and JDBC batches are rewritten by
+ * the driver into multi-row statements. Bulk loads use
+ * <code>LOAD DATA LOCAL INFILE</code> fed by an in-memory stream, the server
+ * must allow <code>local_infile</code>. The driver only answers local file
+ * requests on the connection opened for the load.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public class MySQLDialect extends AbstractDialect {
+
+    @Override
+    public String getDriverClassName() {
+        return "com.mysql.cj.jdbc.Driver";
+    }
+
+    @Override
+    public String getUrlPrefix() {
+        return "jdbc:mysql://";
+    }
+
+    @Override
+    public Properties getConnectionProperties() {
+        Properties properties = super.getConnectionProperties();
+        properties.setProperty("rewriteBatchedStatements", "true");
+        // Keeps the parsed statements of a connection, reused by pooled connections
+        properties.setProperty("cachePrepStmts", "true");
+        return properties;
+    }
+
+    @Override
+    public Properties getBulkLoadProperties() {
+        Properties properties = super.getBulkLoadProperties();
+        // Required for the driver to answer LOAD DATA LOCAL INFILE with the bulk load stream
+        properties.setProperty("allowLoadLocalInfile", "true");
+        return properties;
+    }
+
+    @Override
+    protected char getQuoteCharacter() {
+        return '`';
+    }
+
+    @Override
+    public boolean sortsNullsFirst() {
+        return true;
+    }
+
+    /**
+     * The default <code>utf8mb4</code> collations ignore case and accents,
+     * compared here at the primary strength of the root locale.
+     */
+    @Override
+    public Comparator<String> getStringOrder() {
+        Collator collator = Collator.getInstance(Locale.ROOT);
+        collator.setStrength(Collator.PRIMARY);
+        return collator::compare;
+    }
+
+    /**
+     * MySQL has no <code>RETURNING</code> on updates. An integer new value is
+     * kept by <code>LAST_INSERT_ID(expr)</code>, which is per connection, and
+     * read back on the same connection; it is unsigned, hence the casts. Any
+     * other value would be truncated, it is read back in a transaction
+     * holding the lock of the updated row.
+     */
+    @Override
+    public Number incrementAndGet(Connection connection, String table, String column, String condition,
+                                  List<Object> values, Number delta) throws SQLException {
+        if (!isIntegral(delta)) {
+            return incrementAndSelect(connection, table, column, condition, values, delta);
+        }
+
+        String sql = "UPDATE " + quote(table) + " SET " + quote(column) + " = CAST(LAST_INSERT_ID("
+                + quote(column) + " + ?) AS SIGNED) WHERE " + condition;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            bindIncrement(statement, values, delta);
+            if (statement.executeUpdate() == 0) {
+                return null;
+            }
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT CAST(LAST_INSERT_ID() AS SIGNED)")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private Number incrementAndSelect(Connection connection, String table, String column, String condition,
+                                      List<Object> values, Number delta) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        if (autoCommit) {
+            connection.setAutoCommit(false);
+        }
+        try {
+            Number value = null;
+            try (PreparedStatement statement = connection.prepareStatement(increment(table, column, condition))) {
+                bindIncrement(statement, values, delta);
+                if (statement.executeUpdate() > 0) {
+                    value = selectColumn(connection, table, column, condition, values);
+                }
+            }
+            if (autoCommit) {
+                connection.commit();
+            }
+            return value;
+        } catch (SQLException e) {
+            if (autoCommit) {
+                connection.rollback();
+            }
+            throw e;
+        } finally {
+            if (autoCommit) {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    private Number selectColumn(Connection connection, String table, String column, String condition,
+                                List<Object> values) throws SQLException {
+        String sql = "SELECT " + quote(column) + " FROM " + quote(table) + " WHERE " + condition;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < values.size(); i++) {
+                statement.setObject(i + 1, values.get(i));
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? (Number) rs.getObject(1) : null;
+            }
+        }
+    }
+
+    private static boolean isIntegral(Number number) {
+        return number instanceof Integer || number instanceof Long || number instanceof Short
+                || number instanceof Byte || number instanceof BigInteger;
+    }
+
+    /**
+     * The inserted row is named with a row alias, <code>VALUES()</code> in
+     * the update clause being deprecated since MySQL 8.0.20.
+     */
+    @Override
+    public String upsert(String table, List<String> columns, List<String> keyColumns) {
+        StringBuilder sql = new StringBuilder(insert(table, columns, 1)).append(insertedRowAlias())
+                .append(" ON DUPLICATE KEY UPDATE ");
+        boolean first = true;
+        for (String column : columns) {
+            if (keyColumns.contains(column)) {
+                continue;
+            }
+            if (!first) {
+                sql.append(", ");
+            }
+            sql.append(quote(column)).append(" = ").append(insertedValue(column));
+            first = false;
+        }
+
+        if (first) {
+            // Only key columns, nothing to update but the statement must stay valid
+            String key = quote(keyColumns.get(0));
+            sql.append(key).append(" = ").append(key);
+        }
+        return sql.toString();
+    }
+
+    /**
+     * @return the alias of the inserted row, appended to the insert of an
+     * upsert
+     */
+    protected String insertedRowAlias() {
+        return " AS " + quote("new");
+    }
+
+    /**
+     * @param column a column of the upsert
+     * @return the inserted value of the column, in the update clause
+     */
+    protected String insertedValue(String column) {
+        return quote("new") + "." + quote(column);
+    }
+
+    @Override
+    public long load(Connection connection, String table, List<String> columns, InputStream rows) throws SQLException {
+        String sql = "LOAD DATA LOCAL INFILE 'stream' INTO TABLE " + quote(table)
+                + " CHARACTER SET utf8mb4"
+                + " FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\'"
+                + " LINES TERMINATED BY '\\n'"
+                + " (" + columnList(columns) + ")";
+
+        try (Statement statement = connection.createStatement()) {
+            setLocalInfileInputStream(statement, rows);
+            return statement.executeUpdate(sql);
+        }
+    }
+
+    @Override
+    public void stream(Statement statement, int fetchSize) throws SQLException {
+        // Connector/J only streams row by row, and only with this magic value
+        statement.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    /**
+     * Hands the stream to the driver, which sends it when the server asks for
+     * the local file.
+     *
+     * @param statement the statement executing <code>LOAD DATA</code>
+     * @param rows      the rows
+     * @throws SQLException if the statement is not a driver statement
+     */
+    protected void setLocalInfileInputStream(Statement statement, InputStream rows) throws SQLException {
+        statement.unwrap(JdbcStatement.class).setLocalInfileInputStream(rows);
+    }
+
+    @Override
+    public String columnType(ColumnType type, int length, int scale) {
+        switch (type) {
+            case INCREMENTS:
+                return "INT AUTO_INCREMENT";
+            case BIG_INCREMENTS:
+                return "BIGINT AUTO_INCREMENT";
+            case BINARY:
+                return "LONGBLOB";
+            default:
+                return super.columnType(type, length, scale);
+        }
+    }
+
+    /**
+     * Partitions are hashed with <code>PARTITION BY KEY</code>, which unlike
+     * <code>HASH</code> accepts any column type.
+     */
+    @Override
+    public List<String> createTable(String table, List<String> definitions, String engine, String partitionColumn, int partitions) {
+        StringBuilder sql = new StringBuilder(super.createTable(table, definitions, engine, partitionColumn, partitions).get(0));
+        if (engine != null) {
+            sql.append(" ENGINE=").append(engine);
+        }
+        if (partitionColumn != null) {
+            sql.append(" PARTITION BY KEY(").append(quote(partitionColumn)).append(") PARTITIONS ").append(partitions);
+        }
+        return Collections.singletonList(sql.toString());
+    }
+
+    @Override
+    public String dropIndex(String table, String index) {
+        return "DROP INDEX " + quote(index) + " ON " + quote(table);
+    }
+
+    /**
+     * A table is scanned in full when its access type is <code>ALL</code>.
+     */
+    @Override
+    public boolean isFullScan(Connection connection, String sql, List<Object> values) throws SQLException {
+        try (PreparedStatement statement = explain(connection, sql, values); ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                if ("ALL".equalsIgnoreCase(rs.getString("type"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
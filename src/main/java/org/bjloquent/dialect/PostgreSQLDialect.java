@@ -0,0 +1,179 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.dialect;
+
+import org.bjloquent.schema.ColumnType;
+import org.postgresql.PGConnection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * PostgreSQL dialect. Generated keys come back in the same round trip as the
+ * insert through a <code>RETURNING</code> clause, and bulk loads are
+ * streamed with <code>COPY FROM STDIN</code>.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public class PostgreSQLDialect extends AbstractDialect {
+
+    @Override
+    public String getDriverClassName() {
+        return "org.postgresql.Driver";
+    }
+
+    @Override
+    public String getUrlPrefix() {
+        return "jdbc:postgresql://";
+    }
+
+    @Override
+    public Properties getConnectionProperties() {
+        Properties properties = super.getConnectionProperties();
+        properties.setProperty("reWriteBatchedInserts", "true");
+        return properties;
+    }
+
+    @Override
+    protected char getQuoteCharacter() {
+        return '"';
+    }
+
+    @Override
+    public String upsert(String table, List<String> columns, List<String> keyColumns) {
+        StringBuilder sql = new StringBuilder(insert(table, columns, 1))
+                .append(" ON CONFLICT (").append(columnList(keyColumns)).append(")");
+
+        boolean first = true;
+        for (String column : columns) {
+            if (keyColumns.contains(column)) {
+                continue;
+            }
+            sql.append(first ? " DO UPDATE SET " : ", ");
+            sql.append(quote(column)).append(" = EXCLUDED.").append(quote(column));
+            first = false;
+        }
+
+        if (first) {
+            sql.append(" DO NOTHING");
+        }
+        return sql.toString();
+    }
+
+    @Override
+    public boolean supportsReturning() {
+        return true;
+    }
+
+    @Override
+    public boolean sortsNullsFirst() {
+        return false;
+    }
+
+    /**
+     * Text is compared code point by code point, as under the
+     * <code>C</code> collation.
+     */
+    @Override
+    public Comparator<String> getStringOrder() {
+        return Comparator.naturalOrder();
+    }
+
+    /**
+     * PostgreSQL only uses a cursor inside a transaction, so auto-commit is
+     * disabled on the statement connection. The caller restores it.
+     */
+    @Override
+    public void stream(Statement statement, int fetchSize) throws SQLException {
+        statement.getConnection().setAutoCommit(false);
+        statement.setFetchSize(fetchSize);
+    }
+
+    @Override
+    public long load(Connection connection, String table, List<String> columns, InputStream rows) throws SQLException {
+        String sql = "COPY " + quote(table) + " (" + columnList(columns) + ") FROM STDIN";
+
+        try {
+            return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, rows);
+        } catch (IOException e) {
+            throw new SQLException("Could not stream rows into " + table, e);
+        }
+    }
+
+    @Override
+    public String columnType(ColumnType type, int length, int scale) {
+        switch (type) {
+            case INCREMENTS:
+                return "SERIAL";
+            case BIG_INCREMENTS:
+                return "BIGSERIAL";
+            case BINARY:
+                return "BYTEA";
+            default:
+                return super.columnType(type, length, scale);
+        }
+    }
+
+    /**
+     * PostgreSQL has no storage engines, the engine is ignored. A partitioned
+     * table is created with one hash partition per remainder.
+     */
+    @Override
+    public List<String> createTable(String table, List<String> definitions, String engine, String partitionColumn, int partitions) {
+        List<String> statements = new ArrayList<>(super.createTable(table, definitions, engine, partitionColumn, partitions));
+        if (partitionColumn != null) {
+            statements.set(0, statements.get(0) + " PARTITION BY HASH (" + quote(partitionColumn) + ")");
+            for (int i = 0; i < partitions; i++) {
+                statements.add("CREATE TABLE " + quote(table + "_p" + i) + " PARTITION OF " + quote(table)
+                        + " FOR VALUES WITH (MODULUS " + partitions + ", REMAINDER " + i + ")");
+            }
+        }
+        return statements;
+    }
+
+    /**
+     * A table is scanned in full when the plan holds a sequential scan.
+     */
+    @Override
+    public boolean isFullScan(Connection connection, String sql, List<Object> values) throws SQLException {
+        try (PreparedStatement statement = explain(connection, sql, values); ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                if (rs.getString(1).contains("Seq Scan")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
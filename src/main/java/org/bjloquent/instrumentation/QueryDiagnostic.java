@@ -0,0 +1,98 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.instrumentation;
+
+/**
+ * A problem found by {@link QueryDiagnostics}: a slow statement or a
+ * statement repeated within a session.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public class QueryDiagnostic {
+
+    public enum Kind {
+        SLOW_QUERY, REPEATED_QUERY
+    }
+
+    private final Kind kind;
+    private final String sql;
+    private final long nanos;
+    private final int count;
+    private final StackTraceElement[] origin;
+
+    public QueryDiagnostic(Kind kind, String sql, long nanos, int count, StackTraceElement[] origin) {
+        this.kind = kind;
+        this.sql = sql;
+        this.nanos = nanos;
+        this.count = count;
+        this.origin = origin;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * @return the total time of the statement that raised the diagnostic
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return how many times the statement ran in the session, 1 for a slow
+     * query outside of a session
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return the application frames that issued the statement, the first
+     * being the closest to the library
+     */
+    public StackTraceElement[] getOrigin() {
+        return origin;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder();
+        if (kind == Kind.SLOW_QUERY) {
+            description.append(String.format("Slow query (%.3fms): ", nanos / 1_000_000.0));
+        } else {
+            description.append("Query repeated ").append(count).append(" times in the same session: ");
+        }
+        description.append(sql);
+        for (StackTraceElement element : origin) {
+            description.append("\n\tat ").append(element);
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.instrumentation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Flags slow statements and statements repeated within a session, the usual
+ * sign of a <code>find()</code> called in a loop (N+1 queries). Each
+ * diagnostic comes with the application frames that issued the statement.
+ * <pre>
+ * QueryDiagnostics diagnostics = new QueryDiagnostics();
+ * Connector.getInstance().addQueryListener(diagnostics);
+ *
+ * try (QueryDiagnostics.Session session = diagnostics.openSession()) {
+ *     // handle a request
+ * }
+ * </pre>
+ * Repeated statements are only detected inside a session, which is bound to
+ * the thread that opened it. Frames are told apart by package: those of the
+ * library, the JDK and the JDBC drivers are skipped, and packages of the
+ * application nested in them can be declared with
+ * {@link #setApplicationPackages(String...)}. Nothing is measured while the diagnostics are
+ * not registered, and a disabled instance returns at once.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public class QueryDiagnostics implements QueryListener {
+
+    private static final int ORIGIN_DEPTH = 8;
+
+    /**
+     * The packages skipped by default when looking for the origin of a
+     * statement.
+     */
+    public static final List<String> INTERNAL_PACKAGES = Collections.unmodifiableList(Arrays.asList(
+            "org.bjloquent.", "java.", "javax.", "jdk.", "sun.", "com.sun.",
+            "com.mysql.", "org.mariadb.", "org.postgresql."
+    ));
+
+    private final ThreadLocal<Session> sessions = new ThreadLocal<>();
+    private volatile List<String> internalPackages = INTERNAL_PACKAGES;
+    private volatile List<String> applicationPackages = Collections.emptyList();
+
+    private volatile boolean enabled = true;
+    private volatile long slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(500);
+    private volatile int repeatThreshold = 10;
+    private volatile Consumer<QueryDiagnostic> reporter = diagnostic ->
+            Logger.getLogger(QueryDiagnostics.class.getName()).log(Level.WARNING, diagnostic.toString());
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @param threshold the duration above which a statement is slow
+     * @param unit      the unit of the threshold
+     */
+    public void setSlowQueryThreshold(long threshold, TimeUnit unit) {
+        this.slowQueryNanos = unit.toNanos(threshold);
+    }
+
+    /**
+     * @param repeatThreshold the number of executions of the same statement
+     *                        within a session that raises a diagnostic
+     */
+    public void setRepeatThreshold(int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    /**
+     * @param packages the prefixes of the class names skipped when looking
+     *                 for the origin of a statement, {@link #INTERNAL_PACKAGES}
+     *                 by default
+     */
+    public void setInternalPackages(String... packages) {
+        this.internalPackages = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(packages)));
+    }
+
+    /**
+     * @param packages the prefixes of the class names of the application
+     *                 nested in the internal packages, e.g. models declared in
+     *                 a package of the library; they are never skipped
+     */
+    public void setApplicationPackages(String... packages) {
+        this.applicationPackages = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(packages)));
+    }
+
+    /**
+     * @param reporter receives the diagnostics, they are logged as warnings by
+     *                 default
+     */
+    public void setReporter(Consumer<QueryDiagnostic> reporter) {
+        this.reporter = reporter;
+    }
+
+    /**
+     * Opens a session on the current thread, e.g. for the duration of a
+     * request. Statements repeated within the session are reported once per
+     * statement, when they reach the threshold.
+     *
+     * @return the session, to close at the end of the request
+     */
+    public Session openSession() {
+        Session session = new Session();
+        sessions.set(session);
+        return session;
+    }
+
+    @Override
+    public void onQuery(QueryEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        if (event.getTotalNanos() >= slowQueryNanos) {
+            report(new QueryDiagnostic(QueryDiagnostic.Kind.SLOW_QUERY, event.getSql(), event.getTotalNanos(), 1, origin()));
+        }
+
+        Session session = sessions.get();
+        if (session != null) {
+            int count = session.increment(event.getSql());
+            if (count == repeatThreshold) {
+                report(new QueryDiagnostic(QueryDiagnostic.Kind.REPEATED_QUERY, event.getSql(), event.getTotalNanos(), count, origin()));
+            }
+        }
+    }
+
+    private void report(QueryDiagnostic diagnostic) {
+        try {
+            reporter.accept(diagnostic);
+        } catch (RuntimeException e) {
+            Logger.getLogger(QueryDiagnostics.class.getName()).log(Level.WARNING, "Query diagnostic reporter failed", e);
+        }
+    }
+
+    /**
+     * @return the first application frames of the current stack, skipping the
+     * library and the JDK
+     */
+    private StackTraceElement[] origin() {
+        StackTraceElement[] stack = new Throwable().getStackTrace();
+        int first = 0;
+        while (first < stack.length && isInternal(stack[first].getClassName())) {
+            first++;
+        }
+        return Arrays.copyOfRange(stack, first, Math.min(stack.length, first + ORIGIN_DEPTH));
+    }
+
+    private boolean isInternal(String className) {
+        for (String prefix : applicationPackages) {
+            if (className.startsWith(prefix)) {
+                return false;
+            }
+        }
+        for (String prefix : internalPackages) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Counts the statements executed by a thread between its opening and its
+     * closing.
+     */
+    public class Session implements AutoCloseable {
+        private final Map<String, int[]> counts = new HashMap<>();
+
+        private int increment(String sql) {
+            int[] count = counts.get(sql);
+            if (count == null) {
+                count = new int[1];
+                counts.put(sql, count);
+            }
+            return ++count[0];
+        }
+
+        /**
+         * @param sql a SQL template
+         * @return how many times the statement ran in this session
+         */
+        public int getCount(String sql) {
+            int[] count = counts.get(sql);
+            return count == null ? 0 : count[0];
+        }
+
+        /**
+         * @return the statements that reached the repeat threshold
+         */
+        public List<String> getRepeatedQueries() {
+            List<String> repeated = new ArrayList<>();
+            for (Map.Entry<String, int[]> entry : counts.entrySet()) {
+                if (entry.getValue()[0] >= repeatThreshold) {
+                    repeated.add(entry.getKey());
+                }
+            }
+            return Collections.unmodifiableList(repeated);
+        }
+
+        @Override
+        public void close() {
+            if (sessions.get() == this) {
+                sessions.remove();
+            }
+        }
+    }
+}
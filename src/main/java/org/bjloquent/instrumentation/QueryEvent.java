@@ -0,0 +1,112 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.instrumentation;
+
+/**
+ * Timings of an executed statement. Durations are in nanoseconds.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public class QueryEvent {
+
+    private final String sql;
+    private final long connectionWaitNanos;
+    private final long bindNanos;
+    private final long executionNanos;
+    private final long hydrationNanos;
+    private final long rows;
+    private final Throwable failure;
+
+    public QueryEvent(String sql, long connectionWaitNanos, long bindNanos, long executionNanos,
+                      long hydrationNanos, long rows, Throwable failure) {
+        this.sql = sql;
+        this.connectionWaitNanos = connectionWaitNanos;
+        this.bindNanos = bindNanos;
+        this.executionNanos = executionNanos;
+        this.hydrationNanos = hydrationNanos;
+        this.rows = rows;
+        this.failure = failure;
+    }
+
+    /**
+     * @return the SQL template, with <code>?</code> placeholders
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * @return the time spent getting a connection
+     */
+    public long getConnectionWaitNanos() {
+        return connectionWaitNanos;
+    }
+
+    /**
+     * @return the time spent preparing the statement and binding its parameters
+     */
+    public long getBindNanos() {
+        return bindNanos;
+    }
+
+    /**
+     * @return the time spent executing the statement on the database
+     */
+    public long getExecutionNanos() {
+        return executionNanos;
+    }
+
+    /**
+     * @return the time spent reading the rows and hydrating the models
+     */
+    public long getHydrationNanos() {
+        return hydrationNanos;
+    }
+
+    /**
+     * @return the total time of the statement
+     */
+    public long getTotalNanos() {
+        return connectionWaitNanos + bindNanos + executionNanos + hydrationNanos;
+    }
+
+    /**
+     * @return the rows returned by a query or affected by an update
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * @return the exception thrown by the statement, or null if it succeeded
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    public boolean isFailed() {
+        return failure != null;
+    }
+}
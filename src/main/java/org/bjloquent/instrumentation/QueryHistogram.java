@@ -0,0 +1,240 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.instrumentation;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps latency histograms of every statement, overall and per SQL template,
+ * in memory. Register it on the connector and expose it through JMX:
+ * <pre>
+ * QueryHistogram histogram = new QueryHistogram();
+ * Connector.getInstance().addQueryListener(histogram);
+ * histogram.registerMBean("default");
+ * </pre>
+ * The number of templates is bounded, statements beyond the limit are only
+ * counted in the overall histograms.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public class QueryHistogram implements QueryListener, QueryHistogramMBean {
+
+    private static final int DEFAULT_MAX_TEMPLATES = 1000;
+
+    private final int maxTemplates;
+    private final LatencyHistogram connectionWait = new LatencyHistogram();
+    private final LatencyHistogram bind = new LatencyHistogram();
+    private final LatencyHistogram execution = new LatencyHistogram();
+    private final LatencyHistogram hydration = new LatencyHistogram();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong rows = new AtomicLong();
+    private final Map<String, TemplateStatistics> templates = new ConcurrentHashMap<>();
+
+    public QueryHistogram() {
+        this(DEFAULT_MAX_TEMPLATES);
+    }
+
+    /**
+     * @param maxTemplates the maximum number of SQL templates tracked
+     */
+    public QueryHistogram(int maxTemplates) {
+        this.maxTemplates = maxTemplates;
+    }
+
+    @Override
+    public void onQuery(QueryEvent event) {
+        connectionWait.record(event.getConnectionWaitNanos());
+        bind.record(event.getBindNanos());
+        execution.record(event.getExecutionNanos());
+        hydration.record(event.getHydrationNanos());
+        rows.addAndGet(event.getRows());
+        if (event.isFailed()) {
+            errors.incrementAndGet();
+        }
+
+        TemplateStatistics statistics = templates.get(event.getSql());
+        if (statistics == null && templates.size() < maxTemplates) {
+            statistics = templates.computeIfAbsent(event.getSql(), TemplateStatistics::new);
+        }
+        if (statistics != null) {
+            statistics.record(event);
+        }
+    }
+
+    /**
+     * Registers this histogram in the platform MBean server as
+     * <code>org.bjloquent:type=QueryHistogram,name=&lt;name&gt;</code>.
+     *
+     * @param name the name of the histogram
+     */
+    public void registerMBean(String name) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(this, new ObjectName("org.bjloquent:type=QueryHistogram,name=" + ObjectName.quote(name)));
+        } catch (InstanceAlreadyExistsException e) {
+            Logger.getLogger(QueryHistogram.class.getName()).log(Level.WARNING, "A query histogram named " + name + " is already registered");
+        } catch (JMException e) {
+            Logger.getLogger(QueryHistogram.class.getName()).log(Level.SEVERE, "Could not register query histogram " + name, e);
+        }
+    }
+
+    /**
+     * @param sql a SQL template
+     * @return the execution histogram of the template, or null if it is not tracked
+     */
+    public LatencyHistogram getExecutionHistogram(String sql) {
+        TemplateStatistics statistics = templates.get(sql);
+        return statistics == null ? null : statistics.execution;
+    }
+
+    public LatencyHistogram getExecutionHistogram() {
+        return execution;
+    }
+
+    public LatencyHistogram getConnectionWaitHistogram() {
+        return connectionWait;
+    }
+
+    @Override
+    public long getQueryCount() {
+        return execution.getCount();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errors.get();
+    }
+
+    @Override
+    public long getRowCount() {
+        return rows.get();
+    }
+
+    @Override
+    public double getExecutionMeanMillis() {
+        return execution.getMeanMillis();
+    }
+
+    @Override
+    public double getExecutionP50Millis() {
+        return execution.getPercentileMillis(50);
+    }
+
+    @Override
+    public double getExecutionP95Millis() {
+        return execution.getPercentileMillis(95);
+    }
+
+    @Override
+    public double getExecutionP99Millis() {
+        return execution.getPercentileMillis(99);
+    }
+
+    @Override
+    public double getExecutionMaxMillis() {
+        return execution.getMaxMillis();
+    }
+
+    @Override
+    public double getConnectionWaitP99Millis() {
+        return connectionWait.getPercentileMillis(99);
+    }
+
+    @Override
+    public double getBindP99Millis() {
+        return bind.getPercentileMillis(99);
+    }
+
+    @Override
+    public double getHydrationP99Millis() {
+        return hydration.getPercentileMillis(99);
+    }
+
+    @Override
+    public String[] slowestTemplates(int count) {
+        List<TemplateStatistics> sorted = new ArrayList<>(templates.values());
+        sorted.sort((a, b) -> Double.compare(
+                b.execution.getPercentileMillis(99),
+                a.execution.getPercentileMillis(99)
+        ));
+
+        int size = Math.min(count, sorted.size());
+        String[] slowest = new String[size];
+        for (int i = 0; i < size; i++) {
+            TemplateStatistics statistics = sorted.get(i);
+            slowest[i] = String.format(
+                    "p99=%.3fms mean=%.3fms count=%d rows=%d errors=%d %s",
+                    statistics.execution.getPercentileMillis(99),
+                    statistics.execution.getMeanMillis(),
+                    statistics.execution.getCount(),
+                    statistics.rows.get(),
+                    statistics.errors.get(),
+                    statistics.sql
+            );
+        }
+        return slowest;
+    }
+
+    @Override
+    public void reset() {
+        connectionWait.reset();
+        bind.reset();
+        execution.reset();
+        hydration.reset();
+        errors.set(0);
+        rows.set(0);
+        templates.clear();
+    }
+
+    private static class TemplateStatistics {
+        private final String sql;
+        private final LatencyHistogram execution = new LatencyHistogram();
+        private final AtomicLong rows = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+
+        TemplateStatistics(String sql) {
+            this.sql = sql;
+        }
+
+        void record(QueryEvent event) {
+            execution.record(event.getExecutionNanos());
+            rows.addAndGet(event.getRows());
+            if (event.isFailed()) {
+                errors.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.instrumentation;
+
+/**
+ * JMX view of a {@link QueryHistogram}. Durations are in milliseconds.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public interface QueryHistogramMBean {
+
+    public long getQueryCount();
+
+    public long getErrorCount();
+
+    public long getRowCount();
+
+    public double getExecutionMeanMillis();
+
+    public double getExecutionP50Millis();
+
+    public double getExecutionP95Millis();
+
+    public double getExecutionP99Millis();
+
+    public double getExecutionMaxMillis();
+
+    public double getConnectionWaitP99Millis();
+
+    public double getBindP99Millis();
+
+    public double getHydrationP99Millis();
+
+    /**
+     * @param count the number of templates
+     * @return the SQL templates with the highest p99 execution time, with
+     * their statistics
+     */
+    public String[] slowestTemplates(int count);
+
+    public void reset();
+
+}
@@ -0,0 +1,142 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.instrumentation;
+
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Measures the phases of one statement and reports them to the listeners.
+ * Each phase method records the time elapsed since the previous one. When
+ * nobody listens, {@link #DISABLED} is used and every method returns
+ * immediately.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public class QueryTrace {
+
+    /**
+     * A trace measuring nothing, shared by every statement when no listener
+     * is registered.
+     */
+    public static final QueryTrace DISABLED = new QueryTrace(null, null);
+
+    private final List<QueryListener> listeners;
+    private final String sql;
+    private long mark;
+    private long connectionWait;
+    private long bind;
+    private long execution;
+    private long hydration;
+
+    public QueryTrace(List<QueryListener> listeners, String sql) {
+        this.listeners = listeners;
+        this.sql = sql;
+        this.mark = listeners == null ? 0 : System.nanoTime();
+    }
+
+    public boolean isEnabled() {
+        return listeners != null;
+    }
+
+    /**
+     * Ends the connection wait, called once a connection is obtained.
+     */
+    public void connected() {
+        if (listeners != null) {
+            connectionWait += lap();
+        }
+    }
+
+    /**
+     * Ends the bind phase, called once the statement is prepared and its
+     * parameters are bound.
+     */
+    public void bound() {
+        if (listeners != null) {
+            bind += lap();
+        }
+    }
+
+    /**
+     * Ends the execution phase.
+     */
+    public void executed() {
+        if (listeners != null) {
+            execution += lap();
+        }
+    }
+
+    /**
+     * Ends the hydration phase, called once every row has been read.
+     */
+    public void hydrated() {
+        if (listeners != null) {
+            hydration += lap();
+        }
+    }
+
+    /**
+     * Reports a successful statement.
+     *
+     * @param rows the rows returned or affected
+     */
+    public void finish(long rows) {
+        if (listeners != null) {
+            fire(new QueryEvent(sql, connectionWait, bind, execution, hydration, rows, null));
+        }
+    }
+
+    /**
+     * Reports a failed statement, the time since the last phase counts as
+     * execution.
+     *
+     * @param failure the exception thrown by the statement
+     */
+    public void fail(Throwable failure) {
+        if (listeners != null) {
+            execution += lap();
+            fire(new QueryEvent(sql, connectionWait, bind, execution, hydration, 0, failure));
+        }
+    }
+
+    private long lap() {
+        long now = System.nanoTime();
+        long elapsed = now - mark;
+        mark = now;
+        return elapsed;
+    }
+
+    private void fire(QueryEvent event) {
+        for (QueryListener listener : listeners) {
+            try {
+                listener.onQuery(event);
+            } catch (RuntimeException e) {
+                Logger.getLogger(QueryTrace.class.getName()).log(Level.WARNING, "Query listener failed", e);
+            }
+        }
+    }
+}
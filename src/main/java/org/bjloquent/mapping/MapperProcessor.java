@@ -0,0 +1,421 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.mapping;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Generates a {@link ModelMapper} for every model annotated with
+ * {@link Table}. The mapper calls the getters and setters directly, reads
+ * each column with the result set getter of its type and binds it with the
+ * statement setter of its type, so that no reflection or boxing is needed at
+ * runtime, and its columns are in a fixed order: primary keys
+ * first, then the other fields in declaration order.
+ * <p>
+ * The processor is registered as a service, javac runs it for every project
+ * having bjLoquent on its class path. It also lists the mapped models in
+ * {@link Mappers#MODEL_INDEX}, so that they can be registered at startup.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+@SupportedAnnotationTypes("org.bjloquent.mapping.Table")
+public class MapperProcessor extends AbstractProcessor {
+
+    private static final Map<String, String> GETTERS = new HashMap<>();
+    private static final Map<String, String> BOXES = new HashMap<>();
+    private static final Map<String, String> SQL_TYPES = new HashMap<>();
+
+    private final Set<String> models = new TreeSet<>();
+
+    static {
+        GETTERS.put("int", "getInt");
+        GETTERS.put("long", "getLong");
+        GETTERS.put("double", "getDouble");
+        GETTERS.put("float", "getFloat");
+        GETTERS.put("boolean", "getBoolean");
+        GETTERS.put("short", "getShort");
+        GETTERS.put("byte", "getByte");
+        GETTERS.put("java.lang.Integer", "getInt");
+        GETTERS.put("java.lang.Long", "getLong");
+        GETTERS.put("java.lang.Double", "getDouble");
+        GETTERS.put("java.lang.Float", "getFloat");
+        GETTERS.put("java.lang.Boolean", "getBoolean");
+        GETTERS.put("java.lang.Short", "getShort");
+        GETTERS.put("java.lang.Byte", "getByte");
+        GETTERS.put("java.lang.String", "getString");
+        GETTERS.put("java.math.BigDecimal", "getBigDecimal");
+        GETTERS.put("java.sql.Timestamp", "getTimestamp");
+        GETTERS.put("java.sql.Date", "getDate");
+        GETTERS.put("java.sql.Time", "getTime");
+        GETTERS.put("byte[]", "getBytes");
+
+        BOXES.put("int", "java.lang.Integer");
+        BOXES.put("long", "java.lang.Long");
+        BOXES.put("double", "java.lang.Double");
+        BOXES.put("float", "java.lang.Float");
+        BOXES.put("boolean", "java.lang.Boolean");
+        BOXES.put("short", "java.lang.Short");
+        BOXES.put("byte", "java.lang.Byte");
+        BOXES.put("char", "java.lang.Character");
+
+        // Null values are bound with setNull and the SQL type, as ParameterBinders does
+        SQL_TYPES.put("java.lang.Integer", "INTEGER");
+        SQL_TYPES.put("java.lang.Long", "BIGINT");
+        SQL_TYPES.put("java.lang.Double", "DOUBLE");
+        SQL_TYPES.put("java.lang.Float", "REAL");
+        SQL_TYPES.put("java.lang.Boolean", "BOOLEAN");
+        SQL_TYPES.put("java.lang.Short", "SMALLINT");
+        SQL_TYPES.put("java.lang.Byte", "TINYINT");
+        SQL_TYPES.put("java.lang.String", "VARCHAR");
+        SQL_TYPES.put("java.math.BigDecimal", "DECIMAL");
+        SQL_TYPES.put("java.sql.Timestamp", "TIMESTAMP");
+        SQL_TYPES.put("java.sql.Date", "DATE");
+        SQL_TYPES.put("java.sql.Time", "TIME");
+        SQL_TYPES.put("byte[]", "VARBINARY");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            return false;
+        }
+
+        TypeElement modelType = processingEnv.getElementUtils().getTypeElement("org.bjloquent.Model");
+        for (Element element : roundEnv.getElementsAnnotatedWith(Table.class)) {
+            TypeElement type = (TypeElement) element;
+            if (modelType == null || !processingEnv.getTypeUtils().isSubtype(type.asType(), modelType.asType())) {
+                error(type, "@Table can only annotate a subclass of org.bjloquent.Model");
+                continue;
+            }
+            if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+                error(type, "@Table can not annotate an abstract class");
+                continue;
+            }
+
+            List<MappedColumn> columns = columnsOf(type);
+            if (columns == null) {
+                continue;
+            }
+
+            try {
+                write(type, columns);
+                models.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+            } catch (IOException e) {
+                error(type, "Could not write the mapper: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the columns, primary keys first, or null if one of them is not
+     * mapped properly
+     */
+    private List<MappedColumn> columnsOf(TypeElement type) {
+        List<ExecutableElement> methods = ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type));
+        List<MappedColumn> columns = new ArrayList<>();
+        int primaryKeys = 0;
+        boolean versioned = false;
+        boolean valid = true;
+
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            Column column = field.getAnnotation(Column.class);
+            boolean id = field.getAnnotation(Id.class) != null;
+            boolean version = field.getAnnotation(Version.class) != null;
+            if (column == null && !id && !version) {
+                continue;
+            }
+            if (version) {
+                TypeKind kind = field.asType().getKind();
+                if (versioned || id || (kind != TypeKind.INT && kind != TypeKind.LONG)) {
+                    error(field, "A @Table model can have a single @Version field, an int or a long which is not an @Id");
+                    valid = false;
+                    continue;
+                }
+                versioned = true;
+            }
+
+            String property = field.getSimpleName().toString();
+            String capitalized = property.substring(0, 1).toUpperCase() + property.substring(1);
+            TypeMirror fieldType = field.asType();
+            String getter = null;
+            String setter = null;
+            for (ExecutableElement method : methods) {
+                String name = method.getSimpleName().toString();
+                if (method.getModifiers().contains(Modifier.PRIVATE) || method.getModifiers().contains(Modifier.STATIC)) {
+                    continue;
+                }
+                if (method.getParameters().isEmpty()
+                        && (name.equals("get" + capitalized) || (name.equals("is" + capitalized) && fieldType.getKind() == TypeKind.BOOLEAN))
+                        && processingEnv.getTypeUtils().isSameType(method.getReturnType(), fieldType)) {
+                    getter = name;
+                } else if (name.equals("set" + capitalized) && method.getParameters().size() == 1
+                        && processingEnv.getTypeUtils().isSameType(method.getParameters().get(0).asType(), fieldType)) {
+                    setter = name;
+                }
+            }
+            if (getter == null || setter == null) {
+                error(field, "Mapped field " + property + " needs a getter and a setter");
+                valid = false;
+                continue;
+            }
+
+            String name = column == null || column.value().isEmpty() ? property : column.value();
+            MappedColumn mapped = new MappedColumn(name, processingEnv.getTypeUtils().erasure(fieldType).toString(), getter, setter, id, version);
+            if (id) {
+                columns.add(primaryKeys++, mapped);
+            } else {
+                columns.add(mapped);
+            }
+        }
+
+        if (primaryKeys == 0) {
+            error(type, "A @Table model needs at least one @Id field");
+            valid = false;
+        }
+        boolean constructor = false;
+        for (ExecutableElement candidate : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            constructor |= candidate.getParameters().isEmpty() && !candidate.getModifiers().contains(Modifier.PRIVATE);
+        }
+        if (!constructor) {
+            error(type, "A @Table model needs a non private constructor without parameters");
+            valid = false;
+        }
+        return valid ? columns : null;
+    }
+
+    private void write(TypeElement type, List<MappedColumn> columns) throws IOException {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String modelName = type.getQualifiedName().toString();
+        String flatName = modelName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1).replace('.', '_');
+        String mapperName = flatName + "_Mapper";
+
+        Table table = type.getAnnotation(Table.class);
+        String tableName = table.value().isEmpty()
+                ? type.getSimpleName().toString().toLowerCase() + "s"
+                : table.value();
+
+        List<String> primaryKeys = new ArrayList<>();
+        String versionColumn = "null";
+        for (MappedColumn column : columns) {
+            if (column.id) {
+                primaryKeys.add(literal(column.name));
+            }
+            if (column.version) {
+                versionColumn = literal(column.name);
+            }
+        }
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n")
+                .append(" * Maps {@link ").append(modelName).append("} to the table ").append(tableName).append(".\n")
+                .append(" * Generated by ").append(MapperProcessor.class.getName()).append(", do not edit.\n")
+                .append(" */\n")
+                .append("public final class ").append(mapperName)
+                .append(" implements org.bjloquent.mapping.ModelMapper<").append(modelName).append("> {\n\n");
+
+        source.append("    public static final String TABLE = ").append(literal(tableName)).append(";\n\n");
+        source.append("    private static final String[] COLUMNS = {");
+        for (int i = 0; i < columns.size(); i++) {
+            source.append(i == 0 ? "" : ", ").append(literal(columns.get(i).name));
+        }
+        source.append("};\n\n");
+        source.append("    private static final Class<?>[] TYPES = {");
+        for (int i = 0; i < columns.size(); i++) {
+            source.append(i == 0 ? "" : ", ").append(columns.get(i).type).append(".class");
+        }
+        source.append("};\n\n");
+
+        source.append("    @Override\n    public Class<").append(modelName).append("> getModelClass() {\n")
+                .append("        return ").append(modelName).append(".class;\n    }\n\n");
+        source.append("    @Override\n    public ").append(modelName).append(" newInstance() {\n")
+                .append("        return new ").append(modelName).append("();\n    }\n\n");
+        source.append("    @Override\n    public String getTableName() {\n        return TABLE;\n    }\n\n");
+        source.append("    @Override\n    public Object getPrimaryKey() {\n        return ")
+                .append(primaryKeys.size() == 1 ? primaryKeys.get(0) : "new String[]{" + String.join(", ", primaryKeys) + "}")
+                .append(";\n    }\n\n");
+        source.append("    @Override\n    public String getVersionColumn() {\n        return ").append(versionColumn).append(";\n    }\n\n");
+        source.append("    @Override\n    public String[] getColumnNames() {\n        return COLUMNS.clone();\n    }\n\n");
+        source.append("    @Override\n    public Class<?>[] getColumnTypes() {\n        return TYPES.clone();\n    }\n\n");
+
+        source.append("    @Override\n    public Object get(").append(modelName).append(" model, int column) {\n")
+                .append("        switch (column) {\n");
+        for (int i = 0; i < columns.size(); i++) {
+            source.append("            case ").append(i).append(":\n")
+                    .append("                return model.").append(columns.get(i).getter).append("();\n");
+        }
+        source.append("            default:\n")
+                .append("                throw new IndexOutOfBoundsException(\"No column \" + column + \" in \" + TABLE);\n")
+                .append("        }\n    }\n\n");
+
+        source.append("    @Override\n    public void set(").append(modelName).append(" model, int column, Object value) {\n")
+                .append("        switch (column) {\n");
+        for (int i = 0; i < columns.size(); i++) {
+            MappedColumn column = columns.get(i);
+            String box = BOXES.containsKey(column.type) ? BOXES.get(column.type) : column.type;
+            source.append("            case ").append(i).append(":\n")
+                    .append("                model.").append(column.setter).append("((").append(box).append(") value);\n")
+                    .append("                break;\n");
+        }
+        source.append("            default:\n")
+                .append("                throw new IndexOutOfBoundsException(\"No column \" + column + \" in \" + TABLE);\n")
+                .append("        }\n    }\n\n");
+
+        source.append("    @Override\n    public void read(").append(modelName)
+                .append(" model, int column, java.sql.ResultSet rs, int ordinal) throws java.sql.SQLException {\n")
+                .append("        switch (column) {\n");
+        for (int i = 0; i < columns.size(); i++) {
+            MappedColumn column = columns.get(i);
+            source.append("            case ").append(i).append(":\n");
+            String getter = GETTERS.get(column.type);
+            if (getter == null) {
+                source.append("                model.").append(column.setter).append("(rs.getObject(ordinal, ")
+                        .append(column.type).append(".class));\n");
+            } else if (column.type.startsWith("java.lang.") && !column.type.equals("java.lang.String")) {
+                // Boxed columns keep SQL NULL as null instead of 0 or false
+                source.append("                {\n")
+                        .append("                    ").append(column.type).append(" value = rs.").append(getter).append("(ordinal);\n")
+                        .append("                    model.").append(column.setter).append("(rs.wasNull() ? null : value);\n")
+                        .append("                }\n");
+            } else {
+                source.append("                model.").append(column.setter).append("(rs.").append(getter).append("(ordinal));\n");
+            }
+            source.append("                break;\n");
+        }
+        source.append("            default:\n")
+                .append("                throw new IndexOutOfBoundsException(\"No column \" + column + \" in \" + TABLE);\n")
+                .append("        }\n    }\n\n");
+
+        source.append("    @Override\n    public void bind(").append(modelName)
+                .append(" model, int column, java.sql.PreparedStatement ps, int index) throws java.sql.SQLException {\n")
+                .append("        switch (column) {\n");
+        for (int i = 0; i < columns.size(); i++) {
+            MappedColumn column = columns.get(i);
+            source.append("            case ").append(i).append(":\n");
+            String getter = GETTERS.get(column.type);
+            String sqlType = SQL_TYPES.get(column.type);
+            if (getter == null) {
+                source.append("                ps.setObject(index, model.").append(column.getter).append("());\n");
+            } else if (sqlType == null) {
+                // Primitive columns are bound without being boxed
+                source.append("                ps.set").append(getter.substring(3)).append("(index, model.")
+                        .append(column.getter).append("());\n");
+            } else {
+                source.append("                {\n")
+                        .append("                    ").append(column.type).append(" value = model.").append(column.getter).append("();\n")
+                        .append("                    if (value == null) {\n")
+                        .append("                        ps.setNull(index, java.sql.Types.").append(sqlType).append(");\n")
+                        .append("                    } else {\n")
+                        .append("                        ps.set").append(getter.substring(3)).append("(index, value);\n")
+                        .append("                    }\n")
+                        .append("                }\n");
+            }
+            source.append("                break;\n");
+        }
+        source.append("            default:\n")
+                .append("                throw new IndexOutOfBoundsException(\"No column \" + column + \" in \" + TABLE);\n")
+                .append("        }\n    }\n}\n");
+
+        String qualifiedName = packageName.isEmpty() ? mapperName : packageName + "." + mapperName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    private void writeIndex() {
+        if (models.isEmpty()) {
+            return;
+        }
+        try (Writer writer = processingEnv.getFiler()
+                .createResource(StandardLocation.CLASS_OUTPUT, "", Mappers.MODEL_INDEX)
+                .openWriter()) {
+            for (String model : models) {
+                writer.write(model);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write the model index: " + e.getMessage());
+        }
+    }
+
+    private static String literal(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static class MappedColumn {
+        private final String name;
+        private final String type;
+        private final String getter;
+        private final String setter;
+        private final boolean id;
+        private final boolean version;
+
+        private MappedColumn(String name, String type, String getter, String setter, boolean id, boolean version) {
+            this.name = name;
+            this.type = type;
+            this.getter = getter;
+            this.setter = setter;
+            this.id = id;
+            this.version = version;
+        }
+    }
+}
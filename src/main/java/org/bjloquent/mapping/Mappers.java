@@ -0,0 +1,129 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.mapping;
+
+import org.bjloquent.Model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds the mapper generated for a model class, named after the class with a
+ * <code>_Mapper</code> suffix in the same package.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public final class Mappers {
+
+    /**
+     * The resource listing the binary names of the mapped models, one per
+     * line, written by {@link MapperProcessor}.
+     */
+    public static final String MODEL_INDEX = "META-INF/bjloquent/models";
+
+    private static final Object NONE = new Object();
+
+    private static final ClassValue<Object> mappers = new ClassValue<Object>() {
+        @Override
+        protected Object computeValue(Class<?> modelClass) {
+            try {
+                Class<?> mapperClass = Class.forName(mapperName(modelClass), true, modelClass.getClassLoader());
+                return mapperClass.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return NONE;
+            }
+        }
+    };
+
+    private Mappers() {
+    }
+
+    /**
+     * Finds the mapper of a model class. The lookup is made once per class.
+     *
+     * @param modelClass the model class
+     * @param <M>        the model class
+     * @return the generated mapper, or null if the model is not annotated
+     * with {@link Table}
+     */
+    @SuppressWarnings("unchecked")
+    public static <M extends Model> ModelMapper<M> of(Class<M> modelClass) {
+        Object mapper = mappers.get(modelClass);
+        return mapper instanceof ModelMapper ? (ModelMapper<M>) mapper : null;
+    }
+
+    /**
+     * Lists the models mapped by every jar and class directory of a class
+     * loader.
+     *
+     * @param classLoader the class loader reading the model indexes
+     * @return the mapped model classes
+     * @throws IOException if an index can not be read
+     */
+    public static List<Class<? extends Model>> registered(ClassLoader classLoader) throws IOException {
+        Set<String> names = new LinkedHashSet<>();
+        Enumeration<URL> indexes = classLoader.getResources(MODEL_INDEX);
+        while (indexes.hasMoreElements()) {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(indexes.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.trim().isEmpty()) {
+                        names.add(line.trim());
+                    }
+                }
+            }
+        }
+
+        List<Class<? extends Model>> models = new ArrayList<>();
+        for (String name : names) {
+            try {
+                models.add(Class.forName(name, false, classLoader).asSubclass(Model.class));
+            } catch (ClassNotFoundException | ClassCastException e) {
+                throw new IOException("Could not load mapped model " + name, e);
+            }
+        }
+        return models;
+    }
+
+    /**
+     * @param modelClass the model class
+     * @return the binary name of its mapper, nested classes being flattened
+     * with underscores, e.g. <code>com.app.Outer_Player_Mapper</code>
+     */
+    static String mapperName(Class<?> modelClass) {
+        String name = modelClass.getName();
+        int dot = name.lastIndexOf('.');
+        return name.substring(0, dot + 1) + name.substring(dot + 1).replace('$', '_') + "_Mapper";
+    }
+}
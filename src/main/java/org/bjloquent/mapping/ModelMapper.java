@@ -0,0 +1,106 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.mapping;
+
+import org.bjloquent.Model;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Reads and writes the columns of a model without reflection. Implementations
+ * are generated by {@link MapperProcessor} for the models annotated with
+ * {@link Table}, and found with {@link Mappers#of(Class)}.
+ *
+ * @param <M> the model class
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public interface ModelMapper<M extends Model> {
+
+    public Class<M> getModelClass();
+
+    public M newInstance();
+
+    public String getTableName();
+
+    /**
+     * @return the primary key column, or an array of columns for a composite
+     * key, as in {@link Model#getPrimaryKey()}
+     */
+    public Object getPrimaryKey();
+
+    /**
+     * @return the version column, or null if the model is not versioned
+     */
+    public String getVersionColumn();
+
+    /**
+     * @return the column names, primary keys first then in declaration order
+     */
+    public String[] getColumnNames();
+
+    /**
+     * @return the Java type of every column
+     */
+    public Class<?>[] getColumnTypes();
+
+    /**
+     * @param model  the model
+     * @param column the index of the column in {@link #getColumnNames()}
+     * @return the value of the column, boxed
+     */
+    public Object get(M model, int column);
+
+    /**
+     * @param model  the model
+     * @param column the index of the column in {@link #getColumnNames()}
+     * @param value  the value of the column, boxed
+     */
+    public void set(M model, int column, Object value);
+
+    /**
+     * Sets a column of a model from the current row of a result set.
+     *
+     * @param model   the model
+     * @param column  the index of the column in {@link #getColumnNames()}
+     * @param rs      the result set
+     * @param ordinal the index of the column in the result set, starting at 1
+     * @throws SQLException if the column can not be read
+     */
+    public void read(M model, int column, ResultSet rs, int ordinal) throws SQLException;
+
+    /**
+     * Binds a column of a model to a statement parameter, primitive columns
+     * with the matching primitive setter without being boxed.
+     *
+     * @param model  the model
+     * @param column the index of the column in {@link #getColumnNames()}
+     * @param ps     the statement
+     * @param index  the index of the parameter, starting at 1
+     * @throws SQLException if the parameter can not be bound
+     */
+    public void bind(M model, int column, PreparedStatement ps, int index) throws SQLException;
+}
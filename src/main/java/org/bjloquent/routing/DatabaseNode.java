@@ -0,0 +1,342 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.routing;
+
+import org.bjloquent.DBConfig;
+import org.bjloquent.dialect.Dialect;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A database server the connector opens connections to, either the primary
+ * or one of its replicas. The node counts the connections it handed out and
+ * that were not released yet.
+ * <p>
+ * Connections are opened for every statement and closed afterwards unless the
+ * node keeps idle connections, see {@link #setPoolSize(int, int)}. Closing a
+ * pooled connection then hands it back to the node instead.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public class DatabaseNode {
+
+    private static final Set<String> loadedDrivers = ConcurrentHashMap.newKeySet();
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final DBConfig config;
+    private final AtomicInteger outstandingRequests = new AtomicInteger();
+    private final AtomicLong totalRequests = new AtomicLong();
+    private final BlockingDeque<Connection> idle = new LinkedBlockingDeque<>();
+    private volatile int minIdle = 0;
+    private volatile int maxIdle = 0;
+    private volatile boolean defaultsKnown = false;
+    private volatile int defaultIsolation;
+    private volatile String defaultCatalog;
+
+    public DatabaseNode(DBConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Opens a connection to the node, reusing an idle one when the node keeps
+     * some. An idle connection the server dropped meanwhile is discarded.
+     *
+     * @param dialect the dialect of the database
+     * @return the connection
+     * @throws SQLException if the driver is missing or the node is unreachable
+     */
+    public Connection open(Dialect dialect) throws SQLException {
+        if (maxIdle == 0) {
+            return connect(dialect);
+        }
+
+        Connection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            if (isValid(connection)) {
+                return pooled(connection);
+            }
+            closeQuietly(connection);
+        }
+
+        connection = connect(dialect);
+        if (!defaultsKnown) {
+            defaultIsolation = connection.getTransactionIsolation();
+            defaultCatalog = connection.getCatalog();
+            defaultsKnown = true;
+        }
+        return pooled(connection);
+    }
+
+    /**
+     * Opens a connection for a bulk load, with the bulk load properties of the
+     * dialect. It is never pooled, closing it closes it.
+     *
+     * @param dialect the dialect of the database
+     * @return the connection
+     * @throws SQLException if the driver is missing or the node is unreachable
+     */
+    public Connection openForBulkLoad(Dialect dialect) throws SQLException {
+        return connect(dialect, dialect.getBulkLoadProperties());
+    }
+
+    /**
+     * Sets how many idle connections the node keeps. By default it keeps none
+     * and every connection is closed once released.
+     *
+     * @param minIdle the number of connections opened on warm up
+     * @param maxIdle the number of released connections kept open, 0 to close
+     *                them all
+     */
+    public void setPoolSize(int minIdle, int maxIdle) {
+        if (minIdle < 0 || maxIdle < minIdle) {
+            throw new IllegalArgumentException("Invalid pool size " + minIdle + ".." + maxIdle);
+        }
+        this.minIdle = minIdle;
+        this.maxIdle = maxIdle;
+        while (idle.size() > maxIdle) {
+            Connection connection = idle.pollLast();
+            if (connection != null) {
+                closeQuietly(connection);
+            }
+        }
+    }
+
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    public int getMaxIdle() {
+        return maxIdle;
+    }
+
+    /**
+     * @return the number of connections kept open for the next statements
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Closes every idle connection.
+     */
+    public void clear() {
+        Connection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            closeQuietly(connection);
+        }
+    }
+
+    private Connection connect(Dialect dialect) throws SQLException {
+        return connect(dialect, new Properties());
+    }
+
+    private Connection connect(Dialect dialect, Properties extra) throws SQLException {
+        String driver = dialect.getDriverClassName();
+        if (!loadedDrivers.contains(driver)) {
+            try {
+                Class.forName(driver);
+            } catch (ClassNotFoundException e) {
+                throw new SQLException("Driver " + driver + " not found", e);
+            }
+            loadedDrivers.add(driver);
+        }
+        String url = dialect.getUrlPrefix() + config.getHostName() + ":" + config.getPortNumber() + "/" + config.getDatabaseName();
+
+        Properties properties = dialect.getConnectionProperties();
+        properties.putAll(extra);
+        if (config.getUsername() != null) {
+            properties.setProperty("user", config.getUsername());
+        }
+        if (config.getPassword() != null) {
+            properties.setProperty("password", config.getPassword());
+        }
+        return DriverManager.getConnection(url, properties);
+    }
+
+    /**
+     * Wraps a connection so that closing it gives it back to the node.
+     */
+    private Connection pooled(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                DatabaseNode.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new PooledConnection(connection)
+        );
+    }
+
+    private static boolean isValid(Connection connection) {
+        try {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Takes back a released connection, left as a new connection would be.
+     * A connection left in a transaction is rolled back, its read only flag,
+     * isolation level and catalog are restored.
+     */
+    private void recycle(Connection connection) throws SQLException {
+        if (connection.isClosed()) {
+            return;
+        }
+        if (idle.size() >= maxIdle) {
+            connection.close();
+            return;
+        }
+        try {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            if (connection.isReadOnly()) {
+                connection.setReadOnly(false);
+            }
+            if (connection.getTransactionIsolation() != defaultIsolation) {
+                connection.setTransactionIsolation(defaultIsolation);
+            }
+            if (defaultCatalog != null && !defaultCatalog.equals(connection.getCatalog())) {
+                connection.setCatalog(defaultCatalog);
+            }
+            connection.clearWarnings();
+        } catch (SQLException e) {
+            closeQuietly(connection);
+            throw e;
+        }
+        idle.offerFirst(connection);
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // The connection is dropped anyway
+        }
+    }
+
+    /**
+     * Hands out a pooled connection, closing the statements created through
+     * it when it is given back.
+     */
+    private final class PooledConnection implements InvocationHandler {
+        private final Connection connection;
+        private final List<Statement> statements = new ArrayList<>();
+        private boolean closed = false;
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        closeStatements();
+                        recycle(connection);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled " + connection;
+                default:
+                    if (closed) {
+                        throw new SQLException("Connection is closed");
+                    }
+                    Object result;
+                    try {
+                        result = method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (result instanceof Statement) {
+                        statements.add((Statement) result);
+                    }
+                    return result;
+            }
+        }
+
+        private void closeStatements() {
+            for (Statement statement : statements) {
+                try {
+                    statement.close();
+                } catch (SQLException ignored) {
+                    // The statement is dropped anyway
+                }
+            }
+            statements.clear();
+        }
+    }
+
+    void acquired() {
+        outstandingRequests.incrementAndGet();
+        totalRequests.incrementAndGet();
+    }
+
+    void released() {
+        outstandingRequests.decrementAndGet();
+    }
+
+    public DBConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * @return the number of connections handed out and not released yet
+     */
+    public int getOutstandingRequests() {
+        return outstandingRequests.get();
+    }
+
+    /**
+     * @return the number of connections handed out since the node was added
+     */
+    public long getTotalRequests() {
+        return totalRequests.get();
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.routing;
+
+import java.sql.Connection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Picks the replica serving a read and keeps track of the connections handed
+ * out to each replica until they are released.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public class ReplicaRouter {
+
+    private final List<DatabaseNode> replicas = new CopyOnWriteArrayList<>();
+    private final Map<Connection, DatabaseNode> leases = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile LoadBalancing loadBalancing = LoadBalancing.ROUND_ROBIN;
+
+    public void addReplica(DatabaseNode replica) {
+        replicas.add(replica);
+    }
+
+    public void removeReplica(DatabaseNode replica) {
+        replicas.remove(replica);
+    }
+
+    public List<DatabaseNode> getReplicas() {
+        return Collections.unmodifiableList(replicas);
+    }
+
+    public boolean hasReplicas() {
+        return !replicas.isEmpty();
+    }
+
+    public LoadBalancing getLoadBalancing() {
+        return loadBalancing;
+    }
+
+    public void setLoadBalancing(LoadBalancing loadBalancing) {
+        this.loadBalancing = loadBalancing;
+    }
+
+    /**
+     * @return the replica serving the next read, or null if there is none
+     */
+    public DatabaseNode select() {
+        Object[] nodes = replicas.toArray();
+        if (nodes.length == 0) {
+            return null;
+        }
+
+        int start = (next.getAndIncrement() & Integer.MAX_VALUE) % nodes.length;
+        if (loadBalancing == LoadBalancing.ROUND_ROBIN) {
+            return (DatabaseNode) nodes[start];
+        }
+
+        // Starting from the next replica in turn spreads the ties
+        DatabaseNode selected = null;
+        for (int i = 0; i < nodes.length; i++) {
+            DatabaseNode node = (DatabaseNode) nodes[(start + i) % nodes.length];
+            if (selected == null || node.getOutstandingRequests() < selected.getOutstandingRequests()) {
+                selected = node;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Records that a connection to a replica is in use.
+     *
+     * @param connection the connection
+     * @param replica    the replica it was opened to
+     */
+    public void lease(Connection connection, DatabaseNode replica) {
+        replica.acquired();
+        leases.put(connection, replica);
+    }
+
+    /**
+     * Records that a connection is no longer in use.
+     *
+     * @param connection the connection
+     * @return false if the connection was not leased by this router
+     */
+    public boolean release(Connection connection) {
+        DatabaseNode replica = leases.remove(connection);
+        if (replica == null) {
+            return false;
+        }
+        replica.released();
+        return true;
+    }
+}
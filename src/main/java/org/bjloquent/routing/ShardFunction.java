@@ -0,0 +1,89 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.routing;
+
+/**
+ * Maps the shard key of a row to the shard holding it. A model picks its
+ * function in its constructor, next to its shard key, e.g.
+ * <code>shardFunction = ShardFunction.range("h", "p");</code> for three shards.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public interface ShardFunction {
+
+    /**
+     * @param key        the value of the shard key
+     * @param shardCount the number of shards
+     * @return the index of the shard holding the key, between 0 and
+     * <code>shardCount - 1</code>
+     */
+    public int shardOf(Object key, int shardCount);
+
+    /**
+     * Spreads the keys evenly by hashing their string form, which gives the
+     * same shard in every JVM for strings, numbers and UUIDs.
+     *
+     * @return the function
+     */
+    public static ShardFunction hash() {
+        return (key, shardCount) -> {
+            int hash = key == null ? 0 : key.toString().hashCode();
+            // Mixes the bits so that close keys land on different shards
+            hash ^= hash >>> 16;
+            hash *= 0x85ebca6b;
+            hash ^= hash >>> 13;
+            hash *= 0xc2b2ae35;
+            hash ^= hash >>> 16;
+            return Math.floorMod(hash, shardCount);
+        };
+    }
+
+    /**
+     * Keeps ranges of keys together: a key goes to the first shard whose
+     * upper bound is greater than the key, and to the last shard when it is
+     * greater than every bound.
+     *
+     * @param upperBounds the exclusive upper bound of every shard but the
+     *                    last, in ascending order
+     * @return the function
+     */
+    @SuppressWarnings("unchecked")
+    public static ShardFunction range(Comparable<?>... upperBounds) {
+        return (key, shardCount) -> {
+            if (upperBounds.length != shardCount - 1) {
+                throw new IllegalStateException(upperBounds.length + " range bounds given for " + shardCount + " shards");
+            }
+            if (key == null) {
+                return 0;
+            }
+            for (int i = 0; i < upperBounds.length; i++) {
+                if (((Comparable<Object>) upperBounds[i]).compareTo(key) > 0) {
+                    return i;
+                }
+            }
+            return upperBounds.length;
+        };
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.routing;
+
+import org.bjloquent.instrumentation.QueryTrace;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A read run on one connection, possibly once per shard in parallel.
+ *
+ * @param <T> the result of the read
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+@FunctionalInterface
+public interface ShardQuery<T> {
+
+    /**
+     * @param connection the connection to read from, released by the caller
+     * @param trace      the trace of the statement, disabled when the read runs
+     *                   on several shards at once
+     * @return the result
+     * @throws SQLException                if the statement fails
+     * @throws ReflectiveOperationException if a model can not be hydrated
+     */
+    public T run(Connection connection, QueryTrace trace) throws SQLException, ReflectiveOperationException;
+}
@@ -0,0 +1,167 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.routing;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The shards of the sharded models, and the threads reading from several
+ * shards at once.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public class ShardRouter {
+
+    private final List<DatabaseNode> shards = new CopyOnWriteArrayList<>();
+    private volatile ExecutorService executor;
+    private volatile Comparator<String> stringOrder;
+
+    public void addShard(DatabaseNode shard) {
+        shards.add(shard);
+    }
+
+    /**
+     * Removes a shard, the following shards taking its index.
+     *
+     * @param shard the shard
+     */
+    public void removeShard(DatabaseNode shard) {
+        shards.remove(shard);
+    }
+
+    public List<DatabaseNode> getShards() {
+        return Collections.unmodifiableList(shards);
+    }
+
+    public DatabaseNode getShard(int index) {
+        return shards.get(index);
+    }
+
+    public int size() {
+        return shards.size();
+    }
+
+    /**
+     * Sets the order of text values when merging the rows sorted by every
+     * shard. It must match the collation of the sorted columns, or the merged
+     * rows are not in order.
+     *
+     * @param stringOrder the order, null for the one of the dialect
+     */
+    public void setStringOrder(Comparator<String> stringOrder) {
+        this.stringOrder = stringOrder;
+    }
+
+    /**
+     * @return the order of text values, null for the one of the dialect
+     */
+    public Comparator<String> getStringOrder() {
+        return stringOrder;
+    }
+
+    /**
+     * Runs tasks in parallel, the first one on the calling thread.
+     *
+     * @param tasks the tasks, usually one per shard
+     * @param <T>   the result of a task
+     * @return the results, in the order of the tasks
+     * @throws SQLException                if a task fails with a statement error
+     * @throws ReflectiveOperationException if a task fails to hydrate a model
+     */
+    public <T> List<T> invokeAll(List<Callable<T>> tasks) throws SQLException, ReflectiveOperationException {
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 1; i < tasks.size(); i++) {
+            futures.add(executor().submit(tasks.get(i)));
+        }
+
+        List<T> results = new ArrayList<>();
+        try {
+            if (!tasks.isEmpty()) {
+                results.add(tasks.get(0).call());
+            }
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while reading from the shards", e);
+        } catch (Exception e) {
+            rethrow(e);
+        } finally {
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return results;
+    }
+
+    private static void rethrow(Throwable cause) throws SQLException, ReflectiveOperationException {
+        if (cause instanceof SQLException) {
+            throw (SQLException) cause;
+        }
+        if (cause instanceof ReflectiveOperationException) {
+            throw (ReflectiveOperationException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        throw new SQLException(cause);
+    }
+
+    private ExecutorService executor() {
+        ExecutorService current = executor;
+        if (current == null) {
+            synchronized (this) {
+                current = executor;
+                if (current == null) {
+                    AtomicInteger threads = new AtomicInteger();
+                    current = Executors.newCachedThreadPool(task -> {
+                        Thread thread = new Thread(task, "bjloquent-shard-" + threads.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    executor = current;
+                }
+            }
+        }
+        return current;
+    }
+}
@@ -24,32 +24,305 @@
 
 package org.bjloquent.schema;
 
+import org.bjloquent.dialect.Dialect;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 /**
+ * Describes the changes made to a table: the table creation, or the columns
+ * and indexes added to or dropped from an existing table.
+ * <pre>
+ * Scheme.create("players", table -&gt; {
+ *     table.uuid("uuid").primary();
+ *     table.string("name");
+ *     table.integer("score").defaultValue(0).index();
+ *     table.timestamps();
+ *     table.engine("InnoDB");
+ * });
+ * </pre>
+ * Index names are built from the table and column names, e.g.
+ * <code>players_score_index</code>. The engine and the partitioning only
+ * apply when the table is created.
  *
  * @author derickfelix
  * @date Mar 18, 2018
  */
 public class Blueprint {
 
-    
-    public void increments(String column) {
-    //    this.addColumn("unsigned integer",column)
+    private final String tableName;
+    private boolean create = false;
+    private boolean drop = false;
+    private final List<ColumnDefinition> columns = new ArrayList<>();
+    private final List<String> droppedColumns = new ArrayList<>();
+    private final List<String> primaryKey = new ArrayList<>();
+    private final List<Index> indexes = new ArrayList<>();
+    private final List<String> droppedIndexes = new ArrayList<>();
+    private String engine;
+    private String partitionColumn;
+    private int partitions;
+
+    public Blueprint(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Creates the table instead of altering it.
+     */
+    public void create() {
+        this.create = true;
+    }
+
+    /**
+     * @return whether the table is created instead of altered
+     */
+    public boolean isCreating() {
+        return create;
+    }
+
+    /**
+     * Adds an auto-incremented integer primary key.
+     *
+     * @param column the column name
+     * @return the column
+     */
+    public ColumnDefinition increments(String column) {
+        return addColumn(column, ColumnType.INCREMENTS, 0, 0).primary();
+    }
+
+    public ColumnDefinition bigIncrements(String column) {
+        return addColumn(column, ColumnType.BIG_INCREMENTS, 0, 0).primary();
+    }
+
+    public ColumnDefinition integer(String column) {
+        return addColumn(column, ColumnType.INTEGER, 0, 0);
+    }
+
+    public ColumnDefinition bigInteger(String column) {
+        return addColumn(column, ColumnType.BIG_INTEGER, 0, 0);
+    }
+
+    public ColumnDefinition smallInteger(String column) {
+        return addColumn(column, ColumnType.SMALL_INTEGER, 0, 0);
+    }
+
+    public ColumnDefinition bool(String column) {
+        return addColumn(column, ColumnType.BOOLEAN, 0, 0);
+    }
+
+    /**
+     * @param column    the column name
+     * @param precision the total number of digits
+     * @param scale     the number of digits after the decimal point
+     * @return the column
+     */
+    public ColumnDefinition decimal(String column, int precision, int scale) {
+        return addColumn(column, ColumnType.DECIMAL, precision, scale);
+    }
+
+    public ColumnDefinition doublePrecision(String column) {
+        return addColumn(column, ColumnType.DOUBLE, 0, 0);
+    }
+
+    /**
+     * Adds a <code>VARCHAR(255)</code> column.
+     *
+     * @param column the column name
+     * @return the column
+     */
+    public ColumnDefinition string(String column) {
+        return string(column, 255);
+    }
+
+    public ColumnDefinition string(String column, int length) {
+        return addColumn(column, ColumnType.STRING, length, 0);
+    }
+
+    public ColumnDefinition text(String column) {
+        return addColumn(column, ColumnType.TEXT, 0, 0);
+    }
+
+    /**
+     * Adds a column holding a UUID in its 36 characters form.
+     *
+     * @param column the column name
+     * @return the column
+     */
+    public ColumnDefinition uuid(String column) {
+        return addColumn(column, ColumnType.UUID, 0, 0);
+    }
+
+    public ColumnDefinition date(String column) {
+        return addColumn(column, ColumnType.DATE, 0, 0);
     }
-    
-    public void string(String column) {
-      //  this.addColumn("string",column)
+
+    public ColumnDefinition timestamp(String column) {
+        return addColumn(column, ColumnType.TIMESTAMP, 0, 0);
     }
-    
-    public void text(String column) {
-       //this.addColumn("text",column) 
+
+    public ColumnDefinition binary(String column) {
+        return addColumn(column, ColumnType.BINARY, 0, 0);
     }
-    
+
+    /**
+     * Adds the nullable <code>created_at</code> and <code>updated_at</code>
+     * timestamp columns.
+     */
     public void timestamps() {
-       //this.timestamps();
+        timestamp("created_at").nullable();
+        timestamp("updated_at").nullable();
+    }
+
+    private ColumnDefinition addColumn(String column, ColumnType type, int length, int scale) {
+        ColumnDefinition definition = new ColumnDefinition(this, column, type, length, scale);
+        columns.add(definition);
+        return definition;
+    }
+
+    /**
+     * Sets the primary key, composite when several columns are given.
+     *
+     * @param columns the columns of the key
+     */
+    public void primary(String... columns) {
+        primaryKey.clear();
+        primaryKey.addAll(Arrays.asList(columns));
+    }
+
+    /**
+     * Adds a unique index, composite when several columns are given.
+     *
+     * @param columns the indexed columns
+     */
+    public void unique(String... columns) {
+        indexes.add(new Index(indexName(columns, "unique"), Arrays.asList(columns), true));
+    }
+
+    /**
+     * Adds an index, composite when several columns are given. The leftmost
+     * columns of a composite index serve the conditions on them alone.
+     *
+     * @param columns the indexed columns
+     */
+    public void index(String... columns) {
+        indexes.add(new Index(indexName(columns, "index"), Arrays.asList(columns), false));
+    }
+
+    private String indexName(String[] columns, String suffix) {
+        return tableName + "_" + String.join("_", columns) + "_" + suffix;
+    }
+
+    public void dropColumn(String column) {
+        droppedColumns.add(column);
+    }
+
+    /**
+     * @param index the index name, e.g. <code>players_score_index</code>
+     */
+    public void dropIndex(String index) {
+        droppedIndexes.add(index);
     }
-    
+
+    /**
+     * Drops the table if it exists, every other change is ignored.
+     */
     public void dropIfExists() {
-        
+        this.drop = true;
+    }
+
+    /**
+     * @param engine the storage engine, e.g. <code>InnoDB</code>, ignored by
+     *               databases without engines
+     */
+    public void engine(String engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Spreads the rows into partitions by hashing a column. The column must
+     * be part of the primary key and of every unique index.
+     *
+     * @param column     the hashed column
+     * @param partitions the number of partitions
+     */
+    public void partitionByHash(String column, int partitions) {
+        this.partitionColumn = column;
+        this.partitions = partitions;
+    }
+
+    public List<ColumnDefinition> getColumns() {
+        return Collections.unmodifiableList(columns);
+    }
+
+    /**
+     * @param dialect the dialect of the database
+     * @return the statements applying this blueprint, in order
+     */
+    public List<String> toSql(Dialect dialect) {
+        List<String> statements = new ArrayList<>();
+        String table = dialect.quote(tableName);
+        if (drop) {
+            statements.add("DROP TABLE IF EXISTS " + table);
+            return statements;
+        }
+
+        if (create) {
+            List<String> definitions = new ArrayList<>();
+            for (ColumnDefinition column : columns) {
+                definitions.add(column.toSql(dialect));
+            }
+            if (!primaryKey.isEmpty()) {
+                definitions.add("PRIMARY KEY (" + columnList(dialect, primaryKey) + ")");
+            }
+            statements.addAll(dialect.createTable(tableName, definitions, engine, partitionColumn, partitions));
+        } else {
+            for (String index : droppedIndexes) {
+                statements.add(dialect.dropIndex(tableName, index));
+            }
+            for (String column : droppedColumns) {
+                statements.add("ALTER TABLE " + table + " DROP COLUMN " + dialect.quote(column));
+            }
+            for (ColumnDefinition column : columns) {
+                statements.add("ALTER TABLE " + table + " ADD COLUMN " + column.toSql(dialect));
+            }
+            if (!primaryKey.isEmpty()) {
+                statements.add("ALTER TABLE " + table + " ADD PRIMARY KEY (" + columnList(dialect, primaryKey) + ")");
+            }
+        }
+
+        for (Index index : indexes) {
+            statements.add("CREATE " + (index.unique ? "UNIQUE " : "") + "INDEX " + dialect.quote(index.name)
+                    + " ON " + table + " (" + columnList(dialect, index.columns) + ")");
+        }
+        return statements;
+    }
+
+    private static String columnList(Dialect dialect, List<String> columns) {
+        StringBuilder list = new StringBuilder();
+        for (int i = 0; i < columns.size(); i++) {
+            list.append(dialect.quote(columns.get(i)));
+            if ((i + 1) < columns.size()) {
+                list.append(", ");
+            }
+        }
+        return list.toString();
+    }
+
+    private static class Index {
+        private final String name;
+        private final List<String> columns;
+        private final boolean unique;
+
+        private Index(String name, List<String> columns, boolean unique) {
+            this.name = name;
+            this.columns = columns;
+            this.unique = unique;
+        }
     }
-    
 }
@@ -0,0 +1,142 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.schema;
+
+import org.bjloquent.dialect.Dialect;
+
+/**
+ * A column declared in a {@link Blueprint}, refined with chained calls, e.g.
+ * <code>table.string("email").nullable().unique();</code>. Columns are
+ * <code>NOT NULL</code> unless declared nullable.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public class ColumnDefinition {
+
+    private final Blueprint blueprint;
+    private final String name;
+    private final ColumnType type;
+    private final int length;
+    private final int scale;
+    private boolean nullable = false;
+    private String defaultExpression;
+
+    ColumnDefinition(Blueprint blueprint, String name, ColumnType type, int length, int scale) {
+        this.blueprint = blueprint;
+        this.name = name;
+        this.type = type;
+        this.length = length;
+        this.scale = scale;
+    }
+
+    public ColumnDefinition nullable() {
+        this.nullable = true;
+        return this;
+    }
+
+    /**
+     * @param value the default value, a string, a number or a boolean
+     * @return this column
+     */
+    public ColumnDefinition defaultValue(Object value) {
+        if (value == null) {
+            defaultExpression = "NULL";
+        } else if (value instanceof Number) {
+            defaultExpression = value.toString();
+        } else if (value instanceof Boolean) {
+            defaultExpression = (Boolean) value ? "TRUE" : "FALSE";
+        } else {
+            defaultExpression = "'" + value.toString().replace("'", "''") + "'";
+        }
+        return this;
+    }
+
+    /**
+     * Defaults a timestamp column to the time of the insert.
+     *
+     * @return this column
+     */
+    public ColumnDefinition useCurrent() {
+        defaultExpression = "CURRENT_TIMESTAMP";
+        return this;
+    }
+
+    /**
+     * Adds a unique index on this column alone.
+     *
+     * @return this column
+     */
+    public ColumnDefinition unique() {
+        blueprint.unique(name);
+        return this;
+    }
+
+    /**
+     * Adds an index on this column alone.
+     *
+     * @return this column
+     */
+    public ColumnDefinition index() {
+        blueprint.index(name);
+        return this;
+    }
+
+    /**
+     * Makes this column the primary key of the table.
+     *
+     * @return this column
+     */
+    public ColumnDefinition primary() {
+        blueprint.primary(name);
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ColumnType getType() {
+        return type;
+    }
+
+    public boolean isNullable() {
+        return nullable;
+    }
+
+    /**
+     * @param dialect the dialect of the database
+     * @return the definition of the column in a create or alter statement
+     */
+    public String toSql(Dialect dialect) {
+        StringBuilder sql = new StringBuilder(dialect.quote(name))
+                .append(" ")
+                .append(dialect.columnType(type, length, scale))
+                .append(nullable ? " NULL" : " NOT NULL");
+        if (defaultExpression != null) {
+            sql.append(" DEFAULT ").append(defaultExpression);
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.schema;
+
+import org.bjloquent.Connector;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Collects the conditions and sorts of the <code>where</code> and
+ * <code>select</code> queries, and suggests the indexes missing for them.
+ * <pre>
+ * IndexAdvisor advisor = new IndexAdvisor();
+ * Connector.getInstance().setIndexAdvisor(advisor);
+ * // run the application
+ * for (IndexSuggestion suggestion : advisor.advise()) {
+ *     System.out.println(suggestion);
+ * }
+ * </pre>
+ * Queries are grouped by shape: the table, the columns compared for
+ * equality, the columns compared with a range and the sorted columns. Only
+ * the first statement of each shape is kept, and it is explained when
+ * {@link #advise()} is called, never while the queries run. A suggested
+ * index puts the equality columns first, then the sorted columns, then one
+ * range column.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public class IndexAdvisor {
+
+    private final Map<String, Shape> shapes = new ConcurrentHashMap<>();
+    private final int maxShapes;
+
+    public IndexAdvisor() {
+        this(1000);
+    }
+
+    /**
+     * @param maxShapes the number of distinct shapes collected, the following
+     *                  ones are ignored
+     */
+    public IndexAdvisor(int maxShapes) {
+        this.maxShapes = maxShapes;
+    }
+
+    /**
+     * Records a query.
+     *
+     * @param tableName    the table queried
+     * @param columns      the columns of the conditions
+     * @param operators    the operator of each condition
+     * @param orderColumns the sorted columns
+     * @param sql          the statement
+     * @param values       the values of its placeholders
+     */
+    public void observe(String tableName, List<String> columns, List<String> operators, List<String> orderColumns,
+                        String sql, List<Object> values) {
+        TreeSet<String> equalities = new TreeSet<>();
+        TreeSet<String> ranges = new TreeSet<>();
+        for (int i = 0; i < columns.size(); i++) {
+            switch (operators.get(i).trim().toUpperCase()) {
+                case "=":
+                case "<=>":
+                case "IS":
+                case "IN":
+                    equalities.add(columns.get(i));
+                    break;
+                case "<":
+                case "<=":
+                case ">":
+                case ">=":
+                case "LIKE":
+                case "BETWEEN":
+                    ranges.add(columns.get(i));
+                    break;
+                default:
+                    // Negations can not use an index
+                    break;
+            }
+        }
+
+        String key = tableName + "|" + equalities + "|" + ranges + "|" + orderColumns;
+        Shape shape = shapes.get(key);
+        if (shape == null) {
+            if (shapes.size() >= maxShapes) {
+                return;
+            }
+            List<String> indexColumns = new ArrayList<>(equalities);
+            for (String column : orderColumns) {
+                if (!indexColumns.contains(column)) {
+                    indexColumns.add(column);
+                }
+            }
+            if (!ranges.isEmpty() && !indexColumns.contains(ranges.first())) {
+                indexColumns.add(ranges.first());
+            }
+            Shape created = new Shape(tableName, indexColumns, sql, new ArrayList<>(values));
+            Shape previous = shapes.putIfAbsent(key, created);
+            shape = previous == null ? created : previous;
+        }
+        shape.count.increment();
+    }
+
+    /**
+     * Explains a statement of every shape not explained yet, and suggests an
+     * index for the shapes scanning a whole table. Shapes that would use the
+     * same index are counted together.
+     *
+     * @return the suggestions, the most frequent first
+     */
+    public List<IndexSuggestion> advise() {
+        Connector connector = Connector.getInstance();
+        Map<String, IndexSuggestion> suggestions = new LinkedHashMap<>();
+        Connection connection = null;
+        try {
+            connection = connector.openForRead();
+            for (Shape shape : shapes.values()) {
+                if (shape.indexColumns.isEmpty()) {
+                    continue;
+                }
+                if (shape.fullScan == null) {
+                    shape.fullScan = connector.getDialect().isFullScan(connection, shape.sampleSql, shape.sampleValues);
+                }
+                if (!shape.fullScan) {
+                    continue;
+                }
+
+                String key = shape.tableName + "|" + shape.indexColumns;
+                IndexSuggestion previous = suggestions.get(key);
+                long count = shape.count.sum() + (previous == null ? 0 : previous.getCount());
+                suggestions.put(key, new IndexSuggestion(shape.tableName, shape.indexColumns, count, shape.sampleSql));
+            }
+        } catch (SQLException e) {
+            Logger.getLogger(IndexAdvisor.class.getName()).log(Level.SEVERE, "Could not explain the observed queries", e);
+        } finally {
+            connector.release(connection);
+        }
+
+        List<IndexSuggestion> sorted = new ArrayList<>(suggestions.values());
+        sorted.sort((first, second) -> Long.compare(second.getCount(), first.getCount()));
+        return sorted;
+    }
+
+    /**
+     * @return the number of queries observed per shape
+     */
+    public Map<String, Long> getShapes() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, Shape> shape : shapes.entrySet()) {
+            counts.put(shape.getKey(), shape.getValue().count.sum());
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    public void reset() {
+        shapes.clear();
+    }
+
+    private static class Shape {
+        private final String tableName;
+        private final List<String> indexColumns;
+        private final String sampleSql;
+        private final List<Object> sampleValues;
+        private final LongAdder count = new LongAdder();
+        private volatile Boolean fullScan;
+
+        private Shape(String tableName, List<String> indexColumns, String sampleSql, List<Object> sampleValues) {
+            this.tableName = tableName;
+            this.indexColumns = indexColumns;
+            this.sampleSql = sampleSql;
+            this.sampleValues = sampleValues;
+        }
+    }
+}
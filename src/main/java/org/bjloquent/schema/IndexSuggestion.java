@@ -0,0 +1,106 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.schema;
+
+import org.bjloquent.dialect.Dialect;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An index that would spare a table scan to the statements observed by an
+ * {@link IndexAdvisor}.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public class IndexSuggestion {
+
+    private final String tableName;
+    private final List<String> columns;
+    private final long count;
+    private final String sampleSql;
+
+    public IndexSuggestion(String tableName, List<String> columns, long count, String sampleSql) {
+        this.tableName = tableName;
+        this.columns = Collections.unmodifiableList(columns);
+        this.count = count;
+        this.sampleSql = sampleSql;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * @return the columns of the index, in order
+     */
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return the number of observed statements that would use the index
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return one of the statements scanning the table
+     */
+    public String getSampleSql() {
+        return sampleSql;
+    }
+
+    /**
+     * @return the blueprint call declaring the index in a migration of the
+     * table, e.g. <code>table.index("name", "score");</code>
+     */
+    public String toBlueprint() {
+        StringBuilder call = new StringBuilder("table.index(");
+        for (int i = 0; i < columns.size(); i++) {
+            call.append('"').append(columns.get(i)).append('"');
+            if ((i + 1) < columns.size()) {
+                call.append(", ");
+            }
+        }
+        return call.append(");").toString();
+    }
+
+    /**
+     * @param dialect the dialect of the database
+     * @return the statement creating the index
+     */
+    public String toSql(Dialect dialect) {
+        Blueprint table = new Blueprint(tableName);
+        table.index(columns.toArray(new String[0]));
+        return table.toSql(dialect).get(0);
+    }
+
+    @Override
+    public String toString() {
+        return tableName + ": " + toBlueprint() + " // " + count + " statements scanning the table, e.g. " + sampleSql;
+    }
+}
@@ -25,6 +25,10 @@
 package org.bjloquent.schema;
 
 /**
+ * A change of the schema, applied by {@link Migrator} with
+ * {@link #up(Blueprint)} and reverted with {@link #down(Blueprint)}. Both
+ * receive a blueprint of {@link #getTableName()}, to be created with
+ * {@link Blueprint#create()} or altered.
  *
  * @author derickfelix
  * @date Mar 18, 2018
@@ -36,5 +40,13 @@ public interface Migration {
     public void down(Blueprint table);
     
     public String getTableName();
-    
+
+    /**
+     * @return the name recorded in the versions table once the migration is
+     * applied, which must not change afterwards
+     */
+    public default String getName() {
+        return getClass().getName();
+    }
+
 }
@@ -0,0 +1,268 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2018 Derick Felix.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.bjloquent.schema;
+
+import org.bjloquent.Connector;
+import org.bjloquent.dialect.Dialect;
+import org.bjloquent.instrumentation.QueryTrace;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Applies migrations in order and records them in a versions table, so that
+ * each one runs once per database.
+ * <pre>
+ * Migrator migrator = new Migrator(new CreatePlayersTable(), new AddPlayersScoreIndex());
+ * migrator.migrate();
+ * </pre>
+ * The migrations applied by one call to {@link #migrate()} form a batch,
+ * which {@link #rollback()} reverts as a whole.
+ *
+ * @author SofianeLasri
+ * @date October, 19 2026
+ */
+public class Migrator {
+
+    private final List<Migration> migrations;
+    private String versionsTable = "migrations";
+
+    public Migrator(List<Migration> migrations) {
+        this.migrations = new ArrayList<>(migrations);
+    }
+
+    public Migrator(Migration... migrations) {
+        this(Arrays.asList(migrations));
+    }
+
+    /**
+     * @param versionsTable the table recording the applied migrations,
+     *                      <code>migrations</code> by default
+     */
+    public void setVersionsTable(String versionsTable) {
+        this.versionsTable = versionsTable;
+    }
+
+    /**
+     * @return the names of the applied migrations, in the order they were
+     * applied, empty if the versions table could not be read
+     */
+    public List<String> getApplied() {
+        Map<String, Integer> versions = versions();
+        return versions == null ? new ArrayList<>() : new ArrayList<>(versions.keySet());
+    }
+
+    /**
+     * @return the names of the migrations not applied yet, in order, empty if
+     * the versions table could not be read
+     */
+    public List<String> getPending() {
+        Map<String, Integer> versions = versions();
+        List<String> pending = new ArrayList<>();
+        if (versions == null) {
+            return pending;
+        }
+        for (Migration migration : migrations) {
+            if (!versions.containsKey(migration.getName())) {
+                pending.add(migration.getName());
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Applies the pending migrations in order, stopping at the first one that
+     * fails. Nothing is applied if the versions table can not be read.
+     *
+     * @return the names of the applied migrations
+     */
+    public List<String> migrate() {
+        List<String> applied = new ArrayList<>();
+        if (!Scheme.hasTable(versionsTable) && !Scheme.create(versionsTable, table -> {
+            table.increments("id");
+            table.string("migration").unique();
+            table.integer("batch");
+        })) {
+            return applied;
+        }
+
+        Map<String, Integer> versions = versions();
+        if (versions == null) {
+            return applied;
+        }
+        int batch = versions.isEmpty() ? 1 : Collections.max(versions.values()) + 1;
+        for (Migration migration : migrations) {
+            if (versions.containsKey(migration.getName())) {
+                continue;
+            }
+
+            Blueprint table = new Blueprint(migration.getTableName());
+            migration.up(table);
+            if (!Scheme.build(table)
+                    || !update("INSERT INTO %s (%s, %s) VALUES (?, ?)", migration.getName(), batch)) {
+                Logger.getLogger(Migrator.class.getName()).log(
+                        Level.SEVERE,
+                        "Migration " + migration.getName() + " failed, the following ones were not applied"
+                );
+                break;
+            }
+            applied.add(migration.getName());
+        }
+        return applied;
+    }
+
+    /**
+     * Reverts the migrations of the last batch, in reverse order, stopping at
+     * the first one that fails. Nothing is reverted if the versions table can
+     * not be read.
+     *
+     * @return the names of the reverted migrations
+     */
+    public List<String> rollback() {
+        List<String> reverted = new ArrayList<>();
+        Map<String, Integer> versions = versions();
+        if (versions == null || versions.isEmpty()) {
+            return reverted;
+        }
+
+        int batch = Collections.max(versions.values());
+        List<String> names = new ArrayList<>();
+        for (Map.Entry<String, Integer> version : versions.entrySet()) {
+            if (version.getValue() == batch) {
+                names.add(0, version.getKey());
+            }
+        }
+
+        for (String name : names) {
+            Migration migration = find(name);
+            if (migration == null) {
+                Logger.getLogger(Migrator.class.getName()).log(
+                        Level.SEVERE,
+                        "Migration " + name + " is applied but unknown, it can not be reverted"
+                );
+                break;
+            }
+
+            Blueprint table = new Blueprint(migration.getTableName());
+            migration.down(table);
+            if (!Scheme.build(table) || !update("DELETE FROM %s WHERE %s = ?", name)) {
+                Logger.getLogger(Migrator.class.getName()).log(
+                        Level.SEVERE,
+                        "Reverting migration " + name + " failed, the previous ones were not reverted"
+                );
+                break;
+            }
+            reverted.add(name);
+        }
+        return reverted;
+    }
+
+    private Migration find(String name) {
+        for (Migration migration : migrations) {
+            if (migration.getName().equals(name)) {
+                return migration;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the batch of every applied migration, in the order they were
+     * applied, null if the versions table could not be read
+     */
+    private Map<String, Integer> versions() {
+        Map<String, Integer> versions = new LinkedHashMap<>();
+        if (!Scheme.hasTable(versionsTable)) {
+            return versions;
+        }
+
+        Connector connector = Connector.getInstance();
+        Dialect dialect = connector.getDialect();
+        String sql = "SELECT " + dialect.quote("migration") + ", " + dialect.quote("batch")
+                + " FROM " + dialect.quote(versionsTable) + " ORDER BY " + dialect.quote("id");
+        QueryTrace trace = connector.trace(sql);
+        Connection connection = connector.open();
+        trace.connected();
+        try (PreparedStatement statement = connection.prepareStatement(sql); ResultSet rs = statement.executeQuery()) {
+            trace.executed();
+            while (rs.next()) {
+                versions.put(rs.getString(1), rs.getInt(2));
+            }
+            trace.hydrated();
+            trace.finish(versions.size());
+        } catch (SQLException e) {
+            trace.fail(e);
+            Logger.getLogger(Migrator.class.getName()).log(Level.SEVERE, "Could not read the applied migrations", e);
+            // Every migration would look pending, and run again
+            return null;
+        } finally {
+            connector.release(connection);
+        }
+        return versions;
+    }
+
+    /**
+     * Runs a statement on the versions table.
+     *
+     * @param format the statement, with the table then the columns
+     *               <code>migration</code> and <code>batch</code> as
+     *               <code>%s</code>
+     * @param values the values of the placeholders
+     * @return false if the statement failed
+     */
+    private boolean update(String format, Object... values) {
+        Connector connector = Connector.getInstance();
+        Dialect dialect = connector.getDialect();
+        String sql = String.format(format, dialect.quote(versionsTable), dialect.quote("migration"), dialect.quote("batch"));
+        QueryTrace trace = connector.trace(sql);
+        Connection connection = connector.open();
+        trace.connected();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            trace.bound();
+            int rows = statement.executeUpdate();
+            trace.executed();
+            trace.finish(rows);
+            return true;
+        } catch (SQLException e) {
+            trace.fail(e);
+            Logger.getLogger(Migrator.class.getName()).log(Level.SEVERE, "Could not update " + versionsTable, e);
+        } finally {
+            connector.release(connection);
+        }
+        return false;
+    }
+}
@@ -24,19 +24,106 @@
 
 package org.bjloquent.schema;
 
+import org.bjloquent.Connector;
+import org.bjloquent.instrumentation.QueryTrace;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
 /**
+ * Creates, alters and drops tables on the primary database.
  *
  * @author derickfelix
  * @date Mar 18, 2018
  */
 public class Scheme {
 
-    public static void create(String table) {
-        
+    /**
+     * Creates a table.
+     *
+     * @param table      the table name
+     * @param definition declares the columns and indexes of the table
+     * @return false if a statement failed
+     */
+    public static boolean create(String table, Consumer<Blueprint> definition) {
+        Blueprint blueprint = new Blueprint(table);
+        blueprint.create();
+        definition.accept(blueprint);
+        return build(blueprint);
     }
-    
-    public static void dropIfExists(String table) {
-        
+
+    /**
+     * Alters a table.
+     *
+     * @param table      the table name
+     * @param definition declares the columns and indexes added or dropped
+     * @return false if a statement failed
+     */
+    public static boolean table(String table, Consumer<Blueprint> definition) {
+        Blueprint blueprint = new Blueprint(table);
+        definition.accept(blueprint);
+        return build(blueprint);
+    }
+
+    public static boolean dropIfExists(String table) {
+        Blueprint blueprint = new Blueprint(table);
+        blueprint.dropIfExists();
+        return build(blueprint);
+    }
+
+    /**
+     * @param table the table name
+     * @return whether the table exists in the database
+     */
+    public static boolean hasTable(String table) {
+        Connector connector = Connector.getInstance();
+        Connection connection = connector.open();
+        try (ResultSet rs = connection.getMetaData().getTables(connection.getCatalog(), null, table, new String[]{"TABLE"})) {
+            return rs.next();
+        } catch (SQLException e) {
+            Logger.getLogger(Scheme.class.getName()).log(Level.SEVERE, "Could not check if table " + table + " exists", e);
+        } finally {
+            connector.release(connection);
+        }
+        return false;
+    }
+
+    /**
+     * Runs the statements of a blueprint, stopping at the first failure.
+     *
+     * @param blueprint the blueprint
+     * @return false if a statement failed
+     */
+    public static boolean build(Blueprint blueprint) {
+        Connector connector = Connector.getInstance();
+        Connection connection = connector.open();
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : blueprint.toSql(connector.getDialect())) {
+                QueryTrace trace = connector.trace(sql);
+                try {
+                    statement.execute(sql);
+                    trace.executed();
+                    trace.finish(0);
+                } catch (SQLException e) {
+                    trace.fail(e);
+                    throw e;
+                }
+            }
+            return true;
+        } catch (SQLException e) {
+            Logger.getLogger(Scheme.class.getName()).log(
+                    Level.SEVERE,
+                    "Could not build table " + blueprint.getTableName(),
+                    e
+            );
+        } finally {
+            connector.release(connection);
+        }
+        return false;
     }
-    
 }
@@ -0,0 +1,33 @@
+package org.bjloquent;
+
+import org.bjloquent.models.MappedUser;
+import org.bjloquent.models.ModelWithCustomTableName;
+import org.bjloquent.models.Player;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ModelMetadataTests {
+
+    @org.junit.jupiter.api.Test
+    public void testNewInstance() throws ReflectiveOperationException {
+        ModelMetadata metadata = ModelMetadata.of(Player.class);
+        Player first = metadata.newInstance();
+        Player second = metadata.newInstance();
+        assertNotSame(first, second);
+        assertEquals("uuid", first.getPrimaryKey());
+
+        // The default table name is computed once and shared by every instance
+        assertEquals("players", first.getTableName());
+        assertSame(first.getTableName(), second.getTableName());
+        assertSame(metadata.getTableName(), first.getTableName());
+
+        // Models may still set their own table name
+        ModelWithCustomTableName custom = ModelMetadata.of(ModelWithCustomTableName.class).newInstance();
+        assertEquals(custom.getTableName(), ModelMetadata.of(ModelWithCustomTableName.class).getTableName());
+        assertNotEquals("modelwithcustomtablenames", custom.getTableName());
+
+        // Mapped models are instantiated by their mapper
+        MappedUser user = ModelMetadata.of(MappedUser.class).newInstance();
+        assertEquals("users", user.getTableName());
+    }
+}
@@ -1,14 +1,48 @@
 package org.bjloquent;
 
+import org.bjloquent.bulk.ExportFormat;
+import org.bjloquent.bulk.TableExporter;
+import org.bjloquent.instrumentation.QueryEvent;
+import org.bjloquent.instrumentation.QueryListener;
+import org.bjloquent.models.MappedUser;
 import org.bjloquent.models.ModelWithCustomTableName;
 import org.bjloquent.models.Player;
+import org.bjloquent.models.PlayerScore;
 import org.bjloquent.models.PlayerSetting;
+import org.bjloquent.models.ShardedPlayer;
 import org.bjloquent.models.User;
-
+import org.bjloquent.models.VersionedPlayer;
+import org.bjloquent.routing.DatabaseNode;
+import org.bjloquent.schema.Blueprint;
+import org.bjloquent.schema.IndexAdvisor;
+import org.bjloquent.schema.IndexSuggestion;
+import org.bjloquent.schema.Migration;
+import org.bjloquent.schema.Migrator;
+import org.bjloquent.schema.Scheme;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -787,4 +821,1162 @@ public class ModelsTests {
 
         connector.close();
     }
+
+    @org.junit.jupiter.api.Test
+    public void testBulkLoad() {
+        // bjLoquent don't have yet a way to create a table
+        // so we need to create it manually
+        String createUserTableSql = "CREATE TABLE IF NOT EXISTS players (uuid VARCHAR(255) NOT NULL, name VARCHAR(255), joinedDate TIMESTAMP, score INT, PRIMARY KEY (uuid))";
+        Connector connector = Connector.getInstance();
+        connector.setDBConfig(dbConfig);
+        connector.execute(createUserTableSql);
+
+        Timestamp timestamp = new Timestamp(System.currentTimeMillis());
+        // We need to round the timestamp to seconds because it seems that the milliseconds are not supported
+        timestamp.setNanos(0);
+
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Player player = new Player();
+            player.setUuid("player-" + i);
+            player.setName("Gordon\tFreeman\n" + i);
+            player.setJoinedDate(timestamp);
+            player.setScore(i);
+            players.add(player);
+        }
+
+        // Names contain tabs and line breaks, they must survive the escaping
+        long loaded = Model.bulkLoad(Player.class, players.iterator());
+        assertEquals(1000, loaded);
+
+        Player playerFound = Player.find(Player.class, "player-42");
+        assertEquals("Gordon\tFreeman\n42", playerFound.getName());
+        assertEquals(timestamp, playerFound.getJoinedDate());
+        assertEquals(42, playerFound.getScore());
+
+        // Finally we can drop the table
+        String dropUserTableSql = "DROP TABLE players";
+        connector.execute(dropUserTableSql);
+
+        connector.close();
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testExportTable() throws IOException {
+        // bjLoquent don't have yet a way to create a table
+        // so we need to create it manually
+        String createUserTableSql = "CREATE TABLE IF NOT EXISTS players (uuid VARCHAR(255) NOT NULL, name VARCHAR(255), joinedDate TIMESTAMP, score INT, PRIMARY KEY (uuid))";
+        Connector connector = Connector.getInstance();
+        connector.setDBConfig(dbConfig);
+        connector.execute(createUserTableSql);
+
+        Player firstPlayer = new Player();
+        firstPlayer.setUuid("0000-0000-0000-0001");
+        firstPlayer.setName("Freeman, \"Gordon\"");
+        firstPlayer.setScore(100);
+        firstPlayer.create();
+
+        Player secondPlayer = new Player();
+        secondPlayer.setUuid("0000-0000-0000-0002");
+        secondPlayer.setName("Alyx Vance");
+        secondPlayer.setScore(200);
+        secondPlayer.create();
+
+        // Now we can export the table as CSV
+        Path csvFile = Files.createTempFile("players", ".csv");
+        TableExporter csvExporter = new TableExporter(ExportFormat.CSV);
+        assertEquals(2, csvExporter.export(Player.class, csvFile));
+
+        List<String> lines = Files.readAllLines(csvFile, StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        assertEquals("uuid,name,joinedDate,score", lines.get(0));
+        assertTrue(lines.get(1).startsWith("0000-0000-0000-0001,\"Freeman, \"\"Gordon\"\"\","));
+        assertTrue(lines.get(1).endsWith(",100"));
+
+        // And as gzipped NDJSON
+        Path jsonFile = Files.createTempFile("players", ".ndjson.gz");
+        TableExporter jsonExporter = new TableExporter(ExportFormat.NDJSON);
+        jsonExporter.setGzip(true);
+        assertEquals(2, jsonExporter.export(Player.class, jsonFile));
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(jsonFile)), StandardCharsets.UTF_8))) {
+            String firstLine = reader.readLine();
+            assertTrue(firstLine.startsWith("{\"uuid\":\"0000-0000-0000-0001\",\"name\":\"Freeman, \\\"Gordon\\\"\","));
+            assertTrue(firstLine.endsWith(",\"score\":100}"));
+            assertTrue(reader.readLine().endsWith(",\"score\":200}"));
+            assertNull(reader.readLine());
+        }
+
+        Files.delete(csvFile);
+        Files.delete(jsonFile);
+
+        // Finally we can drop the table
+        String dropUserTableSql = "DROP TABLE players";
+        connector.execute(dropUserTableSql);
+
+        connector.close();
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testSelectAsProjection() {
+        // bjLoquent don't have yet a way to create a table
+        // so we need to create it manually
+        String createUserTableSql = "CREATE TABLE IF NOT EXISTS players (uuid VARCHAR(255) NOT NULL, name VARCHAR(255), joinedDate TIMESTAMP, score INT, PRIMARY KEY (uuid))";
+        Connector connector = Connector.getInstance();
+        connector.setDBConfig(dbConfig);
+        connector.execute(createUserTableSql);
+
+        String[] names = {"Gordon Freeman", "Alyx Vance", "Eli Vance", "Barney Calhoun"};
+        for (int i = 0; i < names.length; i++) {
+            Player player = new Player();
+            player.setUuid("0000-0000-0000-000" + i);
+            player.setName(names[i]);
+            player.setScore((i + 1) * 100);
+            player.create();
+        }
+
+        // We only want the name and the score of the best players
+        List<PlayerScore> scores = Model.select(Player.class, "name", "score")
+                .where("score", ">", 100)
+                .orderBy("score", "desc")
+                .limit(2)
+                .as(PlayerScore.class);
+
+        assertEquals(2, scores.size());
+        assertEquals("Barney Calhoun", scores.get(0).getName());
+        assertEquals(400, scores.get(0).getScore());
+        assertEquals("Eli Vance", scores.get(1).getName());
+        assertEquals(300, scores.get(1).getScore());
+
+        // The same query can still hydrate full models
+        List<Player> players = Model.select(Player.class).where("name", "LIKE", "%Vance%").orderBy("score").get();
+        assertEquals(2, players.size());
+        assertEquals("Alyx Vance", players.get(0).getName());
+        assertEquals("0000-0000-0000-0001", players.get(0).getUuid());
+
+        // Models only get the selected columns, twice from the same statement
+        for (int i = 0; i < 2; i++) {
+            List<Player> partial = Model.select(Player.class, "uuid", "score").where("score", ">=", 400).get();
+            assertEquals(1, partial.size());
+            assertEquals("0000-0000-0000-0003", partial.get(0).getUuid());
+            assertEquals(400, partial.get(0).getScore());
+            assertNull(partial.get(0).getName());
+        }
+
+        // Finally we can drop the table
+        String dropUserTableSql = "DROP TABLE players";
+        connector.execute(dropUserTableSql);
+
+        connector.close();
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testMappedModel() {
+        Connector connector = Connector.getInstance();
+        connector.setDBConfig(dbConfig);
+        Scheme.create("users", table -> {
+            table.increments("id");
+            table.string("name").nullable();
+            table.string("email").nullable();
+            table.string("password").nullable();
+            table.timestamp("joinedDate").nullable();
+        });
+
+        MappedUser user = new MappedUser();
+        user.setName("Eli Vance");
+        user.setMail("eli.vance@blackmesa.us");
+        user.setNickname("Doc");
+        user.create();
+        assertTrue(user.getId() > 0);
+
+        // The email column is mapped on the mail field
+        MappedUser userFound = Model.find(MappedUser.class, user.getId());
+        assertEquals("Eli Vance", userFound.getName());
+        assertEquals("eli.vance@blackmesa.us", userFound.getMail());
+        assertNull(userFound.getNickname());
+
+        userFound.setMail("eli@whiteforest.us");
+        userFound.save();
+        List<MappedUser> users = Model.where(MappedUser.class, "email", "eli@whiteforest.us");
+        assertEquals(1, users.size());
+        assertEquals(user.getId(), users.get(0).getId());
+
+        List<MappedUser> queried = Model.select(MappedUser.class).where("name", "Eli Vance").get();
+        assertEquals(1, queried.size());
+
+        userFound.delete();
+        assertTrue(Model.where(MappedUser.class, "id", user.getId()).isEmpty());
+
+        // Finally we can drop the table
+        Scheme.dropIfExists("users");
+
+        connector.close();
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testWarmUp() throws SQLException {
+        Connector connector = Connector.getInstance();
+        connector.setDBConfig(dbConfig);
+        Scheme.create("users", table -> {
+            table.increments("id");
+            table.string("name").nullable();
+            table.string("email").nullable();
+            table.string("password").nullable();
+            table.timestamp("joinedDate").nullable();
+        });
+
+        connector.setPoolSize(2, 4);
+        connector.warmUp(true, User.class);
+        DatabaseNode primary = connector.getPrimary();
+        assertEquals(2, primary.getIdleCount());
+
+        // Statements reuse the idle connections instead of opening new ones
+        User user = new User();
+        user.setName("Isaac Kleiner");
+        user.setEmail("isaac.kleiner@blackmesa.us");
+        user.create();
+        assertEquals("Isaac Kleiner", User.find(User.class, user.getId()).getName());
+        assertEquals(2, primary.getIdleCount());
+
+        // A transaction left open is rolled back when its connection is recycled
+        Connection connection = connector.open();
+        connection.setAutoCommit(false);
+        connection.createStatement().execute("DELETE FROM users");
+        connection.close();
+        assertTrue(connection.isClosed());
+        assertEquals(1, Model.where(User.class, "id", user.getId()).size());
+
+        // Statements left open are closed and the settings restored on recycle
+        connection = connector.open();
+        int isolation = connection.getTransactionIsolation();
+        Statement statement = connection.createStatement();
+        connection.setReadOnly(true);
+        connection.setTransactionIsolation(isolation == Connection.TRANSACTION_SERIALIZABLE
+                ? Connection.TRANSACTION_READ_COMMITTED
+                : Connection.TRANSACTION_SERIALIZABLE);
+        connection.close();
+        assertTrue(statement.isClosed());
+        connection = connector.open();
+        assertFalse(connection.isReadOnly());
+        assertEquals(isolation, connection.getTransactionIsolation());
+        connection.close();
+
+        connector.setPoolSize(0, 0);
+        assertEquals(0, primary.getIdleCount());
+
+        // Finally we can drop the table
+        Scheme.dropIfExists("users");
+
+        connector.close();
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testOptimisticLocking() {
+        Connector connector = Connector.getInstance();
+        connector.setDBConfig(dbConfig);
+        Scheme.create("players", table -> {
+            table.string("uuid").primary();
+            table.string("name").nullable();
+            table.integer("score").nullable();
+            table.integer("version").defaultValue(0);
+        });
+
+        for (String uuid : new String[]{"a-1", "b-2", "c-3"}) {
+            VersionedPlayer player = new VersionedPlayer();
+            player.setUuid(uuid);
+            player.setName("Player " + uuid);
+            player.create();
+        }
+
+        // Two concurrent readers of the same row, the second save conflicts
+        VersionedPlayer first = Model.find(VersionedPlayer.class, "a-1");
+        VersionedPlayer second = Model.find(VersionedPlayer.class, "a-1");
+        first.setScore(10);
+        first.save();
+        assertEquals(1, first.getVersion());
+
+        second.setScore(20);
+        OptimisticLockException conflict = assertThrows(OptimisticLockException.class, second::save);
+        assertEquals(Collections.singletonList(second), conflict.getModels());
+        assertEquals(0, second.getVersion());
+        assertEquals(10, Model.find(VersionedPlayer.class, "a-1").getScore());
+
+        // In a batch, the conflicting model is reported and the others are saved
+        List<VersionedPlayer> players = Model.select(VersionedPlayer.class).orderBy("uuid").get();
+        players.forEach(player -> player.setScore(30));
+        first.setScore(40);
+        first.save();
+        conflict = assertThrows(OptimisticLockException.class, () -> Model.saveAll(players));
+        assertEquals(Collections.singletonList(players.get(0)), conflict.getModels());
+        assertEquals(1, players.get(0).getVersion());
+        assertEquals(1, players.get(1).getVersion());
+        assertEquals(1, players.get(2).getVersion());
+        assertEquals(40, Model.find(VersionedPlayer.class, "a-1").getScore());
+        assertEquals(30, Model.find(VersionedPlayer.class, "c-3").getScore());
+
+        // Finally we can drop the table
+        Scheme.dropIfExists("players");
+
+        connector.close();
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testLockingQuery() {
+        Connector connector = Connector.getInstance();
+        connector.setDBConfig(dbConfig);
+        Scheme.create("players", table -> {
+            table.string("uuid").primary();
+            table.string("name").nullable();
+            table.timestamp("joinedDate").nullable();
+            table.integer("score").nullable();
+        });
+
+        for (int i = 0; i < 3; i++) {
+            Player player = new Player();
+            player.setUuid("job-" + i);
+            player.setName("Job " + i);
+            player.create();
+        }
+
+        Query<Player> pending = Model.select(Player.class).where("score", 0).orderBy("uuid").limit(2).forUpdate();
+        assertEquals("SELECT * FROM `players` WHERE `score` = ? ORDER BY `uuid` ASC LIMIT 2 FOR UPDATE", pending.toSql());
+
+        // Locks would be released at once out of a transaction
+        assertTrue(pending.get().isEmpty());
+
+        // A worker claims a batch of jobs and marks them done
+        connector.beginTransaction();
+        List<Player> claimed = pending.get();
+        assertEquals(2, claimed.size());
+        for (Player player : claimed) {
+            player.setScore(1);
+            player.save();
+        }
+        connector.commit();
+
+        connector.beginTransaction();
+        claimed = pending.get();
+        assertEquals(1, claimed.size());
+        assertEquals("job-2", claimed.get(0).getUuid());
+        connector.rollback();
+
+        // Finally we can drop the table
+        Scheme.dropIfExists("players");
+
+        connector.close();
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testHydrationAfterReorderedColumns() {
+        Connector connector = Connector.getInstance();
+        connector.setDBConfig(dbConfig);
+        Scheme.create("users", table -> {
+            table.increments("id");
+            table.string("name").nullable();
+            table.string("email").nullable();
+            table.string("password").nullable();
+            table.timestamp("joinedDate").nullable();
+        });
+
+        User user = new User();
+        user.setName("Eli Vance");
+        user.setEmail("eli.vance@blackmesa.us");
+        user.create();
+        assertEquals("Eli Vance", User.find(User.class, user.getId()).getName());
+
+        // Same column count, other order: the cached hydration plan no longer fits
+        Scheme.dropIfExists("users");
+        Scheme.create("users", table -> {
+            table.increments("id");
+            table.string("email").nullable();
+            table.string("name").nullable();
+            table.string("password").nullable();
+            table.timestamp("joinedDate").nullable();
+        });
+        user = new User();
+        user.setName("Alyx Vance");
+        user.setEmail("alyx.vance@blackmesa.us");
+        user.create();
+        User found = User.find(User.class, user.getId());
+        assertEquals("Alyx Vance", found.getName());
+        assertEquals("alyx.vance@blackmesa.us", found.getEmail());
+
+        // Finally we can drop the table
+        Scheme.dropIfExists("users");
+
+        connector.close();
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testChunkById() {
+        Connector connector = Connector.getInstance();
+        connector.setDBConfig(dbConfig);
+        Scheme.create("users", table -> {
+            table.increments("id");
+            table.string("name").nullable();
+            table.string("email").nullable();
+            table.string("password").nullable();
+            table.timestamp("joinedDate").nullable();
+        });
+
+        for (int i = 0; i < 25; i++) {
+            User user = new User();
+            user.setName("Citizen " + i);
+            user.create();
+        }
+
+        // Chunks come in key order, the last one being partial
+        List<Integer> chunkSizes = new ArrayList<>();
+        List<Integer> ids = new ArrayList<>();
+        assertEquals(25, Model.chunkById(User.class, 10, chunk -> {
+            chunkSizes.add(chunk.size());
+            chunk.forEach(user -> ids.add(user.getId()));
+        }));
+        assertEquals(Arrays.asList(10, 10, 5), chunkSizes);
+        List<Integer> sortedIds = new ArrayList<>(ids);
+        Collections.sort(sortedIds);
+        assertEquals(sortedIds, ids);
+
+        assertEquals(25, Model.eachById(User.class, 7, user -> assertTrue(user.getName().startsWith("Citizen"))));
+
+        // In parallel every row is visited once
+        Set<Integer> visited = ConcurrentHashMap.newKeySet();
+        assertEquals(25, Model.chunkById(User.class, 4, 3, chunk -> chunk.forEach(user -> assertTrue(visited.add(user.getId())))));
+        assertEquals(new HashSet<>(ids), visited);
+
+        // A chunk which can not be read stops the visit, in parallel too
+        assertThrows(QueryException.class, () -> Model.chunkById(User.class, 10, chunk -> Scheme.dropIfExists("users")));
+        Scheme.create("users", table -> {
+            table.increments("id");
+            table.string("name").nullable();
+            table.string("email").nullable();
+            table.string("password").nullable();
+            table.timestamp("joinedDate").nullable();
+        });
+        for (int i = 0; i < 25; i++) {
+            User user = new User();
+            user.setName("Citizen " + i);
+            user.create();
+        }
+        assertThrows(QueryException.class, () -> Model.chunkById(User.class, 1, 2, chunk -> Scheme.dropIfExists("users")));
+
+        // Finally we can drop the table
+        Scheme.dropIfExists("users");
+
+        connector.close();
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testIncrement() throws InterruptedException, SQLException {
+        Connector connector = Connector.getInstance();
+        connector.setDBConfig(dbConfig);
+        Scheme.create("players", table -> {
+            table.string("uuid").primary();
+            table.string("name").nullable();
+            table.timestamp("joinedDate").nullable();
+            table.integer("score").nullable();
+        });
+
+        for (String uuid : new String[]{"a-1", "b-2", "c-3"}) {
+            Player player = new Player();
+            player.setUuid(uuid);
+            player.setName("Player " + uuid);
+            player.create();
+        }
+
+        Player player = Model.find(Player.class, "a-1");
+        assertTrue(player.increment("score", 5));
+        assertEquals(0, player.getScore());
+        assertEquals(8L, player.incrementAndGet("score", 3).longValue());
+        assertEquals(8, player.getScore());
+        assertEquals(-2L, player.incrementAndGet("score", -10).longValue());
+        assertEquals(0L, player.incrementAndGet("score", 2).longValue());
+        assertTrue(player.decrement("score", 1));
+        assertEquals(-1, Model.find(Player.class, "a-1").getScore());
+
+        // Values that are not integers are read back under the lock of the row
+        try (Connection connection = connector.open()) {
+            Number value = connector.getDialect().incrementAndGet(connection, "players", "score", "`uuid` = ?",
+                    Collections.singletonList("a-1"), 2.0);
+            assertEquals(1, value.intValue());
+            assertTrue(connection.getAutoCommit());
+        }
+
+        Player missing = new Player();
+        missing.setUuid("z-9");
+        assertFalse(missing.increment("score", 1));
+        assertNull(missing.incrementAndGet("score", 1));
+
+        assertEquals(2, Model.incrementWhere(Player.class, new String[]{"uuid"}, new String[]{">"}, new Object[]{"a-1"}, "score", 10));
+        assertEquals(1, Model.incrementWhere(Player.class, "uuid", "c-3", "score", 5));
+        assertEquals(15, Model.find(Player.class, "c-3").getScore());
+
+        // Concurrent increments are not lost
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 25; j++) {
+                    Model.find(Player.class, "b-2").increment("score", 1);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(110, Model.find(Player.class, "b-2").getScore());
+
+        // Finally we can drop the table
+        Scheme.dropIfExists("players");
+
+        connector.close();
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testWriteBehind() throws InterruptedException {
+        Connector connector = Connector.getInstance();
+        connector.setDBConfig(dbConfig);
+        Scheme.create("players", table -> {
+            table.string("uuid").primary();
+            table.string("name").nullable();
+            table.timestamp("joinedDate").nullable();
+            table.integer("score").nullable();
+        });
+
+        for (String uuid : new String[]{"a-1", "b-2"}) {
+            Player player = new Player();
+            player.setUuid(uuid);
+            player.setName("Player " + uuid);
+            player.create();
+        }
+
+        WriteBehindBuffer<Player> buffer = connector.writeBehind(Player.class);
+        buffer.setBatchSize(1000);
+        // Only the explicit flushes below write the saves
+        buffer.setFlushInterval(1, TimeUnit.HOURS);
+        assertSame(buffer, connector.writeBehind(Player.class));
+
+        Player first = Model.find(Player.class, "a-1");
+        Player second = Model.find(Player.class, "b-2");
+        for (int i = 1; i <= 50; i++) {
+            first.setScore(i);
+            first.save();
+            second.setScore(i * 2);
+            second.save();
+        }
+        assertEquals(2, buffer.getPendingCount());
+        assertEquals(100, buffer.getSavedCount());
+
+        assertEquals(2, buffer.flush());
+        assertEquals(0, buffer.getPendingCount());
+        assertEquals(50, Model.find(Player.class, "a-1").getScore());
+        assertEquals(100, Model.find(Player.class, "b-2").getScore());
+
+        // Saves in a transaction are written at once
+        connector.beginTransaction();
+        first.setScore(7);
+        first.save();
+        connector.commit();
+        assertEquals(0, buffer.getPendingCount());
+        assertEquals(7, Model.find(Player.class, "a-1").getScore());
+
+        // The interval of a started buffer can be changed
+        second.setScore(5);
+        second.save();
+        buffer.setFlushInterval(10, TimeUnit.MILLISECONDS);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (buffer.getWrittenCount() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(3, buffer.getWrittenCount());
+        assertEquals(5, Model.find(Player.class, "b-2").getScore());
+        buffer.setFlushInterval(1, TimeUnit.HOURS);
+
+        // Disabling the buffer writes the pending saves
+        second.setScore(3);
+        second.save();
+        assertEquals(1, buffer.getPendingCount());
+        connector.disableWriteBehind(Player.class);
+        assertNull(connector.getWriteBehindBuffer(Player.class));
+        assertEquals(3, Model.find(Player.class, "b-2").getScore());
+        assertEquals(4, buffer.getWrittenCount());
+
+        // Finally we can drop the table
+        Scheme.dropIfExists("players");
+
+        connector.close();
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testFindBatch() {
+        Connector connector = Connector.getInstance();
+        connector.setDBConfig(dbConfig);
+        Scheme.create("players", table -> {
+            table.string("uuid").primary();
+            table.string("name").nullable();
+            table.timestamp("joinedDate").nullable();
+            table.integer("score").nullable();
+        });
+
+        for (String uuid : new String[]{"a-1", "b-2", "c-3"}) {
+            Player player = new Player();
+            player.setUuid(uuid);
+            player.setName("Player " + uuid);
+            player.create();
+        }
+
+        // Out of a batch, the find is made at once
+        CompletableFuture<Player> single = Model.findAsync(Player.class, "a-1");
+        assertTrue(single.isDone());
+        assertEquals("Player a-1", single.join().getName());
+
+        try (FindBatch batch = FindBatch.begin()) {
+            assertSame(batch, FindBatch.current());
+            CompletableFuture<Player> first = Model.findAsync(Player.class, "a-1");
+            CompletableFuture<Player> second = Model.findAsync(Player.class, "b-2");
+            CompletableFuture<Player> again = Model.findAsync(Player.class, "a-1");
+            CompletableFuture<Player> missing = Model.findAsync(Player.class, "z-9");
+            // A find made once the first ones completed goes in a second query
+            CompletableFuture<Player> chained = second.thenCompose(player -> Model.findAsync(Player.class, "c-3"));
+            assertSame(first, again);
+            assertFalse(first.isDone());
+
+            // Joining dispatches the batch
+            assertEquals("Player b-2", second.join().getName());
+            assertEquals("Player a-1", first.join().getName());
+            assertNull(missing.join().getUuid());
+            assertEquals("Player c-3", chained.join().getName());
+            assertEquals(5, batch.getRequestCount());
+            assertEquals(2, batch.getQueryCount());
+        }
+        assertNull(FindBatch.current());
+
+        // Finally we can drop the table
+        Scheme.dropIfExists("players");
+
+        // A failed query completes its futures with the error, not with empty models
+        try (FindBatch batch = FindBatch.begin()) {
+            CompletableFuture<Player> failed = Model.findAsync(Player.class, "a-1");
+            batch.dispatch();
+            assertTrue(failed.isCompletedExceptionally());
+            CompletionException exception = assertThrows(CompletionException.class, failed::join);
+            assertTrue(exception.getCause() instanceof SQLException);
+        }
+
+        connector.close();
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testSingleFlight() throws InterruptedException {
+        Connector connector = Connector.getInstance();
+        connector.setDBConfig(dbConfig);
+        Scheme.create("players", table -> {
+            table.string("uuid").primary();
+            table.string("name").nullable();
+            table.timestamp("joinedDate").nullable();
+            table.integer("score").nullable();
+        });
+
+        Player player = new Player();
+        player.setUuid("a-1");
+        player.setName("Hot player");
+        player.setScore(42);
+        player.create();
+
+        connector.setSingleFlight(true);
+        SingleFlight singleFlight = connector.getSingleFlight();
+        int readers = 8;
+
+        // The first query is held until every other reader waits for it
+        List<QueryEvent> events = Collections.synchronizedList(new ArrayList<>());
+        QueryListener listener = event -> {
+            if (events.isEmpty()) {
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (singleFlight.getCoalescedCount() < readers - 1 && System.nanoTime() < deadline) {
+                    Thread.yield();
+                }
+            }
+            events.add(event);
+        };
+        connector.addQueryListener(listener);
+
+        List<Player> found = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < readers; i++) {
+            Thread thread = new Thread(() -> found.add(Model.find(Player.class, "a-1")));
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        connector.removeQueryListener(listener);
+
+        assertEquals(1, events.size());
+        assertEquals(1, singleFlight.getExecutedCount());
+        assertEquals(readers - 1, singleFlight.getCoalescedCount());
+
+        // Every reader gets its own model, models being compared by identity
+        assertEquals(readers, found.size());
+        assertEquals(readers, new HashSet<>(found).size());
+        for (Player model : found) {
+            assertEquals("Hot player", model.getName());
+            assertEquals(42, model.getScore());
+        }
+        found.get(0).setName("Changed");
+        assertEquals("Hot player", found.get(1).getName());
+
+        // Later reads run their own query
+        Thread later = new Thread(() -> assertEquals(1, Model.where(Player.class, "uuid", "a-1").size()));
+        later.start();
+        later.join();
+        assertEquals(2, singleFlight.getExecutedCount());
+
+        // A thread which has just written does not join a read started before its write
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        QueryListener holder = event -> {
+            if (Thread.currentThread().getName().equals("held-reader")) {
+                held.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        connector.addQueryListener(holder);
+        Player[] heldRead = new Player[1];
+        Thread reader = new Thread(() -> heldRead[0] = Model.find(Player.class, "a-1"), "held-reader");
+        reader.start();
+        assertTrue(held.await(5, TimeUnit.SECONDS));
+
+        player.setScore(43);
+        player.save();
+        assertEquals(43, Model.find(Player.class, "a-1").getScore());
+        assertEquals(readers - 1, singleFlight.getCoalescedCount());
+        release.countDown();
+        reader.join();
+        connector.removeQueryListener(holder);
+        assertEquals(42, heldRead[0].getScore());
+        connector.setSingleFlight(false);
+        assertNull(connector.getSingleFlight());
+
+        // Finally we can drop the table
+        Scheme.dropIfExists("players");
+
+        connector.close();
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testResidentTable() {
+        Connector connector = Connector.getInstance();
+        connector.setDBConfig(dbConfig);
+        Scheme.create("players", table -> {
+            table.string("uuid").primary();
+            table.string("name").nullable();
+            table.timestamp("joinedDate").nullable();
+            table.integer("score").nullable();
+        });
+
+        for (int i = 0; i < 4; i++) {
+            Player player = new Player();
+            player.setUuid("p-" + i);
+            player.setName(i % 2 == 0 ? "Even" : "Odd");
+            player.setScore(i);
+            player.setJoinedDate(Timestamp.valueOf("2026-10-19 10:00:00"));
+            player.create();
+        }
+        Player nameless = new Player();
+        nameless.setUuid("p-4");
+        nameless.setScore(4);
+        nameless.setJoinedDate(Timestamp.valueOf("2026-10-19 10:00:00"));
+        nameless.create();
+
+        // The join date stands for the last update of a row, only the explicit refreshes below poll it
+        ResidentTable<Player> players = connector.resident(Player.class, "joinedDate", "name");
+        players.setRefreshInterval(1, TimeUnit.HOURS);
+        assertTrue(players.isLoaded());
+        assertEquals(5, players.size());
+
+        List<QueryEvent> events = new ArrayList<>();
+        QueryListener listener = events::add;
+        connector.addQueryListener(listener);
+
+        List<Player> even = Model.where(Player.class, "name", "Even");
+        assertEquals(2, even.size());
+        assertEquals(1, Model.where(Player.class, new String[]{"name", "score"}, new String[]{"=", "="}, new Object[]{"Odd", 3}).size());
+        assertEquals(2, Model.find(Player.class, "p-2").getScore());
+        assertNull(Model.find(Player.class, "z-9").getUuid());
+        // As in the database, a null value matches no row
+        assertTrue(Model.where(Player.class, "name", null).isEmpty());
+        assertTrue(events.isEmpty());
+
+        // Resident models are not shared with the callers
+        even.get(0).setName("Changed");
+        assertEquals(2, Model.where(Player.class, "name", "Even").size());
+
+        // Conditions that can not be checked in memory still query the database
+        assertEquals(3, Model.where(Player.class, "score", ">", 1).size());
+        assertEquals(1, events.size());
+        connector.removeQueryListener(listener);
+
+        // Updated rows are polled
+        Player updated = Model.find(Player.class, "p-1");
+        updated.setName("Even");
+        updated.setJoinedDate(Timestamp.valueOf("2026-10-19 11:00:00"));
+        updated.save();
+        assertEquals(2, Model.where(Player.class, "name", "Even").size());
+        assertEquals(1, players.refresh());
+        assertEquals(3, Model.where(Player.class, "name", "Even").size());
+        assertEquals(0, players.refresh());
+
+        connector.disableResident(Player.class);
+        assertNull(connector.getResidentTable(Player.class));
+
+        // Finally we can drop the table
+        Scheme.dropIfExists("players");
+
+        connector.close();
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testQueryListener() {
+        // bjLoquent don't have yet a way to create a table
+        // so we need to create it manually
+        String createUserTableSql = "CREATE TABLE IF NOT EXISTS users (id INT NOT NULL AUTO_INCREMENT, name VARCHAR(255), email VARCHAR(255), password VARCHAR(255), joinedDate TIMESTAMP, PRIMARY KEY (id))";
+        Connector connector = Connector.getInstance();
+        connector.setDBConfig(dbConfig);
+        connector.execute(createUserTableSql);
+
+        List<QueryEvent> events = new ArrayList<>();
+        QueryListener listener = events::add;
+        connector.addQueryListener(listener);
+
+        User user = new User();
+        user.setName("Gordon Freeman");
+        user.setEmail("gordon.freeman@blackmesa.us");
+        user.create();
+
+        User userFound = User.find(User.class, user.getId());
+        assertEquals(user.getName(), userFound.getName());
+
+        connector.removeQueryListener(listener);
+
+        // One event for the insert and one for the select
+        assertEquals(2, events.size());
+        assertTrue(events.get(0).getSql().startsWith("INSERT INTO `users`"));
+        assertEquals(1, events.get(0).getRows());
+
+        QueryEvent findEvent = events.get(1);
+        assertEquals("SELECT * FROM `users` WHERE `id` = ?", findEvent.getSql());
+        assertEquals(1, findEvent.getRows());
+        assertFalse(findEvent.isFailed());
+        assertTrue(findEvent.getExecutionNanos() > 0);
+        assertTrue(findEvent.getConnectionWaitNanos() > 0);
+
+        // Finally we can drop the table
+        String dropUserTableSql = "DROP TABLE users";
+        connector.execute(dropUserTableSql);
+
+        connector.close();
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testReadReplicas() {
+        // bjLoquent don't have yet a way to create a table
+        // so we need to create it manually
+        String createUserTableSql = "CREATE TABLE IF NOT EXISTS users (id INT NOT NULL AUTO_INCREMENT, name VARCHAR(255), email VARCHAR(255), password VARCHAR(255), joinedDate TIMESTAMP, PRIMARY KEY (id))";
+        Connector connector = Connector.getInstance();
+        connector.setDBConfig(dbConfig);
+        connector.execute(createUserTableSql);
+
+        // The test server acts as its own replica
+        connector.addReplica(dbConfig);
+        DatabaseNode replica = connector.getReplicaRouter().getReplicas().get(0);
+
+        User user = new User();
+        user.setName("Gordon Freeman");
+        user.create();
+
+        // Right after a write, reads stay on the primary
+        assertEquals(user.getName(), User.find(User.class, user.getId()).getName());
+        assertEquals(0, replica.getTotalRequests());
+
+        connector.setReadYourWritesWindow(0, TimeUnit.SECONDS);
+        assertEquals(user.getName(), User.find(User.class, user.getId()).getName());
+        assertEquals(1, User.where(User.class, "name", "Gordon Freeman").size());
+        assertEquals(2, replica.getTotalRequests());
+        assertEquals(0, replica.getOutstandingRequests());
+
+        // Within a transaction, reads see the uncommitted writes
+        connector.beginTransaction();
+        User secondUser = new User();
+        secondUser.setName("Alyx Vance");
+        secondUser.create();
+        assertEquals(secondUser.getName(), User.find(User.class, secondUser.getId()).getName());
+        connector.rollback();
+        assertEquals(2, replica.getTotalRequests());
+        assertEquals(0, User.where(User.class, "name", "Alyx Vance").size());
+
+        connector.getReplicaRouter().removeReplica(replica);
+        connector.setReadYourWritesWindow(1, TimeUnit.SECONDS);
+
+        // Finally we can drop the table
+        String dropUserTableSql = "DROP TABLE users";
+        connector.execute(dropUserTableSql);
+
+        connector.close();
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testShardedModel() throws SQLException {
+        Connector connector = Connector.getInstance();
+        connector.setDBConfig(dbConfig);
+        connector.execute("CREATE DATABASE IF NOT EXISTS jloquent_shard");
+        DBConfig shardConfig = new DBConfig() {
+            @Override
+            public DatabaseType getDatabaseType() {
+                return DatabaseType.MARIADB;
+            }
+
+            @Override
+            public String getHostName() {
+                return dbConfig.getHostName();
+            }
+
+            @Override
+            public String getPortNumber() {
+                return dbConfig.getPortNumber();
+            }
+
+            @Override
+            public String getDatabaseName() {
+                return "jloquent_shard";
+            }
+
+            @Override
+            public String getUsername() {
+                return dbConfig.getUsername();
+            }
+
+            @Override
+            public String getPassword() {
+                return dbConfig.getPassword();
+            }
+        };
+        // Players before "m" are on the first shard, the others on the second one
+        connector.addShard(dbConfig);
+        connector.addShard(shardConfig);
+
+        // bjLoquent don't have yet a way to create a table
+        // so we need to create it manually
+        for (int i = 0; i < 2; i++) {
+            try (Connection connection = connector.openShard(i); Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE IF NOT EXISTS players (uuid VARCHAR(255) NOT NULL, name VARCHAR(255), joinedDate TIMESTAMP, score INT, PRIMARY KEY (uuid))");
+            }
+        }
+
+        String[][] players = {{"a-1", "Gordon Freeman", "40"}, {"c-2", "Alyx Vance", "10"}, {"n-3", "Barney Calhoun", "30"}, {"x-4", "Eli Vance", "20"}};
+        for (String[] values : players) {
+            ShardedPlayer player = new ShardedPlayer();
+            player.setUuid(values[0]);
+            player.setName(values[1]);
+            player.setScore(Integer.parseInt(values[2]));
+            player.create();
+        }
+
+        for (int i = 0; i < 2; i++) {
+            try (Connection connection = connector.openShard(i); Statement statement = connection.createStatement()) {
+                ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM players");
+                rs.next();
+                assertEquals(2, rs.getInt(1));
+            }
+        }
+
+        ShardedPlayer eli = ShardedPlayer.find(ShardedPlayer.class, "x-4");
+        assertEquals("Eli Vance", eli.getName());
+        eli.setScore(50);
+        eli.save();
+
+        // Without the shard key, every shard is read
+        assertEquals(3, ShardedPlayer.where(ShardedPlayer.class, "score", ">", 15).size());
+        assertEquals(1, ShardedPlayer.where(ShardedPlayer.class, "uuid", "c-2").size());
+
+        // Rows of both shards are merged in order, the offset and limit applying to the merged rows
+        List<PlayerScore> scores = Model.select(ShardedPlayer.class, "name", "score")
+                .orderBy("uuid")
+                .limit(2)
+                .offset(1)
+                .as(PlayerScore.class);
+        assertEquals(2, scores.size());
+        assertEquals("Alyx Vance", scores.get(0).getName());
+        assertEquals("Barney Calhoun", scores.get(1).getName());
+        List<ShardedPlayer> best = Model.select(ShardedPlayer.class)
+                .orderBy("score", "desc")
+                .limit(2)
+                .offset(1)
+                .get();
+        assertEquals(2, best.size());
+        assertEquals("Gordon Freeman", best.get(0).getName());
+        assertEquals("Barney Calhoun", best.get(1).getName());
+
+        ShardedPlayer.find(ShardedPlayer.class, "a-1").delete();
+        assertEquals(3, Model.select(ShardedPlayer.class).get().size());
+
+        // Finally we can drop the tables
+        for (int i = 0; i < 2; i++) {
+            try (Connection connection = connector.openShard(i); Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE players");
+            }
+        }
+        for (DatabaseNode shard : connector.getShardRouter().getShards()) {
+            connector.getShardRouter().removeShard(shard);
+        }
+        connector.execute("DROP DATABASE jloquent_shard");
+
+        connector.close();
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testMigrations() throws SQLException {
+        Connector connector = Connector.getInstance();
+        connector.setDBConfig(dbConfig);
+
+        Migration createPlayers = new Migration() {
+            @Override
+            public void up(Blueprint table) {
+                table.create();
+                table.string("uuid").primary();
+                table.string("name");
+                table.timestamp("joinedDate").nullable();
+                table.engine("InnoDB");
+            }
+
+            @Override
+            public void down(Blueprint table) {
+                table.dropIfExists();
+            }
+
+            @Override
+            public String getTableName() {
+                return "players";
+            }
+
+            @Override
+            public String getName() {
+                return "2026_10_19_create_players_table";
+            }
+        };
+        Migration addScore = new Migration() {
+            @Override
+            public void up(Blueprint table) {
+                table.integer("score").defaultValue(0).index();
+            }
+
+            @Override
+            public void down(Blueprint table) {
+                table.dropIndex("players_score_index");
+                table.dropColumn("score");
+            }
+
+            @Override
+            public String getTableName() {
+                return "players";
+            }
+
+            @Override
+            public String getName() {
+                return "2026_10_19_add_score_to_players_table";
+            }
+        };
+
+        Migrator migrator = new Migrator(createPlayers);
+        assertEquals(1, migrator.migrate().size());
+        migrator = new Migrator(createPlayers, addScore);
+        assertEquals(Collections.singletonList("2026_10_19_add_score_to_players_table"), migrator.getPending());
+        assertEquals(1, migrator.migrate().size());
+        assertEquals(0, migrator.migrate().size());
+        assertTrue(Scheme.hasTable("players"));
+
+        // The index declared by the migration exists
+        try (Connection connection = connector.open();
+             ResultSet rs = connection.getMetaData().getIndexInfo(connection.getCatalog(), null, "players", false, false)) {
+            boolean found = false;
+            while (rs.next()) {
+                found |= "players_score_index".equals(rs.getString("INDEX_NAME"));
+            }
+            assertTrue(found);
+        }
+
+        Player player = new Player();
+        player.setUuid("6f0c8f5e-2d1a-4b57-9d8e-8a4c1f1b2c3d");
+        player.setName("Gordon Freeman");
+        player.setScore(42);
+        player.create();
+        assertEquals(42, Player.find(Player.class, player.getUuid()).getScore());
+
+        // Each migrate call is a batch, reverted on its own
+        assertEquals(Collections.singletonList("2026_10_19_add_score_to_players_table"), migrator.rollback());
+        assertEquals(Collections.singletonList("2026_10_19_create_players_table"), migrator.getApplied());
+        assertEquals(Collections.singletonList("2026_10_19_create_players_table"), migrator.rollback());
+        assertFalse(Scheme.hasTable("players"));
+
+        // A versions table that can not be read must not make every migration pending
+        Scheme.dropIfExists("migrations");
+        Scheme.create("migrations", table -> table.increments("id"));
+        assertEquals(0, migrator.migrate().size());
+        assertEquals(0, migrator.getPending().size());
+        assertFalse(Scheme.hasTable("players"));
+
+        // Finally we can drop the versions table
+        Scheme.dropIfExists("migrations");
+
+        connector.close();
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testIndexAdvisor() {
+        Connector connector = Connector.getInstance();
+        connector.setDBConfig(dbConfig);
+        Scheme.create("users", table -> {
+            table.increments("id");
+            table.string("name").nullable();
+            table.string("email").nullable();
+            table.string("password").nullable();
+            table.timestamp("joinedDate").nullable();
+        });
+
+        for (String name : new String[]{"Gordon Freeman", "Alyx Vance", "Eli Vance"}) {
+            User user = new User();
+            user.setName(name);
+            user.setEmail(name.replace(' ', '.').toLowerCase() + "@blackmesa.us");
+            user.create();
+        }
+
+        IndexAdvisor advisor = new IndexAdvisor();
+        connector.setIndexAdvisor(advisor);
+        for (int i = 0; i < 3; i++) {
+            User.where(User.class, "name", "Alyx Vance");
+        }
+        User.where(User.class, new String[]{"name", "email"}, new String[]{"=", "="}, new Object[]{"Eli Vance", "eli.vance@blackmesa.us"});
+        Model.select(User.class).where("id", 1).orderBy("name").get();
+        connector.setIndexAdvisor(null);
+
+        assertEquals(3, advisor.getShapes().size());
+        // The primary key lookup does not scan the table, the two others do
+        List<IndexSuggestion> suggestions = advisor.advise();
+        assertEquals(2, suggestions.size());
+        assertEquals("users", suggestions.get(0).getTableName());
+        assertEquals(3, suggestions.get(0).getCount());
+        assertEquals("table.index(\"name\");", suggestions.get(0).toBlueprint());
+        assertEquals("CREATE INDEX `users_email_name_index` ON `users` (`email`, `name`)", suggestions.get(1).toSql(connector.getDialect()));
+
+        // Finally we can drop the table
+        Scheme.dropIfExists("users");
+
+        connector.close();
+    }
 }
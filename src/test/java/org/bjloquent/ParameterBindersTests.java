@@ -0,0 +1,49 @@
+package org.bjloquent;
+
+import org.bjloquent.models.Player;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParameterBindersTests {
+
+    @org.junit.jupiter.api.Test
+    public void testTypedBinding() throws SQLException {
+        List<String> calls = new ArrayList<>();
+        PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (proxy, method, args) -> {
+                    calls.add(method.getName() + " " + args[0] + " " + args[1]);
+                    return null;
+                }
+        );
+
+        ParameterBinders.bindValue(statement, 1, 42L);
+        ParameterBinders.bindValue(statement, 2, "name");
+        ParameterBinders.of(String.class).bind(statement, 3, null);
+        ParameterBinders.bindValue(statement, 4, new StringBuilder("other"));
+
+        // Model columns are read and bound through their typed getters
+        Player player = new Player();
+        player.setScore(7);
+        ModelMetadata metadata = ModelMetadata.of(Player.class);
+        metadata.getColumn("score").getWriter().bind(statement, 5, player);
+        metadata.getColumn("name").getWriter().bind(statement, 6, player);
+        assertTrue(metadata.getColumn("score").getWriter().isPrimitive());
+        assertFalse(metadata.getColumn("name").getWriter().isPrimitive());
+
+        assertEquals("setLong 1 42", calls.get(0));
+        assertEquals("setString 2 name", calls.get(1));
+        assertEquals("setNull 3 " + Types.VARCHAR, calls.get(2));
+        assertEquals("setObject 4 other", calls.get(3));
+        assertEquals("setInt 5 7", calls.get(4));
+        assertEquals("setNull 6 " + Types.VARCHAR, calls.get(5));
+    }
+}
@@ -0,0 +1,54 @@
+package org.bjloquent;
+
+import org.bjloquent.dialect.Dialect;
+import org.bjloquent.dialect.MySQLDialect;
+import org.bjloquent.dialect.PostgreSQLDialect;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardMergeTests {
+
+    @org.junit.jupiter.api.Test
+    public void testOrderedMerge() {
+        List<List<Object>> shards = new ArrayList<>();
+        shards.add(Arrays.asList(new Object[]{9, "a"}, new Object[]{4, "b"}, new Object[]{1, "c"}));
+        shards.add(new ArrayList<>());
+        shards.add(Arrays.asList(new Object[]{7, "d"}, new Object[]{4, "e"}, new Object[]{null, "f"}));
+
+        boolean[] descending = {true};
+        Comparator<String> natural = Comparator.naturalOrder();
+        assertEquals(Arrays.asList("a", "d", "b", "e", "c", "f"), ShardMerge.merge(shards, descending, true, natural, 0, -1));
+        assertEquals(Arrays.asList("d", "b"), ShardMerge.merge(shards, descending, true, natural, 1, 2));
+        // The offset is only used with a limit
+        assertEquals(6, ShardMerge.merge(shards, descending, true, natural, 3, -1).size());
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testNullsLast() {
+        // PostgreSQL puts nulls last in ascending order, so first in descending order
+        List<List<Object>> shards = new ArrayList<>();
+        shards.add(Arrays.asList(new Object[]{null, "a"}, new Object[]{5, "b"}));
+        shards.add(Arrays.asList(new Object[]{7, "c"}, new Object[]{1, "d"}));
+
+        Dialect postgres = new PostgreSQLDialect();
+        assertEquals(Arrays.asList("a", "c", "b", "d"),
+                ShardMerge.merge(shards, new boolean[]{true}, postgres.sortsNullsFirst(), postgres.getStringOrder(), 0, -1));
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testCollationOrder() {
+        // Each shard sorted its names case insensitively, as utf8mb4_general_ci does
+        List<List<Object>> shards = new ArrayList<>();
+        shards.add(Arrays.asList(new Object[]{"alice", "a"}, new Object[]{"Bob", "b"}));
+        shards.add(Arrays.asList(new Object[]{"Anna", "c"}, new Object[]{"bruno", "d"}));
+
+        Dialect mysql = new MySQLDialect();
+        assertEquals(Arrays.asList("a", "c", "b", "d"),
+                ShardMerge.merge(shards, new boolean[]{false}, mysql.sortsNullsFirst(), mysql.getStringOrder(), 0, -1));
+    }
+}
@@ -0,0 +1,134 @@
+package org.bjloquent.cache;
+
+import org.bjloquent.models.Player;
+import org.bjloquent.models.User;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapModelCacheTests {
+
+    private static Player player(String uuid, String name, int score) {
+        Player player = new Player();
+        player.setUuid(uuid);
+        player.setName(name);
+        player.setScore(score);
+        return player;
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testCodec() {
+        ModelCodec<Player> codec = new ModelCodec<>(Player.class);
+        Player player = player("a-1", "Gordon Freeman", 42);
+        Timestamp joinedDate = Timestamp.valueOf("2026-10-19 12:34:56.123456789");
+        player.setJoinedDate(joinedDate);
+
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+        codec.encode(player, buffer);
+        codec.encode(player("b-2", null, -1), buffer);
+        buffer.flip();
+
+        Player decoded = codec.decode(buffer);
+        assertEquals("a-1", decoded.getUuid());
+        assertEquals("Gordon Freeman", decoded.getName());
+        assertEquals(42, decoded.getScore());
+        assertEquals(joinedDate, decoded.getJoinedDate());
+
+        // Null columns only take a bit
+        Player nulls = codec.decode(buffer);
+        assertEquals("b-2", nulls.getUuid());
+        assertNull(nulls.getName());
+        assertNull(nulls.getJoinedDate());
+        assertEquals(-1, nulls.getScore());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testCache() {
+        OffHeapModelCache<Player> cache = new OffHeapModelCache<>(Player.class, 1 << 20, 1 << 16);
+        assertTrue(cache.put(player("a-1", "Alyx Vance", 10)));
+        assertTrue(cache.put(player("a-1", "Alyx Vance", 20)));
+        assertEquals(1, cache.size());
+
+        Player first = cache.get("a-1");
+        Player second = cache.get("a-1");
+        assertNotSame(first, second);
+        assertEquals(20, first.getScore());
+        assertEquals("Alyx Vance", second.getName());
+        assertNull(cache.get("z-9"));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        cache.invalidate("a-1");
+        assertNull(cache.get("a-1"));
+
+        // A row larger than a slab is not cached
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 1 << 16; i++) {
+            name.append('x');
+        }
+        assertFalse(cache.put(player("b-2", name.toString(), 1)));
+        assertEquals(0, cache.size());
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testIntegerKeys() {
+        OffHeapModelCache<User> cache = new OffHeapModelCache<>(User.class, 1 << 20, 1 << 16);
+        User user = new User();
+        user.setId(7);
+        user.setName("Barney Calhoun");
+        assertTrue(cache.put(user));
+
+        // An int key and a long key designate the same row
+        assertEquals("Barney Calhoun", cache.get(7).getName());
+        assertEquals("Barney Calhoun", cache.get(7L).getName());
+        cache.invalidate(7L);
+        assertNull(cache.get(7));
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testEviction() {
+        // Four slabs of a few rows each
+        OffHeapModelCache<Player> cache = new OffHeapModelCache<>(Player.class, 4 * 256, 256);
+        int count = 200;
+        for (int i = 0; i < count; i++) {
+            assertTrue(cache.put(player("player-" + i, "Player " + i, i)));
+        }
+
+        assertEquals(4 * 256, cache.getAllocatedBytes());
+        assertTrue(cache.getEvictionCount() > 0);
+        assertEquals(count, cache.size() + cache.getEvictionCount());
+
+        // The oldest rows are evicted first, the newest are kept
+        assertNull(cache.get("player-0"));
+        Player newest = cache.get("player-" + (count - 1));
+        assertEquals(count - 1, newest.getScore());
+        for (int i = count - cache.size(); i < count; i++) {
+            assertEquals("Player " + i, cache.get("player-" + i).getName());
+        }
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNull(cache.get("player-" + (count - 1)));
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testRowsOfVaryingSizes() {
+        // Whatever the sizes of the rows, a slab ends up with less room than a row length
+        for (int offset = 0; offset < 16; offset++) {
+            OffHeapModelCache<Player> cache = new OffHeapModelCache<>(Player.class, 4 * 256, 256);
+            StringBuilder name = new StringBuilder();
+            for (int i = 0; i < 50; i++) {
+                name.setLength(0);
+                for (int c = 0; c < (i + offset) % 23; c++) {
+                    name.append('x');
+                }
+                assertTrue(cache.put(player("player-" + i, name.toString(), i)));
+                assertEquals(name.toString(), cache.get("player-" + i).getName());
+            }
+            assertEquals(50, cache.size() + cache.getEvictionCount());
+        }
+    }
+}
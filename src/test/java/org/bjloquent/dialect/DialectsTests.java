@@ -0,0 +1,101 @@
+package org.bjloquent.dialect;
+
+import org.bjloquent.LockMode;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DialectsTests {
+    private final Dialect mysql = new MySQLDialect();
+    private final Dialect mariadb = new MariaDBDialect();
+    private final Dialect postgres = new PostgreSQLDialect();
+
+    @org.junit.jupiter.api.Test
+    public void testQuote() {
+        assertEquals("`players`", mysql.quote("players"));
+        assertEquals("\"joinedDate\"", postgres.quote("joinedDate"));
+        assertEquals("`jloquent`.`players`", mariadb.quote("jloquent.players"));
+
+        // Expressions and already quoted identifiers are left as they are
+        assertEquals("LOWER(name)", mysql.quote("LOWER(name)"));
+        assertEquals("`name`", mysql.quote("`name`"));
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testMultiRowInsert() {
+        assertEquals(
+                "INSERT INTO `players` (`uuid`, `score`) VALUES (?, ?), (?, ?), (?, ?)",
+                mysql.insert("players", Arrays.asList("uuid", "score"), 3)
+        );
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testUpsert() {
+        assertEquals(
+                "INSERT INTO `players` (`uuid`, `score`) VALUES (?, ?) AS `new` ON DUPLICATE KEY UPDATE `score` = `new`.`score`",
+                mysql.upsert("players", Arrays.asList("uuid", "score"), Collections.singletonList("uuid"))
+        );
+        assertEquals(
+                "INSERT INTO `players` (`uuid`, `score`) VALUES (?, ?) ON DUPLICATE KEY UPDATE `score` = VALUES(`score`)",
+                mariadb.upsert("players", Arrays.asList("uuid", "score"), Collections.singletonList("uuid"))
+        );
+        assertEquals(
+                "INSERT INTO \"players\" (\"uuid\", \"score\") VALUES (?, ?) ON CONFLICT (\"uuid\") DO UPDATE SET \"score\" = EXCLUDED.\"score\"",
+                postgres.upsert("players", Arrays.asList("uuid", "score"), Collections.singletonList("uuid"))
+        );
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testLimitAndReturning() {
+        assertEquals("SELECT * FROM players LIMIT 10", mysql.limit("SELECT * FROM players", 10, 0));
+        assertEquals("SELECT * FROM players LIMIT 10 OFFSET 20", postgres.limit("SELECT * FROM players", 10, 20));
+
+        assertFalse(mysql.supportsReturning());
+        assertTrue(postgres.supportsReturning());
+        assertEquals(
+                "INSERT INTO \"users\" (\"name\") VALUES (?) RETURNING \"id\"",
+                postgres.returning(postgres.insert("users", Collections.singletonList("name"), 1), Collections.singletonList("id"))
+        );
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testIncrement() {
+        assertEquals(
+                "UPDATE `players` SET `score` = `score` + ? WHERE `uuid` = ?",
+                mysql.increment("players", "score", "`uuid` = ?")
+        );
+        assertEquals(
+                "UPDATE \"players\" SET \"score\" = \"score\" + ? WHERE \"uuid\" = ? RETURNING \"score\"",
+                postgres.returning(postgres.increment("players", "score", "\"uuid\" = ?"), Collections.singletonList("score"))
+        );
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testLock() {
+        String sql = mysql.limit("SELECT * FROM `jobs` WHERE `status` = ?", 10, 0);
+        assertEquals("SELECT * FROM `jobs` WHERE `status` = ? LIMIT 10 FOR UPDATE", mysql.lock(sql, LockMode.UPDATE));
+        assertEquals("SELECT * FROM `jobs` WHERE `status` = ? LIMIT 10 FOR UPDATE SKIP LOCKED", mariadb.lock(sql, LockMode.UPDATE_SKIP_LOCKED));
+        assertEquals(
+                "SELECT * FROM \"jobs\" LIMIT 5 OFFSET 5 FOR UPDATE NOWAIT",
+                postgres.lock(postgres.limit("SELECT * FROM \"jobs\"", 5, 5), LockMode.UPDATE_NOWAIT)
+        );
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testBatchRewriteFlags() {
+        assertEquals("true", mysql.getConnectionProperties().getProperty("rewriteBatchedStatements"));
+        assertEquals("true", mariadb.getConnectionProperties().getProperty("useBulkStmts"));
+        assertEquals("true", postgres.getConnectionProperties().getProperty("reWriteBatchedInserts"));
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testLocalInfileOnlyForBulkLoads() {
+        assertNull(mysql.getConnectionProperties().getProperty("allowLoadLocalInfile"));
+        assertNull(mariadb.getConnectionProperties().getProperty("allowLocalInfile"));
+        assertEquals("true", mysql.getBulkLoadProperties().getProperty("allowLoadLocalInfile"));
+        assertEquals("true", mariadb.getBulkLoadProperties().getProperty("allowLocalInfile"));
+        assertTrue(postgres.getBulkLoadProperties().isEmpty());
+    }
+}
@@ -0,0 +1,46 @@
+package org.bjloquent.instrumentation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryDiagnosticsTests {
+
+    @org.junit.jupiter.api.Test
+    public void testSlowAndRepeatedQueries() {
+        List<QueryDiagnostic> diagnostics = new ArrayList<>();
+        QueryDiagnostics queryDiagnostics = new QueryDiagnostics();
+        queryDiagnostics.setSlowQueryThreshold(10, TimeUnit.MILLISECONDS);
+        queryDiagnostics.setRepeatThreshold(3);
+        queryDiagnostics.setReporter(diagnostics::add);
+        // This test lives in a package of the library
+        queryDiagnostics.setApplicationPackages(QueryDiagnosticsTests.class.getName());
+
+        String select = "SELECT * FROM `players` WHERE `uuid` = ?";
+        queryDiagnostics.onQuery(new QueryEvent(select, 0, 0, 20_000_000, 0, 1, null));
+        assertEquals(1, diagnostics.size());
+        assertEquals(QueryDiagnostic.Kind.SLOW_QUERY, diagnostics.get(0).getKind());
+        // The origin starts at the caller, not in the library
+        assertEquals(QueryDiagnosticsTests.class.getName(), diagnostics.get(0).getOrigin()[0].getClassName());
+
+        try (QueryDiagnostics.Session session = queryDiagnostics.openSession()) {
+            for (int i = 0; i < 5; i++) {
+                queryDiagnostics.onQuery(new QueryEvent(select, 0, 0, 1_000_000, 0, 1, null));
+            }
+            assertEquals(5, session.getCount(select));
+            assertEquals(1, session.getRepeatedQueries().size());
+        }
+        // Reported once, when the threshold is reached
+        assertEquals(2, diagnostics.size());
+        assertEquals(QueryDiagnostic.Kind.REPEATED_QUERY, diagnostics.get(1).getKind());
+        assertEquals(3, diagnostics.get(1).getCount());
+
+        // Outside of a session, and once disabled, nothing is reported
+        queryDiagnostics.onQuery(new QueryEvent(select, 0, 0, 1_000_000, 0, 1, null));
+        queryDiagnostics.setEnabled(false);
+        queryDiagnostics.onQuery(new QueryEvent(select, 0, 0, 20_000_000, 0, 1, null));
+        assertEquals(2, diagnostics.size());
+    }
+}
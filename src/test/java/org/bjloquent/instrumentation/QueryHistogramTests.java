@@ -0,0 +1,58 @@
+package org.bjloquent.instrumentation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryHistogramTests {
+
+    @org.junit.jupiter.api.Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        // 1ms to 100ms
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1_000_000L);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(50.5, histogram.getMeanMillis(), 0.001);
+        assertEquals(100.0, histogram.getMaxMillis(), 0.001);
+
+        // Buckets are at most 25% wide
+        double p50 = histogram.getPercentileMillis(50);
+        assertTrue(p50 >= 50 && p50 <= 50 * 1.25, "p50 was " + p50);
+        double p99 = histogram.getPercentileMillis(99);
+        assertTrue(p99 >= 99 && p99 <= 100, "p99 was " + p99);
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testBucketsCoverEveryDuration() {
+        for (long micros = 0; micros < 100_000; micros++) {
+            int index = LatencyHistogram.indexOf(micros);
+            assertTrue(LatencyHistogram.upperBoundOf(index) >= micros);
+            assertTrue(index == 0 || LatencyHistogram.upperBoundOf(index - 1) < micros);
+        }
+        assertEquals(247, LatencyHistogram.indexOf(Long.MAX_VALUE));
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testTemplates() {
+        QueryHistogram histogram = new QueryHistogram(1);
+        histogram.onQuery(new QueryEvent("SELECT * FROM `players` WHERE `uuid` = ?", 0, 0, 2_000_000, 0, 1, null));
+        histogram.onQuery(new QueryEvent("SELECT * FROM `players` WHERE `uuid` = ?", 0, 0, 4_000_000, 0, 0, null));
+        histogram.onQuery(new QueryEvent("DELETE FROM `players` WHERE `uuid` = ?", 0, 0, 1_000_000, 0, 0, new RuntimeException()));
+
+        assertEquals(3, histogram.getQueryCount());
+        assertEquals(1, histogram.getErrorCount());
+        assertEquals(1, histogram.getRowCount());
+
+        // Only one template is tracked, the delete is only counted overall
+        assertEquals(2, histogram.getExecutionHistogram("SELECT * FROM `players` WHERE `uuid` = ?").getCount());
+        assertNull(histogram.getExecutionHistogram("DELETE FROM `players` WHERE `uuid` = ?"));
+
+        String[] slowest = histogram.slowestTemplates(5);
+        assertEquals(1, slowest.length);
+        assertTrue(slowest[0].endsWith("count=2 rows=1 errors=0 SELECT * FROM `players` WHERE `uuid` = ?"));
+
+        histogram.reset();
+        assertEquals(0, histogram.getQueryCount());
+    }
+}
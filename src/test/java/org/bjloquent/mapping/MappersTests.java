@@ -0,0 +1,78 @@
+package org.bjloquent.mapping;
+
+import org.bjloquent.Model;
+import org.bjloquent.ModelMetadata;
+import org.bjloquent.models.MappedAccount;
+import org.bjloquent.models.MappedUser;
+import org.bjloquent.models.User;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappersTests {
+
+    @org.junit.jupiter.api.Test
+    public void testGeneratedMapper() {
+        ModelMapper<MappedUser> mapper = Mappers.of(MappedUser.class);
+        assertNotNull(mapper);
+        assertEquals("org.bjloquent.models.MappedUser_Mapper", mapper.getClass().getName());
+        assertEquals("users", mapper.getTableName());
+        assertEquals("id", mapper.getPrimaryKey());
+
+        // Primary keys first, then the declaration order, unannotated fields left out
+        assertArrayEquals(new String[]{"id", "name", "email", "joinedDate"}, mapper.getColumnNames());
+        assertArrayEquals(new Class<?>[]{int.class, String.class, String.class, Timestamp.class}, mapper.getColumnTypes());
+
+        MappedUser user = mapper.newInstance();
+        user.setId(7);
+        user.setMail("alyx.vance@blackmesa.us");
+        assertEquals(7, mapper.get(user, 0));
+        assertEquals("alyx.vance@blackmesa.us", mapper.get(user, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> mapper.get(user, 4));
+
+        // The model and its metadata take the table and columns from the mapper
+        assertEquals("users", user.getTableName());
+        assertEquals(Arrays.asList("id", "name", "email", "joinedDate"),
+                ModelMetadata.of(MappedUser.class).getColumnNames());
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testVersionColumn() {
+        ModelMapper<MappedAccount> mapper = Mappers.of(MappedAccount.class);
+        assertEquals("mappedaccounts", mapper.getTableName());
+        assertEquals("row_version", mapper.getVersionColumn());
+        assertNull(Mappers.of(MappedUser.class).getVersionColumn());
+
+        MappedAccount account = mapper.newInstance();
+        assertEquals("row_version", account.getVersionColumn());
+        mapper.set(account, 2, 3L);
+        assertEquals(3L, account.getVersion());
+        assertEquals("row_version", ModelMetadata.of(MappedAccount.class).getVersionColumn().getName());
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testWithoutMapper() {
+        assertNull(Mappers.of(User.class));
+        assertNull(ModelMetadata.of(User.class).getMapper());
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testRegisteredModels() throws IOException {
+        List<Class<? extends Model>> models = Mappers.registered(getClass().getClassLoader());
+        assertTrue(models.contains(MappedUser.class));
+        assertFalse(models.contains(User.class));
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testMapperName() {
+        assertEquals("org.bjloquent.models.MappedUser_Mapper", Mappers.mapperName(MappedUser.class));
+        assertEquals("org.bjloquent.mapping.MappersTests_Nested_Mapper", Mappers.mapperName(Nested.class));
+    }
+
+    private static class Nested {
+    }
+}
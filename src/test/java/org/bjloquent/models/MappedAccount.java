@@ -0,0 +1,42 @@
+package org.bjloquent.models;
+
+import org.bjloquent.Model;
+import org.bjloquent.mapping.Column;
+import org.bjloquent.mapping.Id;
+import org.bjloquent.mapping.Table;
+import org.bjloquent.mapping.Version;
+
+@Table
+public class MappedAccount extends Model {
+    @Id
+    private String uuid;
+    @Column
+    private long balance;
+    @Version
+    @Column("row_version")
+    private long version;
+
+    public String getUuid() {
+        return uuid;
+    }
+
+    public void setUuid(String uuid) {
+        this.uuid = uuid;
+    }
+
+    public long getBalance() {
+        return balance;
+    }
+
+    public void setBalance(long balance) {
+        this.balance = balance;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,61 @@
+package org.bjloquent.models;
+
+import org.bjloquent.Model;
+import org.bjloquent.mapping.Column;
+import org.bjloquent.mapping.Id;
+import org.bjloquent.mapping.Table;
+
+import java.sql.Timestamp;
+
+@Table("users")
+public class MappedUser extends Model {
+    @Column
+    private String name;
+    @Column("email")
+    private String mail;
+    @Column
+    private Timestamp joinedDate;
+    @Id
+    private int id;
+    private String nickname;
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getMail() {
+        return mail;
+    }
+
+    public void setMail(String mail) {
+        this.mail = mail;
+    }
+
+    public Timestamp getJoinedDate() {
+        return joinedDate;
+    }
+
+    public void setJoinedDate(Timestamp joinedDate) {
+        this.joinedDate = joinedDate;
+    }
+
+    public String getNickname() {
+        return nickname;
+    }
+
+    public void setNickname(String nickname) {
+        this.nickname = nickname;
+    }
+}
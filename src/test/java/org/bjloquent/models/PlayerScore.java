@@ -0,0 +1,19 @@
+package org.bjloquent.models;
+
+public class PlayerScore {
+    private final String name;
+    private final int score;
+
+    public PlayerScore(String name, int score) {
+        this.name = name;
+        this.score = score;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,41 @@
+package org.bjloquent.models;
+
+import org.bjloquent.Model;
+import org.bjloquent.routing.ShardFunction;
+
+public class ShardedPlayer extends Model {
+    private String uuid;
+    private String name;
+    private int score;
+
+    public ShardedPlayer() {
+        super.tableName = "players";
+        super.primaryKey = "uuid";
+        super.shardKey = "uuid";
+        super.shardFunction = ShardFunction.range("m");
+    }
+
+    public String getUuid() {
+        return uuid;
+    }
+
+    public void setUuid(String uuid) {
+        this.uuid = uuid;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public void setScore(int score) {
+        this.score = score;
+    }
+}
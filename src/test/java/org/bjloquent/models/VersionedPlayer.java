@@ -0,0 +1,48 @@
+package org.bjloquent.models;
+
+import org.bjloquent.Model;
+
+public class VersionedPlayer extends Model {
+    private String uuid;
+    private String name;
+    private int score;
+    private int version;
+
+    public VersionedPlayer() {
+        super.tableName = "players";
+        super.primaryKey = "uuid";
+        super.versionColumn = "version";
+    }
+
+    public String getUuid() {
+        return uuid;
+    }
+
+    public void setUuid(String uuid) {
+        this.uuid = uuid;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public void setScore(int score) {
+        this.score = score;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+}
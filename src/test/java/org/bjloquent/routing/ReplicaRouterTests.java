@@ -0,0 +1,44 @@
+package org.bjloquent.routing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplicaRouterTests {
+
+    @org.junit.jupiter.api.Test
+    public void testRoundRobin() {
+        ReplicaRouter router = new ReplicaRouter();
+        assertNull(router.select());
+
+        DatabaseNode first = new DatabaseNode(null);
+        DatabaseNode second = new DatabaseNode(null);
+        router.addReplica(first);
+        router.addReplica(second);
+
+        assertSame(first, router.select());
+        assertSame(second, router.select());
+        assertSame(first, router.select());
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testLeastOutstanding() {
+        ReplicaRouter router = new ReplicaRouter();
+        router.setLoadBalancing(LoadBalancing.LEAST_OUTSTANDING);
+        DatabaseNode first = new DatabaseNode(null);
+        DatabaseNode second = new DatabaseNode(null);
+        router.addReplica(first);
+        router.addReplica(second);
+
+        first.acquired();
+        first.acquired();
+        second.acquired();
+        for (int i = 0; i < 3; i++) {
+            assertSame(second, router.select());
+        }
+
+        // Equally busy replicas are taken in turn
+        first.released();
+        DatabaseNode selected = router.select();
+        assertNotSame(selected, router.select());
+        assertEquals(3, first.getTotalRequests() + second.getTotalRequests());
+    }
+}
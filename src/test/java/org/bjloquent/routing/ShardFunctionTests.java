@@ -0,0 +1,31 @@
+package org.bjloquent.routing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardFunctionTests {
+
+    @org.junit.jupiter.api.Test
+    public void testHash() {
+        ShardFunction hash = ShardFunction.hash();
+        int[] counts = new int[4];
+        for (int i = 0; i < 4000; i++) {
+            int shard = hash.shardOf("player-" + i, 4);
+            assertEquals(shard, hash.shardOf("player-" + i, 4));
+            counts[shard]++;
+        }
+        for (int count : counts) {
+            assertTrue(count > 800, "Keys are not spread evenly: " + count);
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testRange() {
+        ShardFunction range = ShardFunction.range(100, 200);
+        assertEquals(0, range.shardOf(-5, 3));
+        assertEquals(0, range.shardOf(99, 3));
+        assertEquals(1, range.shardOf(100, 3));
+        assertEquals(2, range.shardOf(200, 3));
+        assertEquals(2, range.shardOf(1000, 3));
+        assertThrows(IllegalStateException.class, () -> range.shardOf(1, 2));
+    }
+}
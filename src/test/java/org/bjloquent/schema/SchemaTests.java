@@ -0,0 +1,66 @@
+package org.bjloquent.schema;
+
+import org.bjloquent.dialect.MySQLDialect;
+import org.bjloquent.dialect.PostgreSQLDialect;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchemaTests {
+
+    private Blueprint players() {
+        Blueprint table = new Blueprint("players");
+        table.create();
+        table.uuid("uuid");
+        table.string("name", 100).nullable();
+        table.integer("score").defaultValue(0).index();
+        table.string("email").unique();
+        table.primary("uuid");
+        table.index("name", "score");
+        table.engine("InnoDB");
+        table.partitionByHash("uuid", 2);
+        return table;
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testCreateTable() {
+        assertEquals(Arrays.asList(
+                "CREATE TABLE `players` (`uuid` CHAR(36) NOT NULL, `name` VARCHAR(100) NULL, `score` INTEGER NOT NULL DEFAULT 0, "
+                        + "`email` VARCHAR(255) NOT NULL, PRIMARY KEY (`uuid`)) ENGINE=InnoDB PARTITION BY KEY(`uuid`) PARTITIONS 2",
+                "CREATE INDEX `players_score_index` ON `players` (`score`)",
+                "CREATE UNIQUE INDEX `players_email_unique` ON `players` (`email`)",
+                "CREATE INDEX `players_name_score_index` ON `players` (`name`, `score`)"
+        ), players().toSql(new MySQLDialect()));
+
+        assertEquals(Arrays.asList(
+                "CREATE TABLE \"players\" (\"uuid\" CHAR(36) NOT NULL, \"name\" VARCHAR(100) NULL, \"score\" INTEGER NOT NULL DEFAULT 0, "
+                        + "\"email\" VARCHAR(255) NOT NULL, PRIMARY KEY (\"uuid\")) PARTITION BY HASH (\"uuid\")",
+                "CREATE TABLE \"players_p0\" PARTITION OF \"players\" FOR VALUES WITH (MODULUS 2, REMAINDER 0)",
+                "CREATE TABLE \"players_p1\" PARTITION OF \"players\" FOR VALUES WITH (MODULUS 2, REMAINDER 1)",
+                "CREATE INDEX \"players_score_index\" ON \"players\" (\"score\")",
+                "CREATE UNIQUE INDEX \"players_email_unique\" ON \"players\" (\"email\")",
+                "CREATE INDEX \"players_name_score_index\" ON \"players\" (\"name\", \"score\")"
+        ), players().toSql(new PostgreSQLDialect()));
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testAlterAndDropTable() {
+        Blueprint table = new Blueprint("users");
+        table.increments("id");
+        table.dropColumn("password");
+        table.dropIndex("users_email_unique");
+        assertEquals(Arrays.asList(
+                "DROP INDEX `users_email_unique` ON `users`",
+                "ALTER TABLE `users` DROP COLUMN `password`",
+                "ALTER TABLE `users` ADD COLUMN `id` INT AUTO_INCREMENT NOT NULL",
+                "ALTER TABLE `users` ADD PRIMARY KEY (`id`)"
+        ), table.toSql(new MySQLDialect()));
+
+        Blueprint dropped = new Blueprint("users");
+        dropped.string("name");
+        dropped.dropIfExists();
+        assertEquals(Collections.singletonList("DROP TABLE IF EXISTS \"users\""), dropped.toSql(new PostgreSQLDialect()));
+    }
+}